@@ -1,6 +1,5 @@
 package algorithmexecuter;
 
-import abstractexpressions.interfaces.IdentifierValidator;
 import algorithmexecuter.enums.FixedAlgorithmNames;
 import algorithmexecuter.exceptions.AlgorithmCompileException;
 import algorithmexecuter.model.command.AlgorithmCommand;
@@ -11,27 +10,44 @@ import algorithmexecuter.enums.Keyword;
 import algorithmexecuter.enums.ReservedChars;
 import algorithmexecuter.exceptions.constants.AlgorithmCompileExceptionIds;
 import algorithmexecuter.model.identifier.Identifier;
+import algorithmexecuter.model.AlgorithmMemoTable;
 import algorithmexecuter.model.AlgorithmMemory;
 import algorithmexecuter.model.Algorithm;
-import algorithmexecuter.model.AlgorithmSignatureStorage;
 import algorithmexecuter.model.AlgorithmStorage;
 import algorithmexecuter.model.Signature;
 import algorithmexecuter.model.command.ForControlStructure;
+import algorithmexecuter.model.IdentifierSlotTable;
+import algorithmexecuter.model.command.DoWhileControlStructure;
+import algorithmexecuter.model.command.IfElseControlStructure;
+import algorithmexecuter.model.command.VoidCommand;
+import algorithmexecuter.model.command.WhileControlStructure;
 import algorithmexecuter.model.utilclasses.EditorCodeString;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public abstract class AlgorithmBuilder {
 
     public static final Algorithm[] FIXED_ALGORITHMS;
 
-    public static final IdentifierValidator VALIDATOR = new IdentifierValidatorImpl();
+    private static final Set<String> FIXED_ALGORITHM_NAMES = new HashSet<>();
 
-    public static final AlgorithmStorage ALGORITHMS = new AlgorithmStorage();
+    private static final Set<Signature> FIXED_ALGORITHM_SIGNATURES = new HashSet<>();
 
-    protected static final AlgorithmSignatureStorage ALGORITHM_SIGNATURES = new AlgorithmSignatureStorage();
+    /**
+     * Standardsitzung, welche von parseAlgorithmFile(String) verwendet wird.
+     * Für parallele Kompilierungen muss jeweils eine eigene Sitzung verwendet
+     * werden.
+     */
+    public static final AlgorithmSession DEFAULT_SESSION = new AlgorithmSession();
 
-    private static final List<EditorCodeString> ALGORITHM_CODES = new ArrayList<>();
+    public static final AlgorithmStorage ALGORITHMS = DEFAULT_SESSION.getAlgorithms();
 
     static {
         // 1. Standardalgorithmen definieren.
@@ -52,36 +68,32 @@ public abstract class AlgorithmBuilder {
         fixedAlgorithms.add(new Algorithm(FixedAlgorithmNames.APPROX.getValue(),
                 new Identifier[]{Identifier.createIdentifier("a", IdentifierType.MATRIX_EXPRESSION)}, IdentifierType.MATRIX_EXPRESSION));
         FIXED_ALGORITHMS = fixedAlgorithms.toArray(new Algorithm[fixedAlgorithms.size()]);
-
-        // 2. Standardalgorithmen zu den "bekannten" Algorithmen hinzufügen
-        ALGORITHMS.addAll(fixedAlgorithms);
-
-        // 3. Signaturen von Standardalgorithmen zu den "bekannten" Signaturen hinzufügen.
         fixedAlgorithms.forEach((alg) -> {
-            ALGORITHM_SIGNATURES.add(alg.getSignature());
+            FIXED_ALGORITHM_NAMES.add(alg.getName());
+            FIXED_ALGORITHM_SIGNATURES.add(alg.getSignature());
+            // approx() verändert globale Zustände der Ausdrucksbibliothek.
+            alg.setThreadSafe(!alg.getName().equals(FixedAlgorithmNames.APPROX.getValue()));
         });
+
+        // 2. Standardalgorithmen und deren Signaturen in der Standardsitzung bekannt machen.
+        DEFAULT_SESSION.initStorages();
     }
 
-    private static void initStorages() {
-        ALGORITHMS.clearAlgorithmStorage();
-        for (Algorithm alg : FIXED_ALGORITHMS) {
-            ALGORITHMS.add(alg);
-        }
-        ALGORITHM_SIGNATURES.clearAlgorithmSignatureStorage();
-        for (Algorithm alg : FIXED_ALGORITHMS) {
-            ALGORITHM_SIGNATURES.add(alg.getSignature());
-        }
-        ALGORITHM_CODES.clear();
+    /**
+     * Prüft, ob name der Name eines Standardalgorithmus ist.
+     */
+    public static boolean isFixedAlgorithmName(String name) {
+        return FIXED_ALGORITHM_NAMES.contains(name);
     }
 
-    private static void removeStandardAlgorithmsFromStorage() {
-        for (Algorithm alg : FIXED_ALGORITHMS) {
-            ALGORITHMS.remove(alg);
-            ALGORITHM_SIGNATURES.remove(alg.getSignature());
-        }
+    /**
+     * Prüft, ob signature die Signatur eines Standardalgorithmus ist.
+     */
+    public static boolean isFixedAlgorithmSignature(Signature signature) {
+        return FIXED_ALGORITHM_SIGNATURES.contains(signature);
     }
 
-    private static void parseAlgorithmSignatures(EditorCodeString inputAlgorithmFile) throws AlgorithmCompileException {
+    private static void parseAlgorithmSignatures(EditorCodeString inputAlgorithmFile, AlgorithmSession session) throws AlgorithmCompileException {
         if (inputAlgorithmFile.isEmpty()) {
             return;
         }
@@ -98,7 +110,7 @@ public abstract class AlgorithmBuilder {
                 bracketCounter--;
             }
             if (bracketCounter == 0 && beginPassed) {
-                ALGORITHM_SIGNATURES.add(parseAlgorithmSignature(inputAlgorithmFile.substring(lastEndOfAlgorithm + 1, i + 1)));
+                session.getAlgorithmSignatures().add(parseAlgorithmSignature(inputAlgorithmFile.substring(lastEndOfAlgorithm + 1, i + 1), session));
                 beginPassed = false;
                 lastEndOfAlgorithm = i;
             }
@@ -112,13 +124,13 @@ public abstract class AlgorithmBuilder {
         }
 
         // Prüfung, ob die Signatur des Main-Algorithmus existiert.
-        CompilerUtils.checkIfMainAlgorithmSignatureExists(inputAlgorithmFile, ALGORITHM_SIGNATURES);
+        CompilerUtils.checkIfMainAlgorithmSignatureExists(inputAlgorithmFile, session.getAlgorithmSignatures());
         // Prüfung, ob die Signatur ein Main-Algorithmus parameterlos ist.
-        CompilerUtils.checkIfMainAlgorithmSignatureContainsNoParameters(CompilerUtils.getMainAlgorithmSignature(ALGORITHM_SIGNATURES));
+        CompilerUtils.checkIfMainAlgorithmSignatureContainsNoParameters(CompilerUtils.getMainAlgorithmSignature(session.getAlgorithmSignatures()));
 
     }
 
-    private static Signature parseAlgorithmSignature(EditorCodeString input) throws AlgorithmCompileException {
+    private static Signature parseAlgorithmSignature(EditorCodeString input, AlgorithmSession session) throws AlgorithmCompileException {
 
         int indexBeginParameters = input.indexOf(ReservedChars.OPEN_BRACKET.getValue());
         if (indexBeginParameters < 0) {
@@ -135,7 +147,8 @@ public abstract class AlgorithmBuilder {
         IdentifierType returnType = CompilerUtils.getReturnTypeFromAlgorithmDeclaration(input.getValue());
         // Signatur ermitteln.
         if (returnType != null) {
-            input = input.substring(returnType.toString().length());
+            // Das (nach der Vorformatierung einzige) Leerzeichen hinter dem Rückgabetyp überspringen.
+            input = input.substring(returnType.toString().length() + (input.charAt(returnType.toString().length()) == ' ' ? 1 : 0));
         }
         EditorCodeString candidateForSignature = input.substring(0, input.indexOf(ReservedChars.BEGIN.getValue()));
         CompilerUtils.AlgorithmParseData algParseData = CompilerUtils.getAlgorithmParseData(candidateForSignature);
@@ -146,7 +159,7 @@ public abstract class AlgorithmBuilder {
 
         EditorCodeString[] parametersAsStrings = algParseData.getParameters();
 
-        Identifier[] parameters = getIdentifiersFromParameterStrings(parametersAsStrings, new AlgorithmMemory(null));
+        Identifier[] parameters = getIdentifiersFromParameterStrings(parametersAsStrings, new AlgorithmMemory(null), session);
 
         // Prüfung, ob Algorithmusparameter nicht doppelt vorkommen.
         checkForTwiceOccurringParameters(parameters, candidateForSignature);
@@ -154,7 +167,7 @@ public abstract class AlgorithmBuilder {
         Signature signature = CompilerUtils.getSignature(returnType, algName.getValue(), parameters);
 
         // Falls ein Algorithmus mit derselben Signatur bereits vorhanden ist, Fehler werfen.
-        if (containsAlgorithmWithSameSignature(signature)) {
+        if (containsAlgorithmWithSameSignature(signature, session)) {
             throw new AlgorithmCompileException(algName.getLineNumbers(), AlgorithmCompileExceptionIds.AC_ALGORITHM_ALREADY_EXISTS, signature.toStringWithoutReturnType());
         }
 
@@ -163,7 +176,18 @@ public abstract class AlgorithmBuilder {
     }
 
     public static void parseAlgorithmFile(String inputAlgorithmFile) throws AlgorithmCompileException {
-        initStorages();
+        parseAlgorithmFile(inputAlgorithmFile, DEFAULT_SESSION);
+    }
+
+    /**
+     * Kompiliert das Algorithmenfile inputAlgorithmFile innerhalb der Sitzung
+     * session. Die kompilierten Algorithmen liegen danach in
+     * session.getAlgorithms().
+     *
+     * @throws AlgorithmCompileException
+     */
+    public static void parseAlgorithmFile(String inputAlgorithmFile, AlgorithmSession session) throws AlgorithmCompileException {
+        session.initStorages();
 
         EditorCodeString editorCodeInput = new EditorCodeString(inputAlgorithmFile);
 
@@ -178,13 +202,15 @@ public abstract class AlgorithmBuilder {
         Sämtliche Signaturen ermitteln, damit alle vorhandenen Algorithmennamen 
         bekannt sind, auch wenn diese Compilerfehler enthalten.
          */
-        parseAlgorithmSignatures(editorCodeInput);
+        parseAlgorithmSignatures(editorCodeInput, session);
 
+        // Das File in die einzelnen Algorithmen zerlegen.
+        List<EditorCodeString> algorithmCodes = new ArrayList<>();
+        AlgorithmCompileException bracketException = null;
         int bracketCounter = 0;
         boolean beginPassed = false;
         int lastEndOfAlgorithm = -1;
 
-        EditorCodeString singleAlgorithmCode;
         for (int i = 0; i < editorCodeInput.length(); i++) {
             if (editorCodeInput.charAt(i) == ReservedChars.BEGIN.getValue()) {
                 bracketCounter++;
@@ -193,33 +219,119 @@ public abstract class AlgorithmBuilder {
                 bracketCounter--;
             }
             if (bracketCounter == 0 && beginPassed || i == editorCodeInput.length() - 1) {
-                singleAlgorithmCode = editorCodeInput.substring(lastEndOfAlgorithm + 1, i + 1);
-                ALGORITHMS.add(parseAlgorithm(singleAlgorithmCode));
-                ALGORITHM_CODES.add(singleAlgorithmCode);
+                algorithmCodes.add(editorCodeInput.substring(lastEndOfAlgorithm + 1, i + 1));
                 beginPassed = false;
                 lastEndOfAlgorithm = i;
             }
             if (bracketCounter < 0) {
-                throw new AlgorithmCompileException(editorCodeInput.substring(i, i + 1).getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.BEGIN.getValue());
+                bracketException = new AlgorithmCompileException(editorCodeInput.substring(i, i + 1).getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.BEGIN.getValue());
+                break;
             }
         }
 
-        if (bracketCounter > 0) {
-            throw new AlgorithmCompileException(editorCodeInput.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.END.getValue());
+        if (bracketException == null && bracketCounter > 0) {
+            bracketException = new AlgorithmCompileException(editorCodeInput.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.END.getValue());
+        }
+
+        // Fehler in den Algorithmen vor einem Klammerfehler werden zuerst gemeldet.
+        addCompiledAlgorithms(algorithmCodes, session);
+        if (bracketException != null) {
+            throw bracketException;
         }
 
         // Prüfung, ob ein Main-Algorithmus existiert.
-        checkIfMainAlgorithmExists(editorCodeInput);
+        checkIfMainAlgorithmExists(editorCodeInput, session);
         // Prüfung, ob ein Main-Algorithmus parameterlos ist.
-        checkIfMainAlgorithmContainsNoParameters(CompilerUtils.getMainAlgorithm(ALGORITHMS));
-        // Bei Bezeichnerzuordnungen Algorithmensignaturen durch Algorithmenreferenzen ersetzen.
-        replaceAlgorithmSignaturesByAlgorithmReferencesInAssignValueCommands();
+        checkIfMainAlgorithmContainsNoParameters(CompilerUtils.getMainAlgorithm(session.getAlgorithms()));
+        // Standardalgorithmen wieder aus dem Storage entfernen.
+        session.removeStandardAlgorithmsFromStorage();
+
+        // Zum Schluss: alle Algorithmenaufrufe mit den aufgerufenen Algorithmen verlinken.
+        linkAlgorithmCalls(session);
+        // Seiteneffektfreie Algorithmen ermitteln und mit Ergebnistabellen versehen.
+        markPureAlgorithms(session);
+        for (Algorithm alg : session.getAlgorithms().getAlgorithms()) {
+            markParallelForLoops(alg.getCommands());
+        }
+        // Nur die Algorithmen dieses Files im Cache behalten.
+        session.getCompiledAlgorithmCache().retainUsedEntries();
+    }
+
+    /**
+     * Kompiliert die Algorithmen algorithmCodes und legt sie in dieser
+     * Reihenfolge in der Sitzung ab. Ein Algorithmus wird nur dann (neu)
+     * kompiliert, wenn sich sein Quellcode oder eine der Signaturen der darin
+     * aufgerufenen Algorithmen seit dem letzten Kompilieren geändert hat.
+     * Ansonsten wird eine Kopie aus dem Cache der Sitzung verwendet und
+     * anschließend wie alle anderen verlinkt. Da die Algorithmen nach dem Ermitteln der
+     * Signaturen nur noch von diesen abhängen, werden sie parallel auf dem Pool
+     * der Sitzung für das Kompilieren (nicht dem für parallele for-Schleifen)
+     * kompiliert. Wie beim sequentiellen Kompilieren werden alle
+     * Algorithmen vor dem ersten fehlerhaften abgelegt und danach dessen Fehler
+     * geworfen.
+     *
+     * @throws AlgorithmCompileException
+     */
+    private static void addCompiledAlgorithms(List<EditorCodeString> algorithmCodes, AlgorithmSession session) throws AlgorithmCompileException {
+        CompiledAlgorithmCache cache = session.getCompiledAlgorithmCache();
+        // Signaturen vorab sortieren, beim parallelen Kompilieren werden sie nur noch gelesen.
+        session.getAlgorithmSignatures().sortSignatures();
+
+        Algorithm[] algorithms = new Algorithm[algorithmCodes.size()];
+        List<Integer> indicesToCompile = new ArrayList<>();
+        for (int i = 0; i < algorithms.length; i++) {
+            algorithms[i] = cache.get(algorithmCodes.get(i), session.getAlgorithmSignatures());
+            if (algorithms[i] == null) {
+                indicesToCompile.add(i);
+            }
+        }
+
+        Map<Integer, ForkJoinTask<Algorithm>> tasks = new HashMap<>();
+        if (indicesToCompile.size() > 1) {
+            ForkJoinPool pool = session.getCompilePool();
+            for (int i : indicesToCompile) {
+                EditorCodeString algorithmCode = algorithmCodes.get(i);
+                tasks.put(i, pool.submit(() -> parseAlgorithm(algorithmCode, session)));
+            }
+        }
 
-        // Zum Schluss: Standardalgorithmen wieder aus dem Storage entfernen.
-        removeStandardAlgorithmsFromStorage();
+        try {
+            for (int i = 0; i < algorithms.length; i++) {
+                if (algorithms[i] == null) {
+                    ForkJoinTask<Algorithm> task = tasks.get(i);
+                    algorithms[i] = task != null ? getCompiledAlgorithm(task, algorithmCodes.get(i), session) : parseAlgorithm(algorithmCodes.get(i), session);
+                    cache.put(algorithmCodes.get(i), algorithms[i]);
+                }
+                session.getAlgorithms().add(algorithms[i]);
+                session.getAlgorithmCodes().add(algorithmCodes.get(i));
+            }
+        } finally {
+            for (ForkJoinTask<Algorithm> task : tasks.values()) {
+                task.cancel(true);
+            }
+        }
     }
 
-    private static Algorithm parseAlgorithm(EditorCodeString input) throws AlgorithmCompileException {
+    private static Algorithm getCompiledAlgorithm(ForkJoinTask<Algorithm> task, EditorCodeString input, AlgorithmSession session) throws AlgorithmCompileException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            // Das Kompilieren kann nicht abgebrochen werden, der Algorithmus wird daher im aktuellen Thread kompiliert.
+            Thread.currentThread().interrupt();
+            return parseAlgorithm(input, session);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AlgorithmCompileException) {
+                throw (AlgorithmCompileException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    private static Algorithm parseAlgorithm(EditorCodeString input, AlgorithmSession session) throws AlgorithmCompileException {
 
         EditorCodeString algCode = new EditorCodeString(input);
         
@@ -239,23 +351,23 @@ public abstract class AlgorithmBuilder {
         IdentifierType returnType = CompilerUtils.getReturnTypeFromAlgorithmDeclaration(algCode.getValue());
         // Signatur ermitteln.
         if (returnType != null) {
-            algCode = algCode.substring(returnType.toString().length());
+            // Das (nach der Vorformatierung einzige) Leerzeichen hinter dem Rückgabetyp überspringen.
+            algCode = algCode.substring(returnType.toString().length() + (algCode.charAt(returnType.toString().length()) == ' ' ? 1 : 0));
         }
         EditorCodeString candidateForSignature = algCode.substring(0, algCode.indexOf(ReservedChars.BEGIN.getValue()));
         CompilerUtils.AlgorithmParseData algParseData = CompilerUtils.getAlgorithmParseData(candidateForSignature);
         EditorCodeString algName = algParseData.getName();
         EditorCodeString[] parametersAsStrings = algParseData.getParameters();
 
-        AlgorithmMemory memory = new AlgorithmMemory(null);
+        Identifier[] parameters = getIdentifiersFromParameterStrings(parametersAsStrings, new AlgorithmMemory(null), session);
 
-        Identifier[] parameters = getIdentifiersFromParameterStrings(parametersAsStrings, memory);
+        Algorithm alg = new Algorithm(algName.getValue(), parameters, returnType, session);
+        // Der Speicher verwendet die Slot-Tabelle des Algorithmus.
+        AlgorithmMemory memory = new AlgorithmMemory(alg);
 
         // Algorithmusparameter zum Variablenpool hinzufügen.
         addParametersToMemoryInCompileTime(candidateForSignature, parameters, memory);
 
-        Algorithm alg = new Algorithm(algName.getValue(), parameters, returnType);
-        memory.setAlgorithm(alg);
-
         int indexEndParameters = algCode.indexOf(ReservedChars.CLOSE_BRACKET.getValue());
 
         /* 
@@ -280,6 +392,8 @@ public abstract class AlgorithmBuilder {
             List<AlgorithmCommand> commands = AlgorithmLineCompiler.parseConnectedBlockWithoutKeywords(algCode, memory, alg);
             // Allen Befehlen den aktuellen Algorithmus alg zuordnen.
             alg.appendCommands(commands);
+            // Bezeichner in Ausdrücken auf die Slots des Algorithmus abbilden.
+            resolveIdentifierSlots(alg.getCommands(), alg.getSlotTable());
         }
 
         // Plausibilitätschecks.
@@ -288,12 +402,153 @@ public abstract class AlgorithmBuilder {
         return alg;
     }
 
-    private static void replaceAlgorithmSignaturesByAlgorithmReferencesInAssignValueCommands() {
-        for (Algorithm alg : ALGORITHMS.getAlgorithms()) {
-            replaceAlgorithmSignaturesByAlgorithmReferencesInAssignValueCommands(alg.getCommands());
+    /**
+     * Verlinkt die Algorithmenaufrufe aller Algorithmen der Sitzung session.
+     * Die Namen der dabei gefundenen Aufrufe werden im Cache der Sitzung als
+     * Abhängigkeiten der Algorithmen vermerkt.
+     */
+    private static void linkAlgorithmCalls(AlgorithmSession session) {
+        Map<Signature, Algorithm> algorithms = new HashMap<>();
+        for (Algorithm alg : session.getAlgorithms().getAlgorithms()) {
+            algorithms.put(alg.getSignature(), alg);
+        }
+        Map<Signature, Algorithm> fixedAlgorithms = new HashMap<>();
+        for (Algorithm alg : FIXED_ALGORITHMS) {
+            fixedAlgorithms.put(alg.getSignature(), alg);
+        }
+        List<Algorithm> sessionAlgorithms = session.getAlgorithms().getAlgorithms();
+        for (int i = 0; i < sessionAlgorithms.size(); i++) {
+            Set<String> calledAlgorithmNames = new HashSet<>();
+            linkAlgorithmCalls(sessionAlgorithms.get(i).getCommands(), algorithms, fixedAlgorithms, calledAlgorithmNames);
+            session.getCompiledAlgorithmCache().putCalledAlgorithmNames(session.getAlgorithmCodes().get(i), calledAlgorithmNames, session.getAlgorithmSignatures());
+        }
+    }
+
+    /**
+     * Ermittelt alle seiteneffektfreien und alle threadsicheren Algorithmen der
+     * Sitzung session. Ein Algorithmus ist seiteneffektfrei, wenn er keinen
+     * print-Befehl enthält und nur seiteneffektfreie Algorithmen aufruft
+     * (Standardalgorithmen sind stets seiteneffektfrei). Da Argumente stets als
+     * Wert übergeben werden, hängt das Ergebnis eines solchen Algorithmus nur
+     * von den Argumenten ab. Ein Algorithmus ist threadsicher, wenn er nur
+     * threadsichere Algorithmen aufruft (unter den Standardalgorithmen ist
+     * approx() nicht threadsicher).
+     */
+    private static void markPureAlgorithms(AlgorithmSession session) {
+        List<Algorithm> algorithms = session.getAlgorithms().getAlgorithms();
+        Map<Algorithm, Set<Algorithm>> calledAlgorithms = new HashMap<>();
+        Set<Algorithm> impureAlgorithms = new HashSet<>();
+        Set<Algorithm> notThreadSafeAlgorithms = new HashSet<>();
+        for (Algorithm alg : algorithms) {
+            Set<Algorithm> called = new HashSet<>();
+            if (collectCalledAlgorithmsAndCheckForPrint(alg.getCommands(), called)) {
+                impureAlgorithms.add(alg);
+            }
+            for (Algorithm calledAlg : called) {
+                if (isFixedAlgorithmName(calledAlg.getName()) && !calledAlg.isThreadSafe()) {
+                    notThreadSafeAlgorithms.add(alg);
+                }
+            }
+            calledAlgorithms.put(alg, called);
+        }
+        // Nicht seiteneffektfreie bzw. nicht threadsichere Algorithmen entlang der Aufrufe propagieren.
+        propagateToCallingAlgorithms(algorithms, calledAlgorithms, impureAlgorithms);
+        propagateToCallingAlgorithms(algorithms, calledAlgorithms, notThreadSafeAlgorithms);
+        for (Algorithm alg : algorithms) {
+            alg.setPure(!impureAlgorithms.contains(alg));
+            alg.setThreadSafe(!notThreadSafeAlgorithms.contains(alg));
+            if (alg.isPure() && session.getMemoTableCapacity() > 0) {
+                alg.setMemoTable(new AlgorithmMemoTable(session.getMemoTableCapacity(), session.getMemoEvictionPolicy()));
+            } else {
+                alg.setMemoTable(null);
+            }
         }
     }
 
+    /**
+     * Fügt markedAlgorithms alle Algorithmen hinzu, welche (direkt oder
+     * indirekt) einen Algorithmus aus markedAlgorithms aufrufen.
+     */
+    private static void propagateToCallingAlgorithms(List<Algorithm> algorithms, Map<Algorithm, Set<Algorithm>> calledAlgorithms, Set<Algorithm> markedAlgorithms) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Algorithm alg : algorithms) {
+                if (markedAlgorithms.contains(alg)) {
+                    continue;
+                }
+                for (Algorithm calledAlg : calledAlgorithms.get(alg)) {
+                    if (markedAlgorithms.contains(calledAlg)) {
+                        markedAlgorithms.add(alg);
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parallele for-Schleifen, deren Rumpf nicht seiteneffektfreie Algorithmen
+     * aufruft, werden sequentiell ausgeführt, damit die Reihenfolge der
+     * Ausgaben erhalten bleibt. Dasselbe gilt für Schleifen, deren Rumpf nicht
+     * threadsichere Algorithmen (etwa approx()) aufruft.
+     */
+    private static void markParallelForLoops(List<AlgorithmCommand> commands) {
+        for (AlgorithmCommand command : commands) {
+            if (!command.isControlStructure()) {
+                continue;
+            }
+            for (List<AlgorithmCommand> commandBlock : ((ControlStructure) command).getCommandBlocks()) {
+                markParallelForLoops(commandBlock);
+            }
+            if (command.isForControlStructure() && ((ForControlStructure) command).isParallel()) {
+                ForControlStructure forCommand = (ForControlStructure) command;
+                Set<Algorithm> called = new HashSet<>();
+                collectCalledAlgorithmsAndCheckForPrint(forCommand.getCommands(), called);
+                boolean executedInParallel = true;
+                for (Algorithm calledAlg : called) {
+                    executedInParallel &= (isFixedAlgorithmName(calledAlg.getName()) || calledAlg.isPure()) && calledAlg.isThreadSafe();
+                }
+                forCommand.setExecutedInParallel(executedInParallel);
+            }
+        }
+    }
+
+    /**
+     * Sammelt alle in commands aufgerufenen Algorithmen (einschließlich der
+     * Standardalgorithmen mit Rückgabewert) in called und gibt zurück, ob
+     * commands einen print-Befehl enthält.
+     */
+    private static boolean collectCalledAlgorithmsAndCheckForPrint(List<AlgorithmCommand> commands, Set<Algorithm> called) {
+        boolean containsPrint = false;
+        for (AlgorithmCommand command : commands) {
+            if (command.isAssignValueCommand()) {
+                Algorithm calledAlg = ((AssignValueCommand) command).getTargetAlgorithm();
+                if (calledAlg != null) {
+                    called.add(calledAlg);
+                }
+            } else if (command.isVoidCommand()) {
+                VoidCommand voidCommand = (VoidCommand) command;
+                if (voidCommand.getTargetAlgorithm() != null) {
+                    called.add(voidCommand.getTargetAlgorithm());
+                } else if (voidCommand.getName().equals(FixedAlgorithmNames.PRINT.getValue())) {
+                    containsPrint = true;
+                }
+            } else if (command.isControlStructure()) {
+                for (List<AlgorithmCommand> commandBlock : ((ControlStructure) command).getCommandBlocks()) {
+                    containsPrint |= collectCalledAlgorithmsAndCheckForPrint(commandBlock, called);
+                }
+                if (command.isForControlStructure()) {
+                    containsPrint |= collectCalledAlgorithmsAndCheckForPrint(((ForControlStructure) command).getInitialization(), called);
+                    containsPrint |= collectCalledAlgorithmsAndCheckForPrint(((ForControlStructure) command).getEndLoopCommands(), called);
+                    containsPrint |= collectCalledAlgorithmsAndCheckForPrint(((ForControlStructure) command).getLoopAssignment(), called);
+                }
+            }
+        }
+        return containsPrint;
+    }
+
     private static void checkForTwiceOccurringParameters(Identifier[] parameter, EditorCodeString candidateForSignature) throws AlgorithmCompileException {
         for (int i = 0; i < parameter.length; i++) {
             for (int j = i + 1; j < parameter.length; j++) {
@@ -304,7 +559,7 @@ public abstract class AlgorithmBuilder {
         }
     }
 
-    private static Identifier[] getIdentifiersFromParameterStrings(EditorCodeString[] parameterStrings, AlgorithmMemory memory) throws AlgorithmCompileException {
+    private static Identifier[] getIdentifiersFromParameterStrings(EditorCodeString[] parameterStrings, AlgorithmMemory memory, AlgorithmSession session) throws AlgorithmCompileException {
         Identifier[] resultIdentifiers = new Identifier[parameterStrings.length];
         IdentifierType parameterType;
         EditorCodeString parameterName;
@@ -323,7 +578,7 @@ public abstract class AlgorithmBuilder {
             parameterName = parameterStrings[i].substring((parameterType.toString() + " ").length());
 
             // Validierung des Parameternamen.
-            if (!VALIDATOR.isValidIdentifier(parameterName.getValue())) {
+            if (!session.getValidator().isValidIdentifier(parameterName.getValue())) {
                 throw new AlgorithmCompileException(parameterStrings[i].getLineNumbers(), AlgorithmCompileExceptionIds.AC_ILLEGAL_CHARACTER, parameterName.getValue());
             }
             // Prüfung auf doppelte Deklaration.
@@ -342,9 +597,10 @@ public abstract class AlgorithmBuilder {
         }
     }
 
-    private static boolean containsAlgorithmWithSameSignature(Signature signature) {
-        for (Signature algSignature : ALGORITHM_SIGNATURES.getAlgorithmSignatures()) {
-            if (algSignature.getName().equals(signature.getName()) && algSignature.getParameterTypes().length == signature.getParameterTypes().length) {
+    private static boolean containsAlgorithmWithSameSignature(Signature signature, AlgorithmSession session) {
+        // Nur Signaturen mit demselben Namen kommen in Frage.
+        for (Signature algSignature : session.getAlgorithmSignatures().getAlgorithmSignaturesByName(signature.getName())) {
+            if (algSignature.getParameterTypes().length == signature.getParameterTypes().length) {
                 boolean typesHaveSameSuperType = true;
                 for (int i = 0; i < algSignature.getParameterTypes().length; i++) {
                     if (!areTwoParametersOfSameSuperType(algSignature.getParameterTypes()[i], signature.getParameterTypes()[i])) {
@@ -380,8 +636,8 @@ public abstract class AlgorithmBuilder {
         checkIfAllIdentifierAreInitialized(alg);
     }
 
-    private static void checkIfMainAlgorithmExists(EditorCodeString editorCodeInput) throws AlgorithmCompileException {
-        CompilerUtils.checkIfMainAlgorithmExists(editorCodeInput, ALGORITHMS);
+    private static void checkIfMainAlgorithmExists(EditorCodeString editorCodeInput, AlgorithmSession session) throws AlgorithmCompileException {
+        CompilerUtils.checkIfMainAlgorithmExists(editorCodeInput, session.getAlgorithms());
     }
 
     private static void checkIfMainAlgorithmContainsNoParameters(Algorithm alg) throws AlgorithmCompileException {
@@ -397,38 +653,67 @@ public abstract class AlgorithmBuilder {
         CompilerUtils.checkIfAllUsedIdentifiersAreInitialized(alg.getCommands(), alg);
     }
 
-    private static void replaceAlgorithmSignaturesByAlgorithmReferencesInAssignValueCommands(List<AlgorithmCommand> commands) {
-        AssignValueCommand assignValueCommand;
+    private static void resolveIdentifierSlots(List<AlgorithmCommand> commands, IdentifierSlotTable slotTable) {
         for (AlgorithmCommand command : commands) {
-            if (command.isAssignValueCommand() && ((AssignValueCommand) command).getTargetAlgorithmSignature() != null) {
-                assignValueCommand = (AssignValueCommand) command;
-                Signature signature = assignValueCommand.getTargetAlgorithmSignature();
-                Algorithm calledAlg = null;
-                for (Algorithm alg : ALGORITHMS.getAlgorithms()) {
-                    if (alg.getSignature().equals(signature)) {
-                        calledAlg = alg;
-                        break;
+            if (command.isAssignValueCommand()) {
+                ((AssignValueCommand) command).resolveIdentifierSlots(slotTable);
+            } else if (command.isControlStructure()) {
+                if (command.isIfElseControlStructure()) {
+                    ((IfElseControlStructure) command).getCondition().resolveIdentifierSlots(slotTable);
+                } else if (command.isWhileControlStructure()) {
+                    ((WhileControlStructure) command).getCondition().resolveIdentifierSlots(slotTable);
+                } else if (command.isDoWhileControlStructure()) {
+                    ((DoWhileControlStructure) command).getCondition().resolveIdentifierSlots(slotTable);
+                } else if (command.isForControlStructure()) {
+                    ForControlStructure forCommand = (ForControlStructure) command;
+                    forCommand.getEndLoopCondition().resolveIdentifierSlots(slotTable);
+                    resolveIdentifierSlots(forCommand.getInitialization(), slotTable);
+                    resolveIdentifierSlots(forCommand.getEndLoopCommands(), slotTable);
+                    resolveIdentifierSlots(forCommand.getLoopAssignment(), slotTable);
+                    if (forCommand.getCountedLoop() != null) {
+                        forCommand.getCountedLoop().resolveIdentifierSlots(slotTable);
                     }
                 }
+                for (List<AlgorithmCommand> commandBlock : ((ControlStructure) command).getCommandBlocks()) {
+                    resolveIdentifierSlots(commandBlock, slotTable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verlinkt alle Algorithmenaufrufe in commands mit den aufgerufenen
+     * Algorithmen, damit zur Laufzeit keine Suche nach Signaturen mehr nötig
+     * ist. Vom Benutzer definierte Algorithmen haben dabei Vorrang vor
+     * Standardalgorithmen. Die Namen aller Aufrufe werden in
+     * calledAlgorithmNames gesammelt.
+     */
+    private static void linkAlgorithmCalls(List<AlgorithmCommand> commands, Map<Signature, Algorithm> algorithms, Map<Signature, Algorithm> fixedAlgorithms,
+            Set<String> calledAlgorithmNames) {
+        for (AlgorithmCommand command : commands) {
+            if (command.isAssignValueCommand() && ((AssignValueCommand) command).getTargetAlgorithmSignature() != null) {
+                AssignValueCommand assignValueCommand = (AssignValueCommand) command;
+                Signature signature = assignValueCommand.getTargetAlgorithmSignature();
+                calledAlgorithmNames.add(signature.getName());
+                Algorithm calledAlg = algorithms.get(signature);
                 if (calledAlg == null) {
-                    for (Algorithm alg : FIXED_ALGORITHMS) {
-                        if (alg.getSignature().equals(signature)) {
-                            calledAlg = alg;
-                            break;
-                        }
-                    }
+                    calledAlg = fixedAlgorithms.get(signature);
                 }
                 // Ab hier ist calledAlg != null (dies wurde durch andere, vorherige Prüfungen sichergestellt).
                 assignValueCommand.setTargetAlgorithm(calledAlg);
+            } else if (command.isVoidCommand()) {
+                // Standardbefehle werden direkt über VoidCommand ausgeführt und daher nicht verlinkt.
+                ((VoidCommand) command).setTargetAlgorithm(algorithms.get(((VoidCommand) command).getSignature()));
+                calledAlgorithmNames.add(((VoidCommand) command).getName());
             } else if (command.isControlStructure()) {
                 // Analoges bei allen Unterblöcken durchführen.
                 for (List<AlgorithmCommand> commandBlock : ((ControlStructure) command).getCommandBlocks()) {
-                    replaceAlgorithmSignaturesByAlgorithmReferencesInAssignValueCommands(commandBlock);
+                    linkAlgorithmCalls(commandBlock, algorithms, fixedAlgorithms, calledAlgorithmNames);
                 }
                 if (command.isForControlStructure()) {
-                    replaceAlgorithmSignaturesByAlgorithmReferencesInAssignValueCommands(((ForControlStructure) command).getInitialization());
-                    replaceAlgorithmSignaturesByAlgorithmReferencesInAssignValueCommands(((ForControlStructure) command).getEndLoopCommands());
-                    replaceAlgorithmSignaturesByAlgorithmReferencesInAssignValueCommands(((ForControlStructure) command).getLoopAssignment());
+                    linkAlgorithmCalls(((ForControlStructure) command).getInitialization(), algorithms, fixedAlgorithms, calledAlgorithmNames);
+                    linkAlgorithmCalls(((ForControlStructure) command).getEndLoopCommands(), algorithms, fixedAlgorithms, calledAlgorithmNames);
+                    linkAlgorithmCalls(((ForControlStructure) command).getLoopAssignment(), algorithms, fixedAlgorithms, calledAlgorithmNames);
                 }
             }
         }
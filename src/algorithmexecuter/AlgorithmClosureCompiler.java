@@ -0,0 +1,200 @@
+package algorithmexecuter;
+
+import algorithmexecuter.booleanexpression.BooleanExpression;
+import algorithmexecuter.enums.ExecutionMode;
+import algorithmexecuter.exceptions.AlgorithmExecutionException;
+import algorithmexecuter.model.AlgorithmMemory;
+import algorithmexecuter.model.command.AlgorithmCommand;
+import algorithmexecuter.model.command.AssignValueCommand;
+import algorithmexecuter.model.command.DoWhileControlStructure;
+import algorithmexecuter.model.command.ForControlStructure;
+import algorithmexecuter.model.command.IfElseControlStructure;
+import algorithmexecuter.model.command.KeywordCommand;
+import algorithmexecuter.model.command.VoidCommand;
+import algorithmexecuter.model.command.WhileControlStructure;
+import algorithmexecuter.model.identifier.Identifier;
+import algorithmexecuter.model.utilclasses.CountedLoop;
+import exceptions.EvaluationException;
+import java.util.List;
+
+/**
+ * Übersetzt die Befehle eines kompilierten Algorithmus in einen Baum aus
+ * geschachtelten Lambda-Ausdrücken. Kontrollstrukturen werden dabei zu echten
+ * Java-Schleifen und -Verzweigungen, sodass die Fallunterscheidungen des
+ * Interpreters (Typabfragen, Iteratoren über Befehlslisten) zur Laufzeit
+ * entfallen und der JIT-Compiler die Befehlsfolge optimieren kann. Befehle,
+ * für welche keine Übersetzung existiert, werden weiterhin interpretiert.
+ */
+public abstract class AlgorithmClosureCompiler {
+
+    /**
+     * Übersetzter Befehl bzw. Befehlsblock. Wie bei
+     * AlgorithmCommand.execute() ist der Rückgabewert genau dann nicht null,
+     * wenn ein Return-, break- oder continue-Befehl ausgeführt wurde.
+     */
+    @FunctionalInterface
+    public interface CompiledCommand {
+
+        Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException;
+
+    }
+
+    private static final CompiledCommand EMPTY_BLOCK = scopeMemory -> null;
+
+    /**
+     * Übersetzt einen zusammenhängenden Befehlsblock. Die im Block deklarierten
+     * Bezeichner werden beim Verlassen des Blocks wieder verworfen (vgl.
+     * AlgorithmExecuter.executeConnectedBlock()).
+     */
+    public static CompiledCommand compileConnectedBlock(List<AlgorithmCommand> commands) {
+        if (commands.isEmpty()) {
+            return EMPTY_BLOCK;
+        }
+        CompiledCommand block = compileBlock(commands);
+        return scopeMemory -> {
+            int scopeMark = scopeMemory.openScope();
+            try {
+                return block.execute(scopeMemory);
+            } finally {
+                scopeMemory.closeScope(scopeMark);
+            }
+        };
+    }
+
+    /**
+     * Übersetzt einen Befehlsblock, dessen Bezeichner beim Verlassen nicht
+     * verworfen werden (vgl. AlgorithmExecuter.executeBlock()).
+     */
+    public static CompiledCommand compileBlock(List<AlgorithmCommand> commands) {
+        if (commands.isEmpty()) {
+            return EMPTY_BLOCK;
+        }
+        if (commands.size() == 1) {
+            CompiledCommand command = compileCommand(commands.get(0));
+            return scopeMemory -> {
+                scopeMemory.countCommand();
+                return command.execute(scopeMemory);
+            };
+        }
+        CompiledCommand[] compiledCommands = new CompiledCommand[commands.size()];
+        for (int i = 0; i < compiledCommands.length; i++) {
+            compiledCommands[i] = compileCommand(commands.get(i));
+        }
+        return scopeMemory -> {
+            Identifier result;
+            for (CompiledCommand command : compiledCommands) {
+                scopeMemory.countCommand();
+                result = command.execute(scopeMemory);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return null;
+        };
+    }
+
+    public static CompiledCommand compileCommand(AlgorithmCommand command) {
+        if (command.isAssignValueCommand()) {
+            AssignValueCommand assignValueCommand = (AssignValueCommand) command;
+            return scopeMemory -> assignValueCommand.execute(scopeMemory, ExecutionMode.COMPILED);
+        }
+        if (command.isVoidCommand()) {
+            VoidCommand voidCommand = (VoidCommand) command;
+            return scopeMemory -> voidCommand.execute(scopeMemory, ExecutionMode.COMPILED);
+        }
+        if (command.isKeywordCommand()) {
+            Identifier signal = ((KeywordCommand) command).getSignal();
+            return scopeMemory -> signal;
+        }
+        if (command.isIfElseControlStructure()) {
+            return compileIfElseControlStructure((IfElseControlStructure) command);
+        }
+        if (command.isWhileControlStructure()) {
+            return compileWhileControlStructure((WhileControlStructure) command);
+        }
+        if (command.isDoWhileControlStructure()) {
+            return compileDoWhileControlStructure((DoWhileControlStructure) command);
+        }
+        if (command.isForControlStructure()) {
+            return compileForControlStructure((ForControlStructure) command);
+        }
+        // Alle übrigen Befehle werden interpretiert.
+        return command::execute;
+    }
+
+    private static CompiledCommand compileIfElseControlStructure(IfElseControlStructure command) {
+        BooleanExpression condition = command.getCondition();
+        CompiledCommand ifPart = compileConnectedBlock(command.getCommandsIfPart());
+        CompiledCommand elsePart = compileConnectedBlock(command.getCommandsElsePart());
+        return scopeMemory -> condition.evaluate(scopeMemory) ? ifPart.execute(scopeMemory) : elsePart.execute(scopeMemory);
+    }
+
+    private static CompiledCommand compileWhileControlStructure(WhileControlStructure command) {
+        BooleanExpression condition = command.getCondition();
+        CompiledCommand body = compileConnectedBlock(command.getCommands());
+        return scopeMemory -> {
+            Identifier result;
+            while (condition.evaluate(scopeMemory)) {
+                scopeMemory.countLoopIteration();
+                result = body.execute(scopeMemory);
+                if (AlgorithmExecuter.isLoopTerminated(result)) {
+                    return AlgorithmExecuter.getLoopResult(result);
+                }
+            }
+            return null;
+        };
+    }
+
+    private static CompiledCommand compileDoWhileControlStructure(DoWhileControlStructure command) {
+        BooleanExpression condition = command.getCondition();
+        CompiledCommand body = compileConnectedBlock(command.getCommands());
+        return scopeMemory -> {
+            Identifier result;
+            do {
+                scopeMemory.countLoopIteration();
+                result = body.execute(scopeMemory);
+                if (AlgorithmExecuter.isLoopTerminated(result)) {
+                    return AlgorithmExecuter.getLoopResult(result);
+                }
+            } while (condition.evaluate(scopeMemory));
+            return null;
+        };
+    }
+
+    private static CompiledCommand compileForControlStructure(ForControlStructure command) {
+        CompiledCommand initialization = compileBlock(command.getInitialization());
+        CompiledCommand endLoopCommands = compileBlock(command.getEndLoopCommands());
+        BooleanExpression endLoopCondition = command.getEndLoopCondition();
+        CompiledCommand loopAssignment = compileBlock(command.getLoopAssignment());
+        CompiledCommand body = compileBlock(command.getCommands());
+        CountedLoop countedLoop = command.getCountedLoop();
+        return scopeMemory -> {
+            Identifier result;
+            // Die in der For-Struktur deklarierten Bezeichner werden am Ende wieder verworfen.
+            int scopeMark = scopeMemory.openScope();
+            try {
+                initialization.execute(scopeMemory);
+                if (countedLoop != null) {
+                    Long boundValue = countedLoop.evaluateBound(scopeMemory);
+                    if (boundValue != null) {
+                        return command.executeCountedLoop(scopeMemory, boundValue, body);
+                    }
+                }
+                endLoopCommands.execute(scopeMemory);
+                while (endLoopCondition.evaluate(scopeMemory)) {
+                    scopeMemory.countLoopIteration();
+                    result = body.execute(scopeMemory);
+                    if (AlgorithmExecuter.isLoopTerminated(result)) {
+                        return AlgorithmExecuter.getLoopResult(result);
+                    }
+                    loopAssignment.execute(scopeMemory);
+                    endLoopCommands.execute(scopeMemory);
+                }
+            } finally {
+                scopeMemory.closeScope(scopeMark);
+            }
+            return null;
+        };
+    }
+
+}
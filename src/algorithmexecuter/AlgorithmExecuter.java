@@ -1,6 +1,7 @@
 package algorithmexecuter;
 
 import algorithmexecuter.model.command.AlgorithmCommand;
+import algorithmexecuter.enums.ExecutionMode;
 import algorithmexecuter.exceptions.AlgorithmCompileException;
 import algorithmexecuter.exceptions.AlgorithmExecutionException;
 import algorithmexecuter.exceptions.constants.AlgorithmExecutionExceptionIds;
@@ -8,9 +9,13 @@ import algorithmexecuter.model.identifier.Identifier;
 import algorithmexecuter.model.AlgorithmMemory;
 import algorithmexecuter.model.Algorithm;
 import algorithmexecuter.model.AlgorithmStorage;
-import algorithmexecuter.output.AlgorithmOutputPrinter;
 import exceptions.EvaluationException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public abstract class AlgorithmExecuter {
 
@@ -21,77 +26,171 @@ public abstract class AlgorithmExecuter {
      * @throws EvaluationException
      */
     public static Identifier executeAlgorithm(List<Algorithm> algorithms) throws AlgorithmExecutionException, EvaluationException {
+        return executeAlgorithm(algorithms, ExecutionMode.INTERPRETER);
+    }
+
+    /**
+     * Führt einen MathTool-Algorithmus im Ausführungsmodus mode aus.
+     *
+     * @throws AlgorithmExecutionException
+     * @throws EvaluationException
+     */
+    public static Identifier executeAlgorithm(List<Algorithm> algorithms, ExecutionMode mode) throws AlgorithmExecutionException, EvaluationException {
+        return executeAlgorithm(algorithms, mode, null);
+    }
+
+    /**
+     * Führt einen MathTool-Algorithmus im Ausführungsmodus mode aus. Die
+     * Ausführung kann über control abgebrochen bzw. mit einer Frist versehen
+     * werden. Ein solcher Abbruch wird über den Ausgabedrucker der Sitzung
+     * gemeldet.
+     *
+     * @throws AlgorithmExecutionException
+     * @throws EvaluationException
+     */
+    public static Identifier executeAlgorithm(List<Algorithm> algorithms, ExecutionMode mode, ExecutionControl control) throws AlgorithmExecutionException, EvaluationException {
         Algorithm mainAlg;
         try {
             mainAlg = CompilerUtils.getMainAlgorithm(new AlgorithmStorage(algorithms));
-            Identifier result = mainAlg.execute();
+        } catch (AlgorithmCompileException e) {
+            throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_MAIN_NOT_FOUND);
+        }
+        try {
+            Identifier result = mainAlg.execute(new Identifier[0], mode, control);
             if (result != Identifier.NULL_IDENTIFIER) {
-                AlgorithmOutputPrinter.getInstance().printOutput(mainAlg, result);
+                CompilerUtils.getSession(mainAlg).getPrinter().printOutput(mainAlg, result);
             }
             return result;
-        } catch (AlgorithmCompileException e) {
-            throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_MAIN_NOT_FOUND);
+        } catch (AlgorithmExecutionException e) {
+            if (control != null && control.isAborted()) {
+                CompilerUtils.getSession(mainAlg).getPrinter().printAbortAlgorithm();
+            }
+            throw e;
         }
     }
 
+    /**
+     * Führt einen MathTool-Algorithmus asynchron auf einem Standard-Executor
+     * aus (virtuelle Threads, sofern die Laufzeitumgebung diese unterstützt).
+     * Siehe executeAlgorithmAsync(List, ExecutionMode, ExecutionControl,
+     * Executor).
+     */
+    public static CompletableFuture<Identifier> executeAlgorithmAsync(List<Algorithm> algorithms, ExecutionMode mode, ExecutionControl control) {
+        return executeAlgorithmAsync(algorithms, mode, control, DefaultAsyncExecutorHolder.EXECUTOR);
+    }
+
+    /**
+     * Führt einen MathTool-Algorithmus asynchron auf executor aus. Das
+     * Abbrechen des zurückgegebenen Future bricht auch die Ausführung selbst
+     * (beim nächsten Prüfpunkt) ab. Fehler bei der Ausführung werden als
+     * Ursache einer CompletionException weitergereicht.
+     */
+    public static CompletableFuture<Identifier> executeAlgorithmAsync(List<Algorithm> algorithms, ExecutionMode mode, ExecutionControl control, Executor executor) {
+        ExecutionControl executionControl = control != null ? control : new ExecutionControl();
+        CompletableFuture<Identifier> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return executeAlgorithm(algorithms, mode, executionControl);
+            } catch (AlgorithmExecutionException | EvaluationException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                executionControl.cancel();
+            }
+        });
+        return future;
+    }
+
+    private static final class DefaultAsyncExecutorHolder {
+
+        private static final Executor EXECUTOR = createDefaultAsyncExecutor();
+
+        /**
+         * Verwendet virtuelle Threads (ab Java 21), ansonsten einen Pool aus
+         * Daemon-Threads, damit laufende Algorithmen das Beenden der
+         * Anwendung nicht verhindern.
+         */
+        private static Executor createDefaultAsyncExecutor() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                return Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "algorithm-executer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+
+    }
+
     /**
      * Führt einen zusammenhängenden Befehlsblock aus und gibt den
-     * Ergebnisbezeichner zurück, falls ein Return-Befehl ausgeführt wurde. Nach
-     * der Blockausführung werden die in diesem Block deklarierten Bezeichner
-     * wieder verworfen.
+     * Ergebnisbezeichner zurück, falls ein Return-Befehl ausgeführt wurde, bzw.
+     * das entsprechende Signal, falls ein break- oder continue-Befehl
+     * ausgeführt wurde. Nach der Blockausführung werden die in diesem Block
+     * deklarierten Bezeichner wieder verworfen.
      *
      * @throws AlgorithmExecutionException
      * @throws EvaluationException
      */
-    public static Identifier executeConnectedBlock(AlgorithmMemory memoryBeforeBlockExecution, List<AlgorithmCommand> commands) throws AlgorithmExecutionException, EvaluationException {
-        AlgorithmMemory scopeMemory = new AlgorithmMemory(null);
-        Identifier resultIdentifier = null;
-        Algorithm alg = null;
-        for (AlgorithmCommand command : commands) {
-            // Zuerst: Zugehörigen Algorithmus ermitteln.
-            if (alg == null) {
-                alg = command.getAlgorithm();
-                scopeMemory = memoryBeforeBlockExecution.copyMemory();
-            }
-            resultIdentifier = command.execute(scopeMemory);
-
-            /*
-            Nur Return-Befehle geben echte Identifier zurück. Alle anderen
-            Befehle geben null zurück.
-             */
-            if (command.isReturnCommand() || resultIdentifier != null) {
-                return resultIdentifier;
-            }
+    public static Identifier executeConnectedBlock(AlgorithmMemory scopeMemory, List<AlgorithmCommand> commands) throws AlgorithmExecutionException, EvaluationException {
+        /*
+        Der Block wird direkt im übergebenen Speicher ausgeführt. Beim Verlassen 
+        des Blocks (auch durch break, continue oder return) werden nur die im 
+        Block deklarierten Bezeichner wieder entfernt.
+         */
+        int scopeMark = scopeMemory.openScope();
+        try {
+            return executeBlock(scopeMemory, commands);
+        } finally {
+            scopeMemory.closeScope(scopeMark);
         }
-        // Speicher vor der Ausführung des Blocks aktualisieren.
-        ExecutionUtils.updateMemoryBeforeBlockExecution(memoryBeforeBlockExecution, scopeMemory);
-        return null;
     }
 
     /**
      * Führt einen zusammenhängenden Befehlsblock aus und gibt den
-     * Ergebnisbezeichner zurück, falls ein Return-Befehl ausgeführt wurde. Nach
-     * der Blockausführung werden die in diesem Block deklarierten Bezeichner
-     * jedoch nicht wieder verworfen.
+     * Ergebnisbezeichner zurück, falls ein Return-Befehl ausgeführt wurde, bzw.
+     * das entsprechende Signal, falls ein break- oder continue-Befehl
+     * ausgeführt wurde. Nach der Blockausführung werden die in diesem Block
+     * deklarierten Bezeichner jedoch nicht wieder verworfen.
      *
      * @throws AlgorithmExecutionException
      * @throws EvaluationException
      */
     public static Identifier executeBlock(AlgorithmMemory scopeMemory, List<AlgorithmCommand> commands) throws AlgorithmExecutionException, EvaluationException {
-        Identifier resultIdentifier = null;
-        for (AlgorithmCommand command : commands) {
-            // Zuerst: Zugehörigen Algorithmus ermitteln.
-            resultIdentifier = command.execute(scopeMemory);
-
+        Identifier resultIdentifier;
+        for (int i = 0, n = commands.size(); i < n; i++) {
+            scopeMemory.countCommand();
+            resultIdentifier = commands.get(i).execute(scopeMemory);
             /*
-            Nur Return-Befehle geben echte Identifier zurück. Alle anderen
-            Befehle geben null zurück.
+            Nur Return-Befehle geben echte Identifier zurück, break- und
+            continue-Befehle ihr jeweiliges Signal. Alle anderen Befehle geben
+            null zurück.
              */
-            if (command.isReturnCommand() || resultIdentifier != null) {
+            if (resultIdentifier != null) {
                 return resultIdentifier;
             }
         }
         return null;
     }
 
+    /**
+     * Gibt true zurück, falls result das Ergebnis eines Schleifendurchlaufs
+     * ist, nach welchem die Schleife verlassen werden muss (break oder
+     * return).
+     */
+    public static boolean isLoopTerminated(Identifier result) {
+        return result != null && result != Identifier.CONTINUE_SIGNAL;
+    }
+
+    /**
+     * Gibt das Ergebnis einer durch isLoopTerminated() beendeten Schleife
+     * zurück. Ein break-Signal wird dabei von der Schleife verbraucht.
+     */
+    public static Identifier getLoopResult(Identifier result) {
+        return result == Identifier.BREAK_SIGNAL ? null : result;
+    }
+
 }
@@ -5,7 +5,6 @@ import abstractexpressions.expression.classes.Variable;
 import abstractexpressions.interfaces.AbstractExpression;
 import abstractexpressions.matrixexpression.classes.MatrixExpression;
 import abstractexpressions.matrixexpression.classes.MatrixVariable;
-import static algorithmexecuter.AlgorithmBuilder.VALIDATOR;
 import algorithmexecuter.model.command.AlgorithmCommand;
 import algorithmexecuter.model.command.AssignValueCommand;
 import algorithmexecuter.model.command.DeclareIdentifierCommand;
@@ -23,7 +22,6 @@ import algorithmexecuter.enums.ReservedChars;
 import algorithmexecuter.exceptions.AlgorithmCompileException;
 import algorithmexecuter.exceptions.BooleanExpressionException;
 import algorithmexecuter.exceptions.constants.AlgorithmCompileExceptionIds;
-import algorithmexecuter.exceptions.NotDesiredCommandException;
 import algorithmexecuter.exceptions.ParseAssignValueException;
 import algorithmexecuter.exceptions.ParseControlStructureException;
 import algorithmexecuter.exceptions.ParseKeywordException;
@@ -49,6 +47,8 @@ import java.util.Set;
 
 public abstract class AlgorithmLineCompiler {
 
+    private static final Set<ComparingOperators> OPERATORS_CONTAINING_EQUALS_SIGN = ComparingOperators.getOperatorsContainingEqualsSign();
+
     /**
      * Gibt eine Liste von Befehlen zurück, welche aus der gegebenen Zeile
      * generíert werden. Aus einer Zeile können auch mehrere Befehle generiert
@@ -58,63 +58,85 @@ public abstract class AlgorithmLineCompiler {
      * exp(4)" etwa die beiden folgenden Befehle generiert: <br>
      * expression #1 = computeggt(15,25)<br>
      * expression x = #1 * exp(4)<br>
+     * Nach der Suche nach einer Zuweisung wird die Art des Befehls allein
+     * anhand des ersten Wortes der Zeile (und des darauf folgenden Zeichens)
+     * bestimmt. Die Zeile wird dabei nicht in Tokens zerlegt, sondern
+     * anschließend unverändert an den entsprechenden Parser weitergegeben.
      *
      * @throws AlgorithmCompileException
      */
     private static List<AlgorithmCommand> parseLine(EditorCodeString line, AlgorithmMemory memory, Algorithm alg, boolean keywordsAllowed) throws AlgorithmCompileException {
-        try {
-            return parseAssignValueCommand(line, memory);
-        } catch (ParseAssignValueException e) {
-            throw e;
-        } catch (NotDesiredCommandException e) {
+        // Zuweisungen besitzen Vorrang vor allen anderen Befehlen.
+        int defineCharPosition = getPositionOfDefineCharIfIsAssignValueCommandIfValid(line);
+        if (defineCharPosition >= 0) {
+            return parseAssignValueCommand(line, defineCharPosition, memory);
         }
 
-        try {
-            return parseDeclareIdentifierCommand(line, memory);
-        } catch (ParseAssignValueException e) {
-            throw e;
-        } catch (NotDesiredCommandException e) {
-        }
+        int endOfFirstWord = getEndOfFirstWord(line);
+        String firstWord = line.substring(0, endOfFirstWord).getValue();
+        boolean isLineEnd = endOfFirstWord == line.length();
+        char charAfterFirstWord = isLineEnd ? 0 : line.charAt(endOfFirstWord);
 
-        try {
-            return parseControlStructure(line, memory, alg, keywordsAllowed);
-        } catch (ParseControlStructureException e) {
-            throw e;
-        } catch (NotDesiredCommandException e) {
+        // Deklaration "typ name".
+        if (charAfterFirstWord == ' ') {
+            for (IdentifierType type : IdentifierType.values()) {
+                if (firstWord.equals(type.toString())) {
+                    return parseDeclareIdentifierCommand(line, type, memory);
+                }
+            }
         }
 
+        // Kontrollstrukturen.
         try {
-            return parseKeywordCommand(line, keywordsAllowed);
-        } catch (ParseKeywordException e) {
-            throw e;
-        } catch (NotDesiredCommandException e) {
+            if (charAfterFirstWord == ReservedChars.OPEN_BRACKET.getValue()) {
+                if (firstWord.equals(Keyword.IF.getValue())) {
+                    return parseIfElseControlStructure(line, memory, alg, keywordsAllowed);
+                }
+                if (firstWord.equals(Keyword.FOR.getValue()) || firstWord.equals(Keyword.PARALLELFOR.getValue())) {
+                    return parseForControlStructure(line, memory, alg);
+                }
+                if (firstWord.equals(Keyword.WHILE.getValue())) {
+                    return parseWhileControlStructure(line, memory, alg);
+                }
+            }
+            if (charAfterFirstWord == ReservedChars.BEGIN.getValue() && firstWord.equals(Keyword.DO.getValue())) {
+                return parseDoWhileControlStructure(line, memory, alg);
+            }
+        } catch (BooleanExpressionException e) {
+            // Es ist zwar eine Kontrollstruktur, aber die Bedingung kann nicht kompiliert werden.
+            throw new AlgorithmCompileException(line.getLineNumbers(), e);
         }
 
-        try {
-            return parseReturnCommand(line, memory, alg);
-        } catch (ParseReturnException e) {
-            throw e;
-        } catch (NotDesiredCommandException e) {
+        // Schlüsselwörter break und continue.
+        if (isLineEnd && (firstWord.equals(Keyword.BREAK.getValue()) || firstWord.equals(Keyword.CONTINUE.getValue()))) {
+            return parseKeywordCommand(line, firstWord.equals(Keyword.BREAK.getValue()) ? Keyword.BREAK : Keyword.CONTINUE, keywordsAllowed);
         }
 
-        try {
-            return parseVoidCommand(line, memory);
-        } catch (NotDesiredCommandException e) {
+        // Return-Befehle.
+        if (firstWord.startsWith(Keyword.RETURN.getValue())) {
+            return parseReturnCommand(line, memory, alg);
         }
 
-        throw new AlgorithmCompileException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_COMMAND_COUND_NOT_BE_PARSED, line.getValue());
+        return parseVoidCommand(line, memory);
     }
 
-    private static List<AlgorithmCommand> parseDeclareIdentifierCommand(EditorCodeString line, AlgorithmMemory scopeMemory) throws AlgorithmCompileException, NotDesiredCommandException {
-        // Typ ermitteln. Dieser ist != null, wenn es sich definitiv um eine Identifierdeklaration handelt.
-        IdentifierType type = getTypeIfIsValidDeclareIdentifierCommand(line);
-        if (type == null) {
-            throw new NotDesiredCommandException();
+    /**
+     * Gibt das Ende des ersten Wortes von line zurück. Dieses besteht aus
+     * allen führenden Buchstaben, Schlüsselwörter und Typen bilden also stets
+     * ein vollständiges Wort.
+     */
+    private static int getEndOfFirstWord(EditorCodeString line) {
+        int i = 0;
+        while (i < line.length() && Character.isLetter(line.charAt(i))) {
+            i++;
         }
+        return i;
+    }
 
+    private static List<AlgorithmCommand> parseDeclareIdentifierCommand(EditorCodeString line, IdentifierType type, AlgorithmMemory scopeMemory) throws AlgorithmCompileException {
         String identifierName = line.substring(type.toString().length() + 1).getValue();
         // Prüfung, ob dieser Bezeichner gültigen Namen besitzt.
-        if (!VALIDATOR.isValidIdentifier(identifierName)) {
+        if (!CompilerUtils.getSession(scopeMemory).getValidator().isValidIdentifier(identifierName)) {
             throw new AlgorithmCompileException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_ILLEGAL_CHARACTER, identifierName);
         }
         // Prüfung, ob dieser Identifier bereits existiert.
@@ -126,22 +148,13 @@ public abstract class AlgorithmLineCompiler {
         return Collections.singletonList((AlgorithmCommand) new DeclareIdentifierCommand(identifier));
     }
 
-    private static IdentifierType getTypeIfIsValidDeclareIdentifierCommand(EditorCodeString line) {
-        for (IdentifierType type : IdentifierType.values()) {
-            if (line.startsWith(type.toString() + " ")) {
-                return type;
-            }
-        }
-        return null;
-    }
-
-    private static List<AlgorithmCommand> parseAssignValueCommand(EditorCodeString line, AlgorithmMemory scopeMemory) throws AlgorithmCompileException, NotDesiredCommandException {
-        // Ermittlung der Stelle des Zuweisungsoperators "=", falls vorhanden. 
-        int defineCharPosition = getPositionOfDefineCharIfIsAssignValueCommandIfValid(line);
-        if (defineCharPosition < 0) {
-            throw new NotDesiredCommandException();
-        }
-
+    /**
+     * Kompiliert die Zuweisung line, deren Zuweisungsoperator "=" an der Stelle
+     * defineCharPosition steht.
+     *
+     * @throws AlgorithmCompileException
+     */
+    private static List<AlgorithmCommand> parseAssignValueCommand(EditorCodeString line, int defineCharPosition, AlgorithmMemory scopeMemory) throws AlgorithmCompileException {
         EditorCodeString leftSide = line.substring(0, defineCharPosition);
         EditorCodeString rightSide = line.substring(defineCharPosition + 1);
         // Linke Seite behandeln.
@@ -161,7 +174,7 @@ public abstract class AlgorithmLineCompiler {
             identifierNameValue = identifierName.getValue();
             assignValueType = AssignValueType.NEW;
             // Prüfung, ob dieser Bezeichner gültigen Namen besitzt.
-            if (!VALIDATOR.isValidIdentifier(identifierNameValue)) {
+            if (!CompilerUtils.getSession(scopeMemory).getValidator().isValidIdentifier(identifierNameValue)) {
                 throw new ParseAssignValueException(identifierName.getLineNumbers(), AlgorithmCompileExceptionIds.AC_ILLEGAL_CHARACTER, identifierNameValue);
             }
             // Prüfung, ob dieser Bezeichner bereits existiert.
@@ -196,7 +209,7 @@ public abstract class AlgorithmLineCompiler {
 
             if (type != IdentifierType.STRING) {
                 try {
-                    AbstractExpression expr = (AbstractExpression) CompilerUtils.parseParameterAgaingstType(rightSideReplaced, VALIDATOR, scopeMemory, type);
+                    AbstractExpression expr = (AbstractExpression) CompilerUtils.parseParameterAgaingstType(rightSideReplaced, CompilerUtils.getSession(scopeMemory).getValidator(), scopeMemory, type);
                     scopeMemory.put(identifierNameValue, identifier);
                     commands.add(new AssignValueCommand(identifier, expr, assignValueType, rightSide.getLineNumbers()));
                     return commands;
@@ -204,7 +217,7 @@ public abstract class AlgorithmLineCompiler {
                     // 1. Versuch: Es ist eine Zuweisung, aber vom falschen Typ. Dann entsprechende Meldung über Inkompatibilität ausgeben.
                     ParameterData parsedParameter = null;
                     try {
-                        parsedParameter = CompilerUtils.parseParameterWithoutType(rightSideReplaced, VALIDATOR, scopeMemory);
+                        parsedParameter = CompilerUtils.parseParameterWithoutType(rightSideReplaced, CompilerUtils.getSession(scopeMemory).getValidator(), scopeMemory);
                     } catch (AlgorithmCompileException ex) {
                         // Nichts tun.
                     }
@@ -217,7 +230,7 @@ public abstract class AlgorithmLineCompiler {
                     boolean hasAlgorithmCallStructure = false;
                     try {
                         CompilerUtils.AlgorithmParseData algParseData = CompilerUtils.getAlgorithmParseData(rightSideReplaced);
-                        if (doesAlgorithmWithGivenNameExists(algParseData.getName().getValue())) {
+                        if (doesAlgorithmWithGivenNameExists(algParseData.getName().getValue(), scopeMemory)) {
                             hasAlgorithmCallStructure = true;
                         }
                     } catch (AlgorithmCompileException ex) {
@@ -242,7 +255,7 @@ public abstract class AlgorithmLineCompiler {
                     boolean hasAlgorithmCallStructure = false;
                     try {
                         CompilerUtils.AlgorithmParseData algParseData = CompilerUtils.getAlgorithmParseData(rightSideReplaced);
-                        if (doesAlgorithmWithGivenNameExists(algParseData.getName().getValue())) {
+                        if (doesAlgorithmWithGivenNameExists(algParseData.getName().getValue(), scopeMemory)) {
                             hasAlgorithmCallStructure = true;
                         }
                     } catch (AlgorithmCompileException ex) {
@@ -257,22 +270,32 @@ public abstract class AlgorithmLineCompiler {
             }
         }
 
-        throw new NotDesiredCommandException();
+        throw new AlgorithmCompileException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_COMMAND_COUND_NOT_BE_PARSED, line.getValue());
 
     }
 
-    private static boolean doesAlgorithmWithGivenNameExists(String algName) {
-        for (Signature signature : AlgorithmBuilder.ALGORITHM_SIGNATURES.getAlgorithmSignatures()) {
-            if (signature.getName().equals(algName)) {
-                return true;
-            }
-        }
-        return false;
+    private static boolean doesAlgorithmWithGivenNameExists(String algName, AlgorithmMemory scopeMemory) {
+        return CompilerUtils.getSession(scopeMemory).getAlgorithmSignatures().containsAlgorithmSignatureWithName(algName);
     }
 
     private static int getPositionOfDefineCharIfIsAssignValueCommandIfValid(EditorCodeString line) {
         int wavyBracketCounter = 0, bracketCounter = 0, squareBracketCounter = 0;
         for (int i = 0; i < line.length(); i++) {
+            if (wavyBracketCounter == 0 && bracketCounter == 0 && squareBracketCounter == 0) {
+                /*
+                Innerhalb eines vollständigen Klammerpaares kann kein Zuweisungsoperator 
+                stehen. Es wird daher übersprungen, wobei nur die Bilanzen der anderen 
+                Klammerarten übernommen werden.
+                 */
+                int endOfBracket = line.indexOfMatchingBracket(i);
+                if (endOfBracket >= 0) {
+                    wavyBracketCounter += line.getBracketBalance(ReservedChars.BEGIN.getValue(), i, endOfBracket + 1);
+                    bracketCounter += line.getBracketBalance(ReservedChars.OPEN_BRACKET.getValue(), i, endOfBracket + 1);
+                    squareBracketCounter += line.getBracketBalance(ReservedChars.OPEN_SQUARE_BRACKET.getValue(), i, endOfBracket + 1);
+                    i = endOfBracket;
+                    continue;
+                }
+            }
             if (line.charAt(i) == ReservedChars.BEGIN.getValue()) {
                 wavyBracketCounter++;
             } else if (line.charAt(i) == ReservedChars.END.getValue()) {
@@ -293,12 +316,12 @@ public abstract class AlgorithmLineCompiler {
                 ist, welcher "=" enthält. Im positiven Fall kann es keine Zuweisung mehr sein, 
                 sondern höchstens eine Kontrollstruktur.
                  */
-                for (ComparingOperators op : ComparingOperators.getOperatorsContainingEqualsSign()) {
-                    if (line.substring(i - 1).startsWith(op.getValue())) {
+                for (ComparingOperators op : OPERATORS_CONTAINING_EQUALS_SIGN) {
+                    if (line.startsWith(op.getValue(), i - 1)) {
                         return -1;
                     }
                 }
-                if (line.substring(i).startsWith(ComparingOperators.EQUALS.getValue())) {
+                if (line.startsWith(ComparingOperators.EQUALS.getValue(), i)) {
                     return -1;
                 }
                 return i;
@@ -336,17 +359,17 @@ public abstract class AlgorithmLineCompiler {
                 try {
                     switch (calledAlgSignature.getParameterTypes()[i]) {
                         case EXPRESSION:
-                            argument = CompilerUtils.buildExpressionWithScopeMemory(params[i], VALIDATOR, scopeMemory);
+                            argument = CompilerUtils.buildExpressionWithScopeMemory(params[i], CompilerUtils.getSession(scopeMemory).getValidator(), scopeMemory);
                             // Prüfung auf Wohldefiniertheit aller auftretenden Bezeichner.
                             CompilerUtils.checkIfAllIdentifiersAreDefined(params[i], argument.getContainedVars(), scopeMemory);
                             break;
                         case BOOLEAN_EXPRESSION:
-                            argument = CompilerUtils.buildBooleanExpressionWithScopeMemory(params[i], VALIDATOR, scopeMemory);
+                            argument = CompilerUtils.buildBooleanExpressionWithScopeMemory(params[i], CompilerUtils.getSession(scopeMemory).getValidator(), scopeMemory);
                             // Prüfung auf Wohldefiniertheit aller auftretenden Bezeichner.
                             CompilerUtils.checkIfAllIdentifiersAreDefined(params[i], argument.getContainedVars(), scopeMemory);
                             break;
                         case MATRIX_EXPRESSION:
-                            argument = CompilerUtils.buildMatrixExpressionWithScopeMemory(params[i], VALIDATOR, scopeMemory);
+                            argument = CompilerUtils.buildMatrixExpressionWithScopeMemory(params[i], CompilerUtils.getSession(scopeMemory).getValidator(), scopeMemory);
                             // Prüfung auf Wohldefiniertheit aller auftretenden Bezeichner.
                             CompilerUtils.checkIfAllIdentifiersAreDefined(params[i], argument.getContainedVars(), scopeMemory);
                             break;
@@ -389,14 +412,14 @@ public abstract class AlgorithmLineCompiler {
 
             ParameterData[] paramValues = new ParameterData[params.length];
             for (int i = 0; i < params.length; i++) {
-                paramValues[i] = CompilerUtils.parseParameterWithoutType(params[i], VALIDATOR, scopeMemory);
+                paramValues[i] = CompilerUtils.parseParameterWithoutType(params[i], CompilerUtils.getSession(scopeMemory).getValidator(), scopeMemory);
             }
 
             // Prüfung, ob ein Algorithmus mit diesem Namen bekannt ist.
             Signature algorithmCandidate = null;
             boolean candidateFound;
-            for (Signature signature : AlgorithmBuilder.ALGORITHM_SIGNATURES.getAlgorithmSignatures()) {
-                if (signature.getName().equals(algName.getValue()) && signature.getParameterTypes().length == params.length) {
+            for (Signature signature : CompilerUtils.getSession(scopeMemory).getAlgorithmSignatures().getAlgorithmSignaturesByName(algName.getValue())) {
+                if (signature.getParameterTypes().length == params.length) {
                     candidateFound = true;
                     for (int i = 0; i < params.length; i++) {
                         if (paramValues[i].getType() == IdentifierType.STRING) {
@@ -438,7 +461,7 @@ public abstract class AlgorithmLineCompiler {
         return true;
     }
 
-    private static List<AlgorithmCommand> parseVoidCommand(EditorCodeString line, AlgorithmMemory scopeMemory) throws AlgorithmCompileException, NotDesiredCommandException {
+    private static List<AlgorithmCommand> parseVoidCommand(EditorCodeString line, AlgorithmMemory scopeMemory) throws AlgorithmCompileException {
 
         // Falls Unteralgorithmenausrufe vorhanden sind, so müssen diese in separate Variablen ausgelagert werden.
         AlgorithmCommandReplacementData algorithmCommandReplacementList = decomposeAssignmentInvolvingAlgorithmCalls(line, scopeMemory);
@@ -453,18 +476,15 @@ public abstract class AlgorithmLineCompiler {
             algName = algParseData.getName().getValue();
             numberOfParameters = algParseData.getParameters().length;
         } catch (AlgorithmCompileException e) {
-            throw new NotDesiredCommandException();
+            // Die Zeile besitzt keine der zulässigen Befehlsstrukturen.
+            throw new AlgorithmCompileException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_COMMAND_COUND_NOT_BE_PARSED, line.getValue());
         }
 
         // Auf 1. vom Benutzer definierte Algorithmen und 2. auf Standardalgorithmen prüfen.
         boolean algorithmWithRequiredNameFound = false;
         boolean algorithmWithRequiredNameAndCorrectNumberOfParametersFound = false;
-        for (Signature sgn : AlgorithmBuilder.ALGORITHM_SIGNATURES.getAlgorithmSignatures()) {
-            if (sgn.getName().equals(algName)) {
-                algorithmWithRequiredNameFound = true;
-            } else {
-                continue;
-            }
+        for (Signature sgn : CompilerUtils.getSession(scopeMemory).getAlgorithmSignatures().getAlgorithmSignaturesByName(algName)) {
+            algorithmWithRequiredNameFound = true;
             if (sgn.getParameterTypes().length == numberOfParameters) {
                 algorithmWithRequiredNameAndCorrectNumberOfParametersFound = true;
                 try {
@@ -489,95 +509,11 @@ public abstract class AlgorithmLineCompiler {
         throw new AlgorithmCompileException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_NO_SUCH_COMMAND, algName);
     }
 
-    private static List<AlgorithmCommand> parseControlStructure(EditorCodeString line, AlgorithmMemory memory, Algorithm alg, boolean keywordsAllowed) throws AlgorithmCompileException, NotDesiredCommandException {
-        // If-Else-Block
-        try {
-            return parseIfElseControlStructure(line, memory, alg, keywordsAllowed);
-        } catch (ParseControlStructureException e) {
-            /*
-            Es ist zwar eine If-Else-Struktur mit korrekter Bedingung, aber der
-            innere Block kann nicht kompiliert werden.
-             */
-            throw e;
-        } catch (BooleanExpressionException e) {
-            // Es ist zwar eine If-Else-Struktur, aber die Bedingung kann nicht kompiliert werden.
-            throw new AlgorithmCompileException(line.getLineNumbers(), e);
-        } catch (NotDesiredCommandException e) {
-            // Keine If-Else-Struktur. Also weiter.
-        }
-
-        // For-Block
-        try {
-            return parseForControlStructure(line, memory, alg);
-        } catch (ParseControlStructureException e) {
-            /*
-            Es ist zwar eine While-Struktur mit korrekter Bedingung, aber der
-            innere Block kann nicht kompiliert werden.
-             */
-            throw e;
-        } catch (BooleanExpressionException e) {
-            // Es ist zwar eine While-Struktur, aber die Bedingung kann nicht kompiliert werden.
-            throw new AlgorithmCompileException(line.getLineNumbers(), e);
-        } catch (NotDesiredCommandException e) {
-            // Keine While-Struktur. Also weiter.
-        }
-
-        // While-Block
-        try {
-            return parseWhileControlStructure(line, memory, alg);
-        } catch (ParseControlStructureException e) {
-            /*
-            Es ist zwar eine While-Struktur mit korrekter Bedingung, aber der
-            innere Block kann nicht kompiliert werden.
-             */
-            throw e;
-        } catch (BooleanExpressionException e) {
-            // Es ist zwar eine While-Struktur, aber die Bedingung kann nicht kompiliert werden.
-            throw new AlgorithmCompileException(line.getLineNumbers(), e);
-        } catch (NotDesiredCommandException e) {
-            // Keine While-Struktur. Also weiter.
-        }
-
-        // Do-While-Block
-        try {
-            return parseDoWhileControlStructure(line, memory, alg);
-        } catch (ParseControlStructureException e) {
-            /*
-            Es ist zwar eine Do-While-Struktur mit korrekter Bedingung, aber der
-            innere Block kann nicht kompiliert werden.
-             */
-            throw e;
-        } catch (BooleanExpressionException e) {
-            // Es ist zwar eine While-Struktur, aber die Bedingung kann nicht kompiliert werden.
-            throw new AlgorithmCompileException(line.getLineNumbers(), e);
-        } catch (NotDesiredCommandException e) {
-            // Keine Do-While-Struktur. Also weiter.
-        }
-
-        throw new NotDesiredCommandException();
-    }
-
     private static List<AlgorithmCommand> parseIfElseControlStructure(EditorCodeString line, AlgorithmMemory memory, Algorithm alg, boolean keywordsAllowed)
-            throws AlgorithmCompileException, BooleanExpressionException, NotDesiredCommandException {
+            throws AlgorithmCompileException, BooleanExpressionException {
 
-        if (!line.startsWith(Keyword.IF.getValue() + ReservedChars.OPEN_BRACKET.getValue())) {
-            throw new NotDesiredCommandException();
-        }
-
-        int bracketCounter = 1;
-        int endOfBooleanCondition = -1;
-        for (int i = (Keyword.IF.getValue() + ReservedChars.OPEN_BRACKET.getValue()).length(); i < line.length(); i++) {
-            if (line.charAt(i) == ReservedChars.OPEN_BRACKET.getValue()) {
-                bracketCounter++;
-            } else if (line.charAt(i) == ReservedChars.CLOSE_BRACKET.getValue()) {
-                bracketCounter--;
-            }
-            if (bracketCounter == 0) {
-                endOfBooleanCondition = i;
-                break;
-            }
-        }
-        if (bracketCounter > 0) {
+        int endOfBooleanCondition = line.indexOfMatchingBracket(Keyword.IF.getValue().length());
+        if (endOfBooleanCondition < 0) {
             throw new ParseControlStructureException(line.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.CLOSE_BRACKET.getValue());
         }
 
@@ -589,36 +525,12 @@ public abstract class AlgorithmLineCompiler {
         List<AlgorithmCommand> commands = algorithmCommandReplacementList.getCommands();
         EditorCodeString booleanConditionReplaced = algorithmCommandReplacementList.getSubstitutedExpression();
 
-        condition = CompilerUtils.buildBooleanExpressionWithScopeMemory(booleanConditionReplaced, VALIDATOR, memory);
+        condition = CompilerUtils.buildBooleanExpressionWithScopeMemory(booleanConditionReplaced, CompilerUtils.getSession(memory).getValidator(), memory);
         CompilerUtils.checkIfAllIdentifiersAreDefined(booleanConditionString, condition.getContainedVars(), memory);
 
-        // Prüfung, ob line mit "if(boolsche Bedingung){ ..." beginnt.
-        if (!line.contains(ReservedChars.BEGIN.getStringValue())
-                || !line.contains(ReservedChars.END.getStringValue())
-                || line.indexOf(ReservedChars.BEGIN.getValue()) > endOfBooleanCondition + 1) {
-            EditorCodeString incorrectPartOfLine = line.substring(endOfBooleanCondition + 1);
-            throw new ParseControlStructureException(incorrectPartOfLine.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CONTROL_STRUCTURE_MUST_CONTAIN_BEGIN_AND_END,
-                    ReservedChars.BEGIN.getValue(), ReservedChars.END.getValue());
-        }
-
         // Block im If-Teil kompilieren.
-        bracketCounter = 0;
         int beginBlockPosition = line.indexOf(ReservedChars.BEGIN.getValue()) + 1;
-        int endBlockPosition = -1;
-        for (int i = line.indexOf(ReservedChars.BEGIN.getValue()); i < line.length(); i++) {
-            if (line.charAt(i) == ReservedChars.BEGIN.getValue()) {
-                bracketCounter++;
-            } else if (line.charAt(i) == ReservedChars.END.getValue()) {
-                bracketCounter--;
-            }
-            if (bracketCounter == 0) {
-                endBlockPosition = i;
-                break;
-            }
-        }
-        if (bracketCounter > 0) {
-            throw new ParseControlStructureException(line.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.END.getValue());
-        }
+        int endBlockPosition = getEndOfBlockAfterHead(line, endOfBooleanCondition);
 
         AlgorithmMemory memoryBeforeIfElsePart = memory.copyMemory();
 
@@ -641,21 +553,9 @@ public abstract class AlgorithmLineCompiler {
             throw new ParseControlStructureException(restLine.firstChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_EXPECTED, Keyword.ELSE.getValue() + ReservedChars.BEGIN.getStringValue());
         }
 
-        bracketCounter = 0;
         beginBlockPosition = restLine.indexOf(ReservedChars.BEGIN.getValue()) + 1;
-        endBlockPosition = -1;
-        for (int i = restLine.indexOf(ReservedChars.BEGIN.getValue()); i < restLine.length(); i++) {
-            if (restLine.charAt(i) == ReservedChars.BEGIN.getValue()) {
-                bracketCounter++;
-            } else if (restLine.charAt(i) == ReservedChars.END.getValue()) {
-                bracketCounter--;
-            }
-            if (bracketCounter == 0) {
-                endBlockPosition = i;
-                break;
-            }
-        }
-        if (bracketCounter > 0) {
+        endBlockPosition = restLine.indexOfMatchingBracket(beginBlockPosition - 1);
+        if (endBlockPosition < 0) {
             throw new ParseControlStructureException(restLine.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.END.getValue());
         }
         if (endBlockPosition != restLine.length() - 1) {
@@ -676,26 +576,10 @@ public abstract class AlgorithmLineCompiler {
     }
 
     private static List<AlgorithmCommand> parseWhileControlStructure(EditorCodeString line, AlgorithmMemory memory, Algorithm alg)
-            throws AlgorithmCompileException, BooleanExpressionException, NotDesiredCommandException {
+            throws AlgorithmCompileException, BooleanExpressionException {
 
-        if (!line.startsWith(Keyword.WHILE.getValue() + ReservedChars.OPEN_BRACKET.getValue())) {
-            throw new NotDesiredCommandException();
-        }
-
-        int bracketCounter = 1;
-        int endOfBooleanCondition = -1;
-        for (int i = (Keyword.WHILE.getValue() + ReservedChars.OPEN_BRACKET.getValue()).length(); i < line.length(); i++) {
-            if (line.charAt(i) == ReservedChars.OPEN_BRACKET.getValue()) {
-                bracketCounter++;
-            } else if (line.charAt(i) == ReservedChars.CLOSE_BRACKET.getValue()) {
-                bracketCounter--;
-            }
-            if (bracketCounter == 0) {
-                endOfBooleanCondition = i;
-                break;
-            }
-        }
-        if (bracketCounter > 0) {
+        int endOfBooleanCondition = line.indexOfMatchingBracket(Keyword.WHILE.getValue().length());
+        if (endOfBooleanCondition < 0) {
             throw new ParseControlStructureException(line.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.CLOSE_BRACKET.getValue());
         }
 
@@ -707,36 +591,12 @@ public abstract class AlgorithmLineCompiler {
         List<AlgorithmCommand> commands = algorithmCommandReplacementList.getCommands();
         EditorCodeString booleanConditionReplaced = algorithmCommandReplacementList.getSubstitutedExpression();
 
-        condition = CompilerUtils.buildBooleanExpressionWithScopeMemory(booleanConditionReplaced, VALIDATOR, memory);
+        condition = CompilerUtils.buildBooleanExpressionWithScopeMemory(booleanConditionReplaced, CompilerUtils.getSession(memory).getValidator(), memory);
         CompilerUtils.checkIfAllIdentifiersAreDefined(booleanConditionString, condition.getContainedVars(), memory);
 
-        // Prüfung, ob line mit "while(boolsche Bedingung){ ..." beginnt.
-        if (!line.contains(ReservedChars.BEGIN.getStringValue())
-                || !line.contains(ReservedChars.END.getStringValue())
-                || line.indexOf(ReservedChars.BEGIN.getValue()) > endOfBooleanCondition + 1) {
-            EditorCodeString incorrectPartOfLine = line.substring(endOfBooleanCondition + 1);
-            throw new ParseControlStructureException(incorrectPartOfLine.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CONTROL_STRUCTURE_MUST_CONTAIN_BEGIN_AND_END,
-                    ReservedChars.BEGIN.getValue(), ReservedChars.END.getValue());
-        }
-
         // Block im While-Teil kompilieren.
-        bracketCounter = 0;
         int beginBlockPosition = line.indexOf(ReservedChars.BEGIN.getValue()) + 1;
-        int endBlockPosition = -1;
-        for (int i = line.indexOf(ReservedChars.BEGIN.getValue()); i < line.length(); i++) {
-            if (line.charAt(i) == ReservedChars.BEGIN.getValue()) {
-                bracketCounter++;
-            } else if (line.charAt(i) == ReservedChars.END.getValue()) {
-                bracketCounter--;
-            }
-            if (bracketCounter == 0) {
-                endBlockPosition = i;
-                break;
-            }
-        }
-        if (bracketCounter > 0) {
-            throw new ParseControlStructureException(line.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.END.getValue());
-        }
+        int endBlockPosition = getEndOfBlockAfterHead(line, endOfBooleanCondition);
 
         AlgorithmMemory memoryBeforWhileLoop = memory.copyMemory();
 
@@ -755,28 +615,12 @@ public abstract class AlgorithmLineCompiler {
     }
 
     private static List<AlgorithmCommand> parseDoWhileControlStructure(EditorCodeString line, AlgorithmMemory memory, Algorithm alg)
-            throws AlgorithmCompileException, BooleanExpressionException, NotDesiredCommandException {
-
-        if (!line.startsWith(Keyword.DO.getValue() + ReservedChars.BEGIN.getValue())) {
-            throw new NotDesiredCommandException();
-        }
+            throws AlgorithmCompileException, BooleanExpressionException {
 
         // Block im Do-Teil kompilieren.
-        int bracketCounter = 1;
         int beginBlockPosition = line.indexOf(ReservedChars.BEGIN.getValue()) + 1;
-        int endBlockPosition = -1;
-        for (int i = beginBlockPosition; i < line.length(); i++) {
-            if (line.charAt(i) == ReservedChars.BEGIN.getValue()) {
-                bracketCounter++;
-            } else if (line.charAt(i) == ReservedChars.END.getValue()) {
-                bracketCounter--;
-            }
-            if (bracketCounter == 0) {
-                endBlockPosition = i;
-                break;
-            }
-        }
-        if (bracketCounter > 0) {
+        int endBlockPosition = line.indexOfMatchingBracket(beginBlockPosition - 1);
+        if (endBlockPosition < 0) {
             throw new ParseControlStructureException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.END.getValue());
         }
 
@@ -801,7 +645,7 @@ public abstract class AlgorithmLineCompiler {
         List<AlgorithmCommand> commands = algorithmCommandReplacementList.getCommands();
         EditorCodeString booleanConditionReplaced = algorithmCommandReplacementList.getSubstitutedExpression();
 
-        condition = CompilerUtils.buildBooleanExpressionWithScopeMemory(booleanConditionReplaced, VALIDATOR, memory);
+        condition = CompilerUtils.buildBooleanExpressionWithScopeMemory(booleanConditionReplaced, CompilerUtils.getSession(memory).getValidator(), memory);
         CompilerUtils.checkIfAllIdentifiersAreDefined(booleanConditionString, condition.getContainedVars(), memory);
 
         DoWhileControlStructure doWhileControlStructure = new DoWhileControlStructure(commandsDoPart, condition);
@@ -811,30 +655,18 @@ public abstract class AlgorithmLineCompiler {
     }
 
     private static List<AlgorithmCommand> parseForControlStructure(EditorCodeString line, AlgorithmMemory memory, Algorithm alg)
-            throws AlgorithmCompileException, BooleanExpressionException, NotDesiredCommandException {
+            throws AlgorithmCompileException, BooleanExpressionException {
 
-        if (!line.startsWith(Keyword.FOR.getValue() + ReservedChars.OPEN_BRACKET.getValue())) {
-            throw new NotDesiredCommandException();
-        }
+        // Eine parallele for-Schleife wird genauso wie eine gewöhnliche kompiliert und anschließend auf Unabhängigkeit der Durchläufe geprüft.
+        boolean parallel = line.startsWith(Keyword.PARALLELFOR.getValue() + ReservedChars.OPEN_BRACKET.getValue());
+        String forKeyword = parallel ? Keyword.PARALLELFOR.getValue() : Keyword.FOR.getValue();
 
-        int bracketCounter = 1;
-        int endOfForControlPart = -1;
-        for (int i = (Keyword.FOR.getValue() + ReservedChars.OPEN_BRACKET.getValue()).length(); i < line.length(); i++) {
-            if (line.charAt(i) == ReservedChars.OPEN_BRACKET.getValue()) {
-                bracketCounter++;
-            } else if (line.charAt(i) == ReservedChars.CLOSE_BRACKET.getValue()) {
-                bracketCounter--;
-            }
-            if (bracketCounter == 0) {
-                endOfForControlPart = i;
-                break;
-            }
-        }
-        if (bracketCounter > 0) {
+        int endOfForControlPart = line.indexOfMatchingBracket(forKeyword.length());
+        if (endOfForControlPart < 0) {
             throw new ParseControlStructureException(line.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.CLOSE_BRACKET.getValue());
         }
 
-        EditorCodeString forControlString = line.substring((Keyword.FOR.getValue() + ReservedChars.OPEN_BRACKET.getValue()).length(), endOfForControlPart);
+        EditorCodeString forControlString = line.substring((forKeyword + ReservedChars.OPEN_BRACKET.getValue()).length(), endOfForControlPart);
 
         AlgorithmMemory currentMemory = memory.copyMemory();
 
@@ -849,7 +681,15 @@ public abstract class AlgorithmLineCompiler {
             throw new ParseControlStructureException(forControlParts[forControlParts.length - 1].getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.CLOSE_BRACKET.getValue());
         }
 
-        List<AlgorithmCommand> initialization = parseAssignValueCommand(forControlParts[0], currentMemory);
+        /*
+        Ohne Zuweisungen im ersten und dritten Teil ist die Zeile keine for-Struktur 
+        und wird (wie jede andere nicht erkannte Zeile) als Algorithmenaufruf kompiliert.
+         */
+        int defineCharPositionInitialization = getPositionOfDefineCharIfIsAssignValueCommandIfValid(forControlParts[0]);
+        if (defineCharPositionInitialization < 0) {
+            return parseVoidCommand(line, memory);
+        }
+        List<AlgorithmCommand> initialization = parseAssignValueCommand(forControlParts[0], defineCharPositionInitialization, currentMemory);
 
         // Die boolsche Bedingung kann wieder Algorithmenaufrufe enthalten. Daher muss sie in "elementare" Teile zerlegt werden.
         BooleanExpression endLoopCondition;
@@ -857,44 +697,27 @@ public abstract class AlgorithmLineCompiler {
         List<AlgorithmCommand> commandsEndLoopCondition = algorithmCommandReplacementList.getCommands();
         EditorCodeString booleanConditionReplaced = algorithmCommandReplacementList.getSubstitutedExpression();
 
-        endLoopCondition = CompilerUtils.buildBooleanExpressionWithScopeMemory(booleanConditionReplaced, VALIDATOR, currentMemory);
+        endLoopCondition = CompilerUtils.buildBooleanExpressionWithScopeMemory(booleanConditionReplaced, CompilerUtils.getSession(currentMemory).getValidator(), currentMemory);
         CompilerUtils.checkIfAllIdentifiersAreDefined(forControlParts[1], endLoopCondition.getContainedVars(), currentMemory);
 
         AlgorithmMemory memoryBeforeLoop = currentMemory.copyMemory();
 
-        List<AlgorithmCommand> loopAssignment = parseAssignValueCommand(forControlParts[2], currentMemory);
+        int defineCharPositionLoopAssignment = getPositionOfDefineCharIfIsAssignValueCommandIfValid(forControlParts[2]);
+        if (defineCharPositionLoopAssignment < 0) {
+            return parseVoidCommand(line, memory);
+        }
+        List<AlgorithmCommand> loopAssignment = parseAssignValueCommand(forControlParts[2], defineCharPositionLoopAssignment, currentMemory);
         // Prüfung, ob bei loopAssignment keine weiteren Bezeichner hinzukamen, außer den Technischen.
         checkIfNewIdentifierOccur(forControlParts[2], memoryBeforeLoop, currentMemory);
 
-        // Prüfung, ob line mit "for(a,b,c){ ..." beginnt.
-        if (!line.contains(ReservedChars.BEGIN.getStringValue())
-                || !line.contains(ReservedChars.END.getStringValue())
-                || line.indexOf(ReservedChars.BEGIN.getValue()) > endOfForControlPart + 1) {
-            EditorCodeString incorrectPartOfLine = line.substring(endOfForControlPart + 1);
-            throw new ParseControlStructureException(incorrectPartOfLine.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CONTROL_STRUCTURE_MUST_CONTAIN_BEGIN_AND_END,
-                    ReservedChars.BEGIN.getValue(), ReservedChars.END.getValue());
-        }
-
         // Block im For-Teil kompilieren.
-        bracketCounter = 0;
         int beginBlockPosition = line.indexOf(ReservedChars.BEGIN.getValue()) + 1;
-        int endBlockPosition = -1;
-        for (int i = line.indexOf(ReservedChars.BEGIN.getValue()); i < line.length(); i++) {
-            if (line.charAt(i) == ReservedChars.BEGIN.getValue()) {
-                bracketCounter++;
-            } else if (line.charAt(i) == ReservedChars.END.getValue()) {
-                bracketCounter--;
-            }
-            if (bracketCounter == 0) {
-                endBlockPosition = i;
-                break;
-            }
-        }
-        if (bracketCounter > 0) {
-            throw new ParseControlStructureException(line.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.END.getValue());
-        }
+        int endBlockPosition = getEndOfBlockAfterHead(line, endOfForControlPart);
         List<AlgorithmCommand> commandsForPart = parseConnectedBlockWithKeywords(line.substring(beginBlockPosition, endBlockPosition), currentMemory, alg);
-        ForControlStructure forControlStructure = new ForControlStructure(commandsForPart, initialization, commandsEndLoopCondition, endLoopCondition, loopAssignment);
+        ForControlStructure forControlStructure = new ForControlStructure(commandsForPart, initialization, commandsEndLoopCondition, endLoopCondition, loopAssignment, parallel);
+        if (parallel) {
+            forControlStructure.setReductionIdentifiers(CompilerUtils.getReductionIdentifiersOfParallelForLoop(line.substring(0, endOfForControlPart + 1), forControlStructure, memory));
+        }
 
         // Lokale Variable aus dem Speicher memory wieder herausnehmen.
         // '}' muss als letztes Zeichen stehen, sonst ist die Struktur nicht korrekt.
@@ -906,6 +729,28 @@ public abstract class AlgorithmLineCompiler {
         throw new ParseControlStructureException(incorrectRestLine.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CANNOT_FIND_SYMBOL, incorrectRestLine.getValue());
     }
 
+    /**
+     * Gibt die Stelle der schließenden Klammer '}' des Blocks zurück, welcher in
+     * line direkt hinter dem Kopf einer Kontrollstruktur (dieser endet an der
+     * Stelle endOfHead) beginnt.
+     *
+     * @throws ParseControlStructureException
+     */
+    private static int getEndOfBlockAfterHead(EditorCodeString line, int endOfHead) throws ParseControlStructureException {
+        // Prüfung, ob line mit "kopf{ ..." beginnt.
+        int beginBlockPosition = line.indexOf(ReservedChars.BEGIN.getValue());
+        int endBlockPosition = beginBlockPosition < 0 || beginBlockPosition > endOfHead + 1 ? -1 : line.indexOfMatchingBracket(beginBlockPosition);
+        if (endBlockPosition < 0) {
+            if (beginBlockPosition < 0 || beginBlockPosition > endOfHead + 1 || !line.contains(ReservedChars.END.getStringValue())) {
+                EditorCodeString incorrectPartOfLine = line.substring(endOfHead + 1);
+                throw new ParseControlStructureException(incorrectPartOfLine.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CONTROL_STRUCTURE_MUST_CONTAIN_BEGIN_AND_END,
+                        ReservedChars.BEGIN.getValue(), ReservedChars.END.getValue());
+            }
+            throw new ParseControlStructureException(line.lastChar().getLineNumbers(), AlgorithmCompileExceptionIds.AC_BRACKET_EXPECTED, ReservedChars.END.getValue());
+        }
+        return endBlockPosition;
+    }
+
     private static void checkIfNewIdentifierOccur(EditorCodeString loopAssignment, AlgorithmMemory memoryBeforeLoop, AlgorithmMemory currentMemory) throws ParseControlStructureException {
         for (String identifierName : currentMemory.keySet()) {
             if (!memoryBeforeLoop.containsKey(identifierName) && !CompilerUtils.isTechnicalIdentifierName(identifierName)) {
@@ -914,70 +759,63 @@ public abstract class AlgorithmLineCompiler {
         }
     }
 
-    private static List<AlgorithmCommand> parseKeywordCommand(EditorCodeString line, boolean keywordsAllowed) throws AlgorithmCompileException, NotDesiredCommandException {
-        if (line.getValue().equals(Keyword.BREAK.toString())) {
-            if (keywordsAllowed) {
-                return Collections.singletonList(new KeywordCommand(Keyword.BREAK));
-            }
-            throw new ParseKeywordException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_KEYWORD_NOT_ALLOWED_HERE, Keyword.BREAK);
-        }
-        if (line.getValue().equals(Keyword.CONTINUE.toString())) {
-            if (keywordsAllowed) {
-                return Collections.singletonList(new KeywordCommand(Keyword.CONTINUE));
-            }
-            throw new ParseKeywordException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_KEYWORD_NOT_ALLOWED_HERE, Keyword.CONTINUE);
+    private static List<AlgorithmCommand> parseKeywordCommand(EditorCodeString line, Keyword keyword, boolean keywordsAllowed) throws AlgorithmCompileException {
+        if (keywordsAllowed) {
+            return Collections.singletonList(new KeywordCommand(keyword));
         }
-        throw new NotDesiredCommandException();
+        throw new ParseKeywordException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_KEYWORD_NOT_ALLOWED_HERE, keyword);
     }
 
-    private static List<AlgorithmCommand> parseReturnCommand(EditorCodeString line, AlgorithmMemory scopeMemory, Algorithm alg) throws AlgorithmCompileException, NotDesiredCommandException {
-        if (line.startsWith(Keyword.RETURN.getValue())) {
-            if (line.getValue().equals(Keyword.RETURN.getValue())) {
-                if (alg.getReturnType() != null) {
-                    throw new ParseReturnException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_MISSING_RETURN_VALUE);
-                }
-                return Collections.singletonList((AlgorithmCommand) new ReturnCommand(Identifier.NULL_IDENTIFIER));
+    private static List<AlgorithmCommand> parseReturnCommand(EditorCodeString line, AlgorithmMemory scopeMemory, Algorithm alg) throws AlgorithmCompileException {
+        if (line.getValue().equals(Keyword.RETURN.getValue())) {
+            if (alg.getReturnType() != null) {
+                throw new ParseReturnException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_MISSING_RETURN_VALUE);
             }
-            EditorCodeString returnValueCandidate = line.substring((Keyword.RETURN.getValue() + " ").length());
+            return Collections.singletonList((AlgorithmCommand) new ReturnCommand(Identifier.NULL_IDENTIFIER));
+        }
+        EditorCodeString returnValueCandidate = line.substring((Keyword.RETURN.getValue() + " ").length());
 
-            // Void-Algorithmen dürfen nichts zurückgeben.
-            if (alg.getReturnType() == null) {
-                throw new ParseReturnException(returnValueCandidate.getLineNumbers(), AlgorithmCompileExceptionIds.AC_RETURN_VALUE_IN_VOID_ALGORITHM_NOT_ALLOWED);
-            }
+        // Void-Algorithmen dürfen nichts zurückgeben.
+        if (alg.getReturnType() == null) {
+            throw new ParseReturnException(returnValueCandidate.getLineNumbers(), AlgorithmCompileExceptionIds.AC_RETURN_VALUE_IN_VOID_ALGORITHM_NOT_ALLOWED);
+        }
 
-            // Klammern links und rechts um den Rückgabewert entfernen.
-            while (returnValueCandidate.startsWith(ReservedChars.OPEN_BRACKET.getStringValue()) && returnValueCandidate.endsWith(ReservedChars.CLOSE_BRACKET.getStringValue())) {
-                returnValueCandidate = returnValueCandidate.substring(1, returnValueCandidate.length() - 1);
-            }
+        // Klammern links und rechts um den Rückgabewert entfernen.
+        while (returnValueCandidate.startsWith(ReservedChars.OPEN_BRACKET.getStringValue()) && returnValueCandidate.endsWith(ReservedChars.CLOSE_BRACKET.getStringValue())) {
+            returnValueCandidate = returnValueCandidate.substring(1, returnValueCandidate.length() - 1);
+        }
 
-            if (scopeMemory.get(returnValueCandidate.getValue()) == null) {
+        if (scopeMemory.get(returnValueCandidate.getValue()) == null) {
 
-                AlgorithmCommandReplacementData algorithmCommandReplacementList = decomposeAssignmentInvolvingAlgorithmCalls(returnValueCandidate, scopeMemory);
-                List<AlgorithmCommand> commands = algorithmCommandReplacementList.getCommands();
-                EditorCodeString returnValueReplaced = algorithmCommandReplacementList.getSubstitutedExpression();
+            AlgorithmCommandReplacementData algorithmCommandReplacementList = decomposeAssignmentInvolvingAlgorithmCalls(returnValueCandidate, scopeMemory);
+            List<AlgorithmCommand> commands = algorithmCommandReplacementList.getCommands();
+            EditorCodeString returnValueReplaced = algorithmCommandReplacementList.getSubstitutedExpression();
 
-                if (scopeMemory.get(returnValueReplaced.getValue()) != null) {
-                    return Collections.singletonList((AlgorithmCommand) new ReturnCommand(scopeMemory.get(returnValueCandidate.getValue())));
-                }
-                if (VALIDATOR.isValidKnownIdentifier(returnValueReplaced.getValue(), alg.getReturnType().getClassOf(), CompilerUtils.extractClassesOfAbstractExpressionIdentifiersFromMemory(scopeMemory))) {
-                    throw new ParseReturnException(returnValueCandidate.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CANNOT_FIND_SYMBOL, returnValueCandidate.getValue());
-                }
-                String genVarForReturn = CompilerUtils.generateTechnicalIdentifierName(scopeMemory);
-                EditorCodeString assignValueCommand = EditorCodeString.createEditorCodeStringWithGivenLineNumber(alg.getReturnType().toString() + " " + genVarForReturn + "=" + returnValueReplaced.getValue(),
-                        line.getLineNumbers()[0]);
-                List<AlgorithmCommand> additionalCommandsByAssignment = parseAssignValueCommand(assignValueCommand, scopeMemory);
-                commands.addAll(additionalCommandsByAssignment);
-                commands.add(new ReturnCommand(Identifier.createIdentifier(scopeMemory, genVarForReturn, alg.getReturnType())));
-                return commands;
-            } else {
-                IdentifierType type = scopeMemory.get(returnValueCandidate.getValue()).getType();
-                if (!alg.getReturnType().isSameOrSuperTypeOf(type)) {
-                    throw new ParseReturnException(returnValueCandidate.getLineNumbers(), AlgorithmCompileExceptionIds.AC_INCOMPATIBLE_TYPES, type, alg.getReturnType());
-                }
-                return Collections.singletonList((AlgorithmCommand) new ReturnCommand(Identifier.createIdentifier(scopeMemory, returnValueCandidate.getValue(), alg.getReturnType())));
+            if (scopeMemory.get(returnValueReplaced.getValue()) != null) {
+                return Collections.singletonList((AlgorithmCommand) new ReturnCommand(scopeMemory.get(returnValueCandidate.getValue())));
+            }
+            if (CompilerUtils.getSession(scopeMemory).getValidator().isValidKnownIdentifier(returnValueReplaced.getValue(), alg.getReturnType().getClassOf(), CompilerUtils.extractClassesOfAbstractExpressionIdentifiersFromMemory(scopeMemory))) {
+                throw new ParseReturnException(returnValueCandidate.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CANNOT_FIND_SYMBOL, returnValueCandidate.getValue());
+            }
+            String genVarForReturn = CompilerUtils.generateTechnicalIdentifierName(scopeMemory);
+            EditorCodeString assignValueCommand = EditorCodeString.createEditorCodeStringWithGivenLineNumber(alg.getReturnType().toString() + " " + genVarForReturn + "=" + returnValueReplaced.getValue(),
+                    line.getLineNumbers()[0]);
+            int defineCharPosition = getPositionOfDefineCharIfIsAssignValueCommandIfValid(assignValueCommand);
+            if (defineCharPosition < 0) {
+                // Der Rückgabewert beginnt mit einem Vergleichsoperator. Die Zeile wird dann als Algorithmenaufruf kompiliert.
+                return parseVoidCommand(line, scopeMemory);
+            }
+            List<AlgorithmCommand> additionalCommandsByAssignment = parseAssignValueCommand(assignValueCommand, defineCharPosition, scopeMemory);
+            commands.addAll(additionalCommandsByAssignment);
+            commands.add(new ReturnCommand(Identifier.createIdentifier(scopeMemory, genVarForReturn, alg.getReturnType())));
+            return commands;
+        } else {
+            IdentifierType type = scopeMemory.get(returnValueCandidate.getValue()).getType();
+            if (!alg.getReturnType().isSameOrSuperTypeOf(type)) {
+                throw new ParseReturnException(returnValueCandidate.getLineNumbers(), AlgorithmCompileExceptionIds.AC_INCOMPATIBLE_TYPES, type, alg.getReturnType());
             }
+            return Collections.singletonList((AlgorithmCommand) new ReturnCommand(Identifier.createIdentifier(scopeMemory, returnValueCandidate.getValue(), alg.getReturnType())));
         }
-        throw new NotDesiredCommandException();
     }
 
     public static List<AlgorithmCommand> parseConnectedBlockWithKeywords(EditorCodeString input, AlgorithmMemory memory, Algorithm alg) throws AlgorithmCompileException {
@@ -1015,6 +853,20 @@ public abstract class AlgorithmLineCompiler {
         int beginBlockPosition = 0;
         int endBlockPosition = -1;
         for (int i = 0; i < input.length(); i++) {
+            if (wavedBracketCounter == 0 && input.charAt(i) == ReservedChars.BEGIN.getValue()) {
+                /*
+                Ein vollständiger innerer Block enthält keine Zeilentrenner dieses Blocks. 
+                Er wird daher übersprungen (und erst beim Kompilieren der ihn enthaltenden 
+                Zeile gelesen), wobei nur die Bilanzen der anderen Klammerarten übernommen werden.
+                 */
+                int endOfInnerBlock = input.indexOfMatchingBracket(i);
+                if (endOfInnerBlock >= 0) {
+                    bracketCounter += input.getBracketBalance(ReservedChars.OPEN_BRACKET.getValue(), i, endOfInnerBlock + 1);
+                    squareBracketCounter += input.getBracketBalance(ReservedChars.OPEN_SQUARE_BRACKET.getValue(), i, endOfInnerBlock + 1);
+                    i = endOfInnerBlock;
+                    continue;
+                }
+            }
             if (input.charAt(i) == ReservedChars.BEGIN.getValue()) {
                 wavedBracketCounter++;
             } else if (input.charAt(i) == ReservedChars.END.getValue()) {
@@ -1055,10 +907,12 @@ public abstract class AlgorithmLineCompiler {
         for (int i = 0; i < lines.length; i++) {
             if (!lines[i].isEmpty()) {
                 parsedLine = parseLine(lines[i], memoryInsideBlock, alg, keywordsAllowed);
+                int numberOfCommandsBeforeLine = commands.size();
                 commands.addAll(parsedLine);
                 // Nach dem Kompilieren jeder Kommandozeile Plausibilitätschecks durchführen.
                 // Prüfung, ob es bei (beliebigen) Algorithmen keinen Code hinter einem Return gibt.
-                CompilerUtils.checkForUnreachableCodeInBlock(lines[i], commands, alg);
+                // Die früheren Befehle (bis auf den letzten) wurden dabei bereits geprüft.
+                CompilerUtils.checkForUnreachableCodeInBlock(lines[i], commands, Math.max(numberOfCommandsBeforeLine - 1, 0), alg);
             }
         }
         return commands;
@@ -1075,7 +929,7 @@ public abstract class AlgorithmLineCompiler {
         int endingAlgCall;
         do {
             algorithmCallFound = false;
-            for (Signature signature : AlgorithmBuilder.ALGORITHM_SIGNATURES.getAlgorithmSignatures()) {
+            for (Signature signature : CompilerUtils.getSession(memory).getAlgorithmSignatures().getAlgorithmSignatures()) {
                 if (!inputWithGeneratedVars.contains(signature.getName())) {
                     continue;
                 }
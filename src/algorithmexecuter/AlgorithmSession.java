@@ -0,0 +1,203 @@
+package algorithmexecuter;
+
+import abstractexpressions.interfaces.IdentifierValidator;
+import algorithmexecuter.enums.EvictionPolicy;
+import algorithmexecuter.model.Algorithm;
+import algorithmexecuter.model.AlgorithmSignatureStorage;
+import algorithmexecuter.model.AlgorithmStorage;
+import algorithmexecuter.model.utilclasses.EditorCodeString;
+import algorithmexecuter.output.AlgorithmOutputPrinter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sitzung, in welcher ein Algorithmenfile kompiliert und ausgeführt wird. Eine
+ * Sitzung besitzt eigene Speicher für Algorithmen, Signaturen und Quellcodes,
+ * einen eigenen Validator sowie einen eigenen Ausgabedrucker. Verschiedene
+ * Sitzungen können daher parallel (in verschiedenen Threads) verwendet werden.
+ * Eine einzelne Sitzung ist dagegen nicht threadsicher.
+ */
+public class AlgorithmSession {
+
+    private final IdentifierValidator validator = new IdentifierValidatorImpl();
+
+    private final AlgorithmStorage algorithms = new AlgorithmStorage();
+
+    private final AlgorithmSignatureStorage algorithmSignatures = new AlgorithmSignatureStorage();
+
+    private final List<EditorCodeString> algorithmCodes = new ArrayList<>();
+
+    private final CompiledAlgorithmCache compiledAlgorithmCache = new CompiledAlgorithmCache();
+
+    private final AlgorithmOutputPrinter printer;
+
+    /**
+     * Cache für die Ergebnisse von simplify() (null, falls nicht aktiviert).
+     */
+    private volatile SimplifyCache simplifyCache;
+
+    public static final int DEFAULT_MEMO_TABLE_CAPACITY = 256;
+
+    /**
+     * Kapazität und Verdrängungsstrategie der Ergebnistabellen
+     * seiteneffektfreier Algorithmen. Diese werden beim Kompilieren angelegt,
+     * Änderungen wirken sich daher erst beim nächsten Kompilieren aus. Bei
+     * Kapazität 0 werden keine Ergebnisse gespeichert.
+     */
+    private int memoTableCapacity = DEFAULT_MEMO_TABLE_CAPACITY;
+    private EvictionPolicy memoEvictionPolicy = EvictionPolicy.LRU;
+
+    /**
+     * Pool, auf welchem die Durchläufe paralleler for-Schleifen ausgeführt
+     * werden.
+     */
+    private volatile ForkJoinPool parallelForPool = ForkJoinPool.commonPool();
+
+    /**
+     * Gemeinsamer Pool aller Sitzungen für das parallele Kompilieren. Dieser
+     * ist vom Pool für parallele for-Schleifen getrennt, damit Kompilierungen
+     * nicht mit laufenden Ausführungen um dessen Threads konkurrieren.
+     */
+    private static final ForkJoinPool DEFAULT_COMPILE_POOL = new ForkJoinPool();
+
+    /**
+     * Pool, auf welchem die Algorithmen eines Files parallel kompiliert
+     * werden.
+     */
+    private volatile ForkJoinPool compilePool = DEFAULT_COMPILE_POOL;
+
+    /**
+     * Gemeinsamer Pool aller Sitzungen für Stapelausführungen von
+     * PreparedProgram. Dieser ist vom Pool für parallele for-Schleifen
+     * getrennt, da die Ausführungen in seinen Threads auf die Durchläufe
+     * paralleler for-Schleifen warten.
+     */
+    private static final ForkJoinPool DEFAULT_BATCH_POOL = new ForkJoinPool();
+
+    /**
+     * Pool, auf welchem PreparedProgram.executeBatch() die Argumenttupel
+     * abarbeitet.
+     */
+    private volatile ForkJoinPool batchPool = DEFAULT_BATCH_POOL;
+
+    /**
+     * Erzeugt eine Sitzung, deren Ausgaben an die globale Instanz von
+     * AlgorithmOutputPrinter gehen.
+     */
+    public AlgorithmSession() {
+        this(null);
+    }
+
+    public AlgorithmSession(AlgorithmOutputPrinter printer) {
+        this.printer = printer;
+    }
+
+    public IdentifierValidator getValidator() {
+        return this.validator;
+    }
+
+    public AlgorithmStorage getAlgorithms() {
+        return this.algorithms;
+    }
+
+    public AlgorithmSignatureStorage getAlgorithmSignatures() {
+        return this.algorithmSignatures;
+    }
+
+    public List<EditorCodeString> getAlgorithmCodes() {
+        return this.algorithmCodes;
+    }
+
+    /**
+     * Gibt den Cache der kompilierten Algorithmen zurück, mit welchem beim
+     * erneuten Kompilieren nur geänderte Algorithmen neu kompiliert werden.
+     */
+    public CompiledAlgorithmCache getCompiledAlgorithmCache() {
+        return this.compiledAlgorithmCache;
+    }
+
+    public AlgorithmOutputPrinter getPrinter() {
+        if (this.printer == null) {
+            return AlgorithmOutputPrinter.getInstance();
+        }
+        return this.printer;
+    }
+
+    public SimplifyCache getSimplifyCache() {
+        return this.simplifyCache;
+    }
+
+    /**
+     * Aktiviert den Cache simplifyCache für alle in dieser Sitzung ausgeführten
+     * Vereinfachungen. Mit null wird der Cache wieder deaktiviert.
+     */
+    public void setSimplifyCache(SimplifyCache simplifyCache) {
+        this.simplifyCache = simplifyCache;
+    }
+
+    public int getMemoTableCapacity() {
+        return this.memoTableCapacity;
+    }
+
+    public void setMemoTableCapacity(int memoTableCapacity) {
+        this.memoTableCapacity = memoTableCapacity;
+    }
+
+    public EvictionPolicy getMemoEvictionPolicy() {
+        return this.memoEvictionPolicy;
+    }
+
+    public void setMemoEvictionPolicy(EvictionPolicy memoEvictionPolicy) {
+        this.memoEvictionPolicy = memoEvictionPolicy;
+    }
+
+    public ForkJoinPool getParallelForPool() {
+        return this.parallelForPool;
+    }
+
+    public void setParallelForPool(ForkJoinPool parallelForPool) {
+        this.parallelForPool = parallelForPool;
+    }
+
+    public ForkJoinPool getCompilePool() {
+        return this.compilePool;
+    }
+
+    public void setCompilePool(ForkJoinPool compilePool) {
+        this.compilePool = compilePool;
+    }
+
+    public ForkJoinPool getBatchPool() {
+        return this.batchPool;
+    }
+
+    public void setBatchPool(ForkJoinPool batchPool) {
+        this.batchPool = batchPool;
+    }
+
+    /**
+     * Setzt alle Speicher der Sitzung zurück. Danach sind nur noch die
+     * Standardalgorithmen bekannt.
+     */
+    public void initStorages() {
+        this.algorithms.clearAlgorithmStorage();
+        this.algorithmSignatures.clearAlgorithmSignatureStorage();
+        for (Algorithm alg : AlgorithmBuilder.FIXED_ALGORITHMS) {
+            this.algorithms.add(alg);
+            this.algorithmSignatures.add(alg.getSignature());
+        }
+        this.algorithmCodes.clear();
+    }
+
+    /**
+     * Entfernt die Standardalgorithmen aus den Speichern der Sitzung.
+     */
+    public void removeStandardAlgorithmsFromStorage() {
+        for (Algorithm alg : AlgorithmBuilder.FIXED_ALGORITHMS) {
+            this.algorithms.remove(alg);
+            this.algorithmSignatures.remove(alg.getSignature());
+        }
+    }
+
+}
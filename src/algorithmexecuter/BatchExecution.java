@@ -0,0 +1,100 @@
+package algorithmexecuter;
+
+import algorithmexecuter.exceptions.AlgorithmExecutionException;
+import algorithmexecuter.model.identifier.Identifier;
+import exceptions.EvaluationException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Ausführung eines Algorithmus eines PreparedProgram für eine Folge von
+ * Argumenttupeln. Die Tupel werden erst beim Abrufen der Ergebnisse gelesen
+ * und auf executor verteilt, wobei höchstens maxPendingResults Ergebnisse
+ * gleichzeitig ausstehen bzw. gepuffert werden. Die Ergebnisse werden in der
+ * Reihenfolge der Tupel geliefert. Schlägt eine Ausführung fehl, so wirft
+ * next() an der entsprechenden Stelle eine CompletionException mit dem Fehler
+ * als Ursache. Mit close() werden alle ausstehenden Ausführungen abgebrochen
+ * und keine weiteren Tupel mehr gelesen. Der Iterator selbst ist nicht
+ * threadsicher.
+ */
+public final class BatchExecution implements Iterator<Identifier>, AutoCloseable {
+
+    private final PreparedProgram program;
+    private final String entryName;
+    private final Iterator<Object[]> argumentTuples;
+    private final Executor executor;
+    private final int maxPendingResults;
+
+    private final ArrayDeque<CompletableFuture<Identifier>> pendingResults = new ArrayDeque<>();
+    /**
+     * Steuerungen der ausstehenden Ausführungen, in derselben Reihenfolge wie
+     * pendingResults.
+     */
+    private final ArrayDeque<ExecutionControl> pendingControls = new ArrayDeque<>();
+
+    private boolean closed = false;
+
+    BatchExecution(PreparedProgram program, String entryName, Iterator<Object[]> argumentTuples, Executor executor, int maxPendingResults) {
+        if (maxPendingResults <= 0) {
+            throw new IllegalArgumentException("maxPendingResults must be positive: " + maxPendingResults);
+        }
+        this.program = program;
+        this.entryName = entryName;
+        this.argumentTuples = argumentTuples;
+        this.executor = executor;
+        this.maxPendingResults = maxPendingResults;
+    }
+
+    @Override
+    public boolean hasNext() {
+        submitPendingTuples();
+        return !this.pendingResults.isEmpty();
+    }
+
+    @Override
+    public Identifier next() {
+        submitPendingTuples();
+        if (this.pendingResults.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        this.pendingControls.poll();
+        return this.pendingResults.poll().join();
+    }
+
+    /**
+     * Bricht alle ausstehenden Ausführungen ab. Bereits laufende Ausführungen
+     * werden über ihre ExecutionControl beim nächsten Prüfpunkt beendet.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        for (ExecutionControl control : this.pendingControls) {
+            control.cancel();
+        }
+        for (CompletableFuture<Identifier> result : this.pendingResults) {
+            result.cancel(false);
+        }
+        this.pendingControls.clear();
+        this.pendingResults.clear();
+    }
+
+    private void submitPendingTuples() {
+        while (!this.closed && this.pendingResults.size() < this.maxPendingResults && this.argumentTuples.hasNext()) {
+            Object[] arguments = this.argumentTuples.next();
+            ExecutionControl control = new ExecutionControl();
+            this.pendingControls.add(control);
+            this.pendingResults.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return this.program.execute(control, this.entryName, arguments);
+                } catch (AlgorithmExecutionException | EvaluationException e) {
+                    throw new CompletionException(e);
+                }
+            }, this.executor));
+        }
+    }
+
+}
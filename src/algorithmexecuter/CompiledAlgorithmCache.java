@@ -0,0 +1,134 @@
+package algorithmexecuter;
+
+import algorithmexecuter.model.Algorithm;
+import algorithmexecuter.model.AlgorithmSignatureStorage;
+import algorithmexecuter.model.Signature;
+import algorithmexecuter.model.utilclasses.EditorCodeString;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache für die kompilierten Algorithmen einer Sitzung. Als Schlüssel dient
+ * der (vorformatierte) Quellcode eines Algorithmus ohne Zeilennummern: Diese
+ * werden nur für Compilerfehler benötigt, und im Cache liegen nur fehlerfrei
+ * kompilierte Algorithmen. Ein verschobener, ansonsten unveränderter
+ * Algorithmus wird daher ebenfalls wiederverwendet.<br>
+ * Ein kompilierter Algorithmus hängt neben seinem Quellcode nur von den
+ * Signaturen der aufgerufenen Algorithmen ab. Deren Namen werden beim
+ * Verlinken ermittelt und samt der zugehörigen, vom Benutzer definierten
+ * Signaturen zu jedem Eintrag gespeichert. Ein Eintrag wird nur verwendet, wenn
+ * diese Signaturen unverändert sind. Dabei wird stets eine unverlinkte Kopie
+ * des gespeicherten Algorithmus zurückgegeben, so dass das Verlinken keine
+ * Algorithmen verändert, welche noch (etwa von einem PreparedProgram)
+ * ausgeführt werden. Nach jedem erfolgreichen Kompilieren bleiben nur die
+ * Einträge des zuletzt kompilierten Files erhalten. Wie die Sitzung ist der
+ * Cache nicht threadsicher.
+ */
+public class CompiledAlgorithmCache {
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Set<String> usedKeys = new HashSet<>();
+
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Gibt eine Kopie des kompilierten Algorithmus zum Quellcode algCode
+     * zurück, falls dieser unter denselben Signaturen kompiliert wurde,
+     * ansonsten null.
+     */
+    Algorithm get(EditorCodeString algCode, AlgorithmSignatureStorage signatures) {
+        String key = algCode.getValue();
+        this.usedKeys.add(key);
+        Entry entry = this.entries.get(key);
+        if (entry != null && entry.calledSignatures != null && entry.calledSignatures.equals(getCalledSignatures(entry.calledSignatures.keySet(), signatures))) {
+            this.hits++;
+            return entry.algorithm.copy();
+        }
+        this.misses++;
+        return null;
+    }
+
+    void put(EditorCodeString algCode, Algorithm alg) {
+        this.entries.put(algCode.getValue(), new Entry(alg));
+    }
+
+    /**
+     * Vermerkt die Namen calledAlgorithmNames der beim Verlinken gefundenen
+     * Aufrufe als Abhängigkeiten des Eintrags zum Quellcode algCode. Erst
+     * danach kann der Eintrag verwendet werden.
+     */
+    void putCalledAlgorithmNames(EditorCodeString algCode, Set<String> calledAlgorithmNames, AlgorithmSignatureStorage signatures) {
+        Entry entry = this.entries.get(algCode.getValue());
+        if (entry != null && entry.calledSignatures == null) {
+            entry.calledSignatures = getCalledSignatures(calledAlgorithmNames, signatures);
+        }
+    }
+
+    /**
+     * Entfernt alle Einträge, welche seit dem letzten Aufruf nicht verwendet
+     * wurden.
+     */
+    void retainUsedEntries() {
+        this.entries.keySet().retainAll(this.usedKeys);
+        this.usedKeys.clear();
+    }
+
+    public void clear() {
+        this.entries.clear();
+        this.usedKeys.clear();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Gibt zu jedem Namen aus names die vom Benutzer definierten Signaturen
+     * dieses Namens in der Reihenfolge ihres Hinzufügens zurück. Die
+     * Signaturen der Standardalgorithmen ändern sich nie und werden daher
+     * ausgelassen (diese befinden sich nur während des Kompilierens im
+     * Speicher).
+     */
+    private static Map<String, List<Signature>> getCalledSignatures(Set<String> names, AlgorithmSignatureStorage signatures) {
+        Map<String, List<Signature>> calledSignatures = new HashMap<>();
+        for (String name : names) {
+            List<Signature> signaturesWithName = new ArrayList<>();
+            for (Signature signature : signatures.getAlgorithmSignaturesByName(name)) {
+                if (!AlgorithmBuilder.isFixedAlgorithmSignature(signature)) {
+                    signaturesWithName.add(signature);
+                }
+            }
+            calledSignatures.put(name, signaturesWithName);
+        }
+        return calledSignatures;
+    }
+
+    private static final class Entry {
+
+        private final Algorithm algorithm;
+        /**
+         * Signaturen der aufgerufenen Algorithmen, indiziert nach deren Namen
+         * (null, solange der Algorithmus noch nicht verlinkt wurde).
+         */
+        private Map<String, List<Signature>> calledSignatures;
+
+        private Entry(Algorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+    }
+
+}
@@ -1,8 +1,10 @@
 package algorithmexecuter;
 
+import abstractexpressions.expression.classes.BinaryOperation;
 import abstractexpressions.expression.classes.Expression;
 import abstractexpressions.expression.classes.TypeFunction;
 import abstractexpressions.expression.classes.TypeOperator;
+import abstractexpressions.expression.classes.Variable;
 import abstractexpressions.interfaces.AbstractExpression;
 import abstractexpressions.interfaces.IdentifierValidator;
 import abstractexpressions.matrixexpression.classes.MatrixExpression;
@@ -10,16 +12,22 @@ import abstractexpressions.matrixexpression.classes.TypeMatrixFunction;
 import abstractexpressions.matrixexpression.classes.TypeMatrixOperator;
 import algorithmexecuter.booleanexpression.BooleanExpression;
 import algorithmexecuter.enums.FixedAlgorithmNames;
+import algorithmexecuter.enums.Keyword;
 import algorithmexecuter.model.command.AlgorithmCommand;
 import algorithmexecuter.model.command.ControlStructure;
+import algorithmexecuter.model.command.DoWhileControlStructure;
+import algorithmexecuter.model.command.ForControlStructure;
 import algorithmexecuter.model.command.IfElseControlStructure;
+import algorithmexecuter.model.command.KeywordCommand;
 import algorithmexecuter.model.command.ReturnCommand;
+import algorithmexecuter.model.command.WhileControlStructure;
 import algorithmexecuter.enums.IdentifierType;
 import algorithmexecuter.enums.Operators;
 import algorithmexecuter.enums.ReservedChars;
 import algorithmexecuter.exceptions.AlgorithmCompileException;
 import algorithmexecuter.exceptions.BooleanExpressionException;
 import algorithmexecuter.exceptions.ParseAssignValueException;
+import algorithmexecuter.exceptions.ParseControlStructureException;
 import algorithmexecuter.exceptions.constants.AlgorithmCompileExceptionIds;
 import algorithmexecuter.model.identifier.Identifier;
 import algorithmexecuter.model.AlgorithmMemory;
@@ -46,11 +54,26 @@ import java.util.Set;
 
 public final class CompilerUtils {
 
-    private static final String SIGN_TAB = "\t";
-    private static final String SIGN_NEXT_LINE = "\n";
+    private static final char SIGN_TAB = '\t';
+    private static final char SIGN_NEXT_LINE = '\n';
+    /**
+     * Zeichen, vor und nach welchen keine Leerzeichen stehen dürfen.
+     */
+    private static final String SEPARATORS_FOR_WHITESPACES = ",;={}()";
 
     public static final String GEN_VAR = "#";
 
+    /**
+     * Vorab erzeugte Namen "#1", "#2", ... für technische Bezeichner.
+     */
+    private static final String[] TECHNICAL_IDENTIFIER_NAMES = new String[64];
+
+    static {
+        for (int i = 0; i < TECHNICAL_IDENTIFIER_NAMES.length; i++) {
+            TECHNICAL_IDENTIFIER_NAMES[i] = GEN_VAR + (i + 1);
+        }
+    }
+
     private CompilerUtils() {
     }
 
@@ -80,22 +103,38 @@ public final class CompilerUtils {
 
     /**
      * Gibt den Parameter input vorformatiert zurück, damit er für einen
-     * Kompilierungsprozess geeignet ist.
+     * Kompilierungsprozess geeignet ist (vgl. preprocessAlgorithm(String)).
+     * Jedes übernommene Zeichen behält seine Zeilennummer, ein Leerzeichen,
+     * welches eine Folge von Leerzeichen, Tabulatoren und Zeilenumbrüchen
+     * ersetzt, erhält die Zeilennummer des ersten Zeichens dieser Folge.
      */
     public static EditorCodeString preprocessAlgorithm(EditorCodeString input) {
-        EditorCodeString outputFormatted = input;
-        outputFormatted = removeLeadingWhitespaces(outputFormatted);
-        outputFormatted = removeEndingWhitespaces(outputFormatted);
-        outputFormatted = replaceAllRepeatedly(outputFormatted, " ", SIGN_TAB, SIGN_NEXT_LINE);
-        outputFormatted = replaceAllRepeatedly(outputFormatted, " ", "  ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, ",", ", ", " ,");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, ";", "; ", " ;");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, "=", " =", "= ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, "{", " {", "{ ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, "}", " }", "} ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, "(", " (", "( ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, ")", " )", ") ");
-        return outputFormatted;
+        String value = input.getValue();
+        int begin = getBeginWithoutLeadingSpaces(value);
+        int end = getEndWithoutEndingSpaces(value, begin);
+        EditorCodeString.Builder outputFormatted = new EditorCodeString.Builder(end - begin);
+        char last = 0;
+        int i = begin;
+        while (i < end) {
+            int j = i;
+            if (!isWhitespace(value.charAt(i))) {
+                while (j < end && !isWhitespace(value.charAt(j))) {
+                    j++;
+                }
+                outputFormatted.append(input, i, j);
+                last = value.charAt(j - 1);
+            } else {
+                while (j < end && isWhitespace(value.charAt(j))) {
+                    j++;
+                }
+                if (!isSeparatorForWhitespaces(last) && (j == end || !isSeparatorForWhitespaces(value.charAt(j)))) {
+                    outputFormatted.append(' ', input.lineNumberAt(i));
+                    last = ' ';
+                }
+            }
+            i = j;
+        }
+        return outputFormatted.build();
     }
 
     /**
@@ -103,87 +142,55 @@ public final class CompilerUtils {
      * Kompilierungsprozess geeignet ist.
      */
     public static String preprocessAlgorithm(String input) {
-        String outputFormatted = input;
-        outputFormatted = removeLeadingWhitespaces(outputFormatted);
-        outputFormatted = removeEndingWhitespaces(outputFormatted);
-        outputFormatted = replaceAllRepeatedly(outputFormatted, " ", SIGN_TAB, SIGN_NEXT_LINE);
-        outputFormatted = replaceAllRepeatedly(outputFormatted, " ", "  ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, ",", ", ", " ,");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, ";", "; ", " ;");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, "=", " =", "= ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, "\\{", " \\{", "\\{ ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, "\\}", " \\}", "\\} ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, "\\(", " \\(", "\\( ");
-        outputFormatted = replaceAllRepeatedly(outputFormatted, "\\)", " \\)", "\\) ");
-        return outputFormatted;
-    }
-
-    private static EditorCodeString removeLeadingWhitespaces(EditorCodeString input) {
-        while (input.startsWith(" ")) {
-            input = input.substring(1);
-        }
-        while (input.endsWith(" ")) {
-            input = input.substring(0, input.length() - 1);
-        }
-        return input;
-    }
-
-    private static EditorCodeString removeEndingWhitespaces(EditorCodeString input) {
-        while (input.endsWith(" ")) {
-            input = input.substring(0, input.length() - 1);
-        }
-        return input;
-    }
-
-    private static EditorCodeString replaceAllRepeatedly(EditorCodeString input, String replaceBy, String... toReplace) {
-        EditorCodeString result = input;
-        for (String s : toReplace) {
-            result = replaceRepeatedly(result, s, replaceBy);
+        int begin = getBeginWithoutLeadingSpaces(input);
+        int end = getEndWithoutEndingSpaces(input, begin);
+        StringBuilder outputFormatted = new StringBuilder(end - begin);
+        int i = begin;
+        while (i < end) {
+            char c = input.charAt(i);
+            if (!isWhitespace(c)) {
+                outputFormatted.append(c);
+                i++;
+                continue;
+            }
+            int j = i;
+            while (j < end && isWhitespace(input.charAt(j))) {
+                j++;
+            }
+            char last = outputFormatted.length() == 0 ? 0 : outputFormatted.charAt(outputFormatted.length() - 1);
+            if (!isSeparatorForWhitespaces(last) && (j == end || !isSeparatorForWhitespaces(input.charAt(j)))) {
+                outputFormatted.append(' ');
+            }
+            i = j;
         }
-        return result;
+        return outputFormatted.toString();
     }
 
-    private static EditorCodeString replaceRepeatedly(EditorCodeString input, String toReplace, String replaceBy) {
-        EditorCodeString result = input;
-        do {
-            input = result;
-            result = result.replaceAll(toReplace, replaceBy);
-        } while (!result.equals(input));
-        return result;
-    }
-
-    private static String removeLeadingWhitespaces(String input) {
-        while (input.startsWith(" ")) {
-            input = input.substring(1);
-        }
-        while (input.endsWith(" ")) {
-            input = input.substring(0, input.length() - 1);
+    private static int getBeginWithoutLeadingSpaces(String input) {
+        int begin = 0;
+        while (begin < input.length() && input.charAt(begin) == ' ') {
+            begin++;
         }
-        return input;
+        return begin;
     }
 
-    private static String removeEndingWhitespaces(String input) {
-        while (input.endsWith(" ")) {
-            input = input.substring(0, input.length() - 1);
+    private static int getEndWithoutEndingSpaces(String input, int begin) {
+        int end = input.length();
+        while (end > begin && input.charAt(end - 1) == ' ') {
+            end--;
         }
-        return input;
+        return end;
     }
 
-    private static String replaceAllRepeatedly(String input, String replaceBy, String... toReplace) {
-        String result = input;
-        for (String s : toReplace) {
-            result = replaceRepeatedly(result, s, replaceBy);
-        }
-        return result;
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == SIGN_TAB || c == SIGN_NEXT_LINE;
     }
 
-    private static String replaceRepeatedly(String input, String toReplace, String replaceBy) {
-        String result = input;
-        do {
-            input = result;
-            result = result.replaceAll(toReplace, replaceBy);
-        } while (!result.equals(input));
-        return result;
+    /**
+     * Gibt true zurück, falls vor und nach c keine Leerzeichen stehen dürfen.
+     */
+    private static boolean isSeparatorForWhitespaces(char c) {
+        return SEPARATORS_FOR_WHITESPACES.indexOf(c) >= 0;
     }
 
     public static Integer[] getErrorLines(EditorCodeString lines) {
@@ -233,9 +240,7 @@ public final class CompilerUtils {
      */
     private static EditorCodeString[] getAlgorithmNameAndParameters(EditorCodeString input) throws AlgorithmCompileException {
 
-        // Leerzeichen beseitigen
-        input = CompilerUtils.removeLeadingWhitespaces(input);
-
+        // input ist bereits vorformatiert, enthält also keine Leerzeichen am Anfang und am Ende.
         EditorCodeString[] algNameAndParameters = new EditorCodeString[2];
         int i = input.indexOf(ReservedChars.OPEN_BRACKET.getValue());
         if (i == -1) {
@@ -413,10 +418,8 @@ public final class CompilerUtils {
      * @throws AlgorithmCompileException
      */
     public static void checkIfMainAlgorithmSignatureExists(EditorCodeString inputAlgorithmFile, AlgorithmSignatureStorage signatures) throws AlgorithmCompileException {
-        for (Signature sgn : signatures.getAlgorithmSignatures()) {
-            if (sgn.getName().equals(FixedAlgorithmNames.MAIN.getValue())) {
-                return;
-            }
+        if (signatures.containsAlgorithmSignatureWithName(FixedAlgorithmNames.MAIN.getValue())) {
+            return;
         }
         throw new AlgorithmCompileException(inputAlgorithmFile.getLineNumbers(), AlgorithmCompileExceptionIds.AC_MAIN_ALGORITHM_DOES_NOT_EXIST);
     }
@@ -427,10 +430,8 @@ public final class CompilerUtils {
      * @throws AlgorithmCompileException
      */
     public static void checkIfMainAlgorithmExists(EditorCodeString inputAlgorithmFile, AlgorithmStorage algorithms) throws AlgorithmCompileException {
-        for (Algorithm alg : algorithms.getAlgorithms()) {
-            if (alg.getName().equals(FixedAlgorithmNames.MAIN.getValue())) {
-                return;
-            }
+        if (algorithms.getMainAlgorithm() != null) {
+            return;
         }
         throw new AlgorithmCompileException(inputAlgorithmFile.getLineNumbers(), AlgorithmCompileExceptionIds.AC_MAIN_ALGORITHM_DOES_NOT_EXIST);
     }
@@ -449,19 +450,17 @@ public final class CompilerUtils {
     }
 
     public static Signature getMainAlgorithmSignature(AlgorithmSignatureStorage signatures) throws AlgorithmCompileException {
-        for (Signature sgn : signatures.getAlgorithmSignatures()) {
-            if (sgn.getName().equals(FixedAlgorithmNames.MAIN.getValue())) {
-                return sgn;
-            }
+        List<Signature> mainSignatures = signatures.getAlgorithmSignaturesByName(FixedAlgorithmNames.MAIN.getValue());
+        if (!mainSignatures.isEmpty()) {
+            return mainSignatures.get(0);
         }
         throw new AlgorithmCompileException(AlgorithmCompileExceptionIds.AC_MAIN_ALGORITHM_DOES_NOT_EXIST);
     }
 
     public static Algorithm getMainAlgorithm(AlgorithmStorage algorithms) throws AlgorithmCompileException {
-        for (Algorithm alg : algorithms.getAlgorithms()) {
-            if (alg.getName().equals(FixedAlgorithmNames.MAIN.getValue())) {
-                return alg;
-            }
+        Algorithm mainAlg = algorithms.getMainAlgorithm();
+        if (mainAlg != null) {
+            return mainAlg;
         }
         throw new AlgorithmCompileException(AlgorithmCompileExceptionIds.AC_MAIN_ALGORITHM_DOES_NOT_EXIST);
     }
@@ -575,7 +574,17 @@ public final class CompilerUtils {
      * @throws AlgorithmCompileException
      */
     public static void checkForUnreachableCodeInBlock(EditorCodeString line, List<AlgorithmCommand> commands, Algorithm alg) throws AlgorithmCompileException {
-        for (int i = 0; i < commands.size(); i++) {
+        checkForUnreachableCodeInBlock(line, commands, 0, alg);
+    }
+
+    /**
+     * Wie checkForUnreachableCodeInBlock(line, commands, alg), es werden jedoch
+     * nur die Befehle ab der Stelle fromIndex geprüft.
+     *
+     * @throws AlgorithmCompileException
+     */
+    public static void checkForUnreachableCodeInBlock(EditorCodeString line, List<AlgorithmCommand> commands, int fromIndex, Algorithm alg) throws AlgorithmCompileException {
+        for (int i = fromIndex; i < commands.size(); i++) {
             if (commands.get(i).isReturnCommand() && i < commands.size() - 1) {
                 throw new AlgorithmCompileException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_UNREACHABLE_CODE, alg.getName());
             }
@@ -592,6 +601,110 @@ public final class CompilerUtils {
         }
     }
 
+    /**
+     * Prüft, ob die Durchläufe der parallelen for-Schleife forCommand
+     * unabhängig voneinander sind, und gibt die im Schleifenrumpf
+     * aufsummierten äußeren Bezeichner zurück. Die Schleife muss dazu eine
+     * Zählschleife sein, ihr Rumpf darf keine return-, break- und
+     * void-Befehle enthalten und äußere Bezeichner (also solche aus
+     * outerMemory) dürfen nur in der Form a = a + ... (bzw. a = ... + a)
+     * verändert und ansonsten nicht verwendet werden.
+     *
+     * @throws AlgorithmCompileException
+     */
+    public static Identifier[] getReductionIdentifiersOfParallelForLoop(EditorCodeString line, ForControlStructure forCommand, AlgorithmMemory outerMemory) throws AlgorithmCompileException {
+        if (forCommand.getCountedLoop() == null) {
+            throw new ParseControlStructureException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CONTROL_STRUCTURE_PARALLEL_FOR_MUST_BE_COUNTING_LOOP);
+        }
+        Set<String> reductionIdentifierNames = new HashSet<>();
+        Set<String> otherAssignedIdentifierNames = new HashSet<>();
+        Set<String> usedIdentifierNames = new HashSet<>();
+        collectIdentifierNamesInParallelForLoop(line, forCommand.getCommands(), outerMemory, reductionIdentifierNames, otherAssignedIdentifierNames, usedIdentifierNames);
+        if (!otherAssignedIdentifierNames.isEmpty()) {
+            throw new ParseControlStructureException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CONTROL_STRUCTURE_PARALLEL_FOR_DEPENDENCY, otherAssignedIdentifierNames.iterator().next());
+        }
+        Identifier[] reductionIdentifiers = new Identifier[reductionIdentifierNames.size()];
+        int i = 0;
+        for (String identifierName : reductionIdentifierNames) {
+            if (usedIdentifierNames.contains(identifierName) || outerMemory.get(identifierName).getType() != IdentifierType.EXPRESSION) {
+                throw new ParseControlStructureException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CONTROL_STRUCTURE_PARALLEL_FOR_DEPENDENCY, identifierName);
+            }
+            reductionIdentifiers[i++] = outerMemory.get(identifierName);
+        }
+        return reductionIdentifiers;
+    }
+
+    private static void collectIdentifierNamesInParallelForLoop(EditorCodeString line, List<AlgorithmCommand> commands, AlgorithmMemory outerMemory,
+            Set<String> reductionIdentifierNames, Set<String> otherAssignedIdentifierNames, Set<String> usedIdentifierNames) throws ParseControlStructureException {
+        for (AlgorithmCommand command : commands) {
+            if (command.isReturnCommand() || command.isVoidCommand()
+                    || command.isKeywordCommand() && ((KeywordCommand) command).getKeyword() == Keyword.BREAK) {
+                throw new ParseControlStructureException(line.getLineNumbers(), AlgorithmCompileExceptionIds.AC_CONTROL_STRUCTURE_PARALLEL_FOR_COMMAND_NOT_ALLOWED, command.toCommandString());
+            }
+            if (command.isAssignValueCommand()) {
+                AssignValueCommand assignValueCommand = (AssignValueCommand) command;
+                String identifierName = assignValueCommand.getIdentifierSrc().getName();
+                if (outerMemory.containsIdentifier(identifierName)) {
+                    Expression summand = getReductionSummand(assignValueCommand);
+                    if (summand != null) {
+                        reductionIdentifierNames.add(identifierName);
+                        usedIdentifierNames.addAll(summand.getContainedVars());
+                        continue;
+                    }
+                    otherAssignedIdentifierNames.add(identifierName);
+                }
+                if (assignValueCommand.getTargetValue() != null) {
+                    usedIdentifierNames.addAll(getUsedIdentifierNames(assignValueCommand.getTargetValue()));
+                } else {
+                    for (Identifier argument : assignValueCommand.getTargetAlgorithmArguments()) {
+                        usedIdentifierNames.add(argument.getName());
+                    }
+                }
+            } else if (command.isControlStructure()) {
+                if (command.isIfElseControlStructure()) {
+                    usedIdentifierNames.addAll(((IfElseControlStructure) command).getCondition().getContainedVars());
+                } else if (command.isWhileControlStructure()) {
+                    usedIdentifierNames.addAll(((WhileControlStructure) command).getCondition().getContainedVars());
+                } else if (command.isDoWhileControlStructure()) {
+                    usedIdentifierNames.addAll(((DoWhileControlStructure) command).getCondition().getContainedVars());
+                } else if (command.isForControlStructure()) {
+                    ForControlStructure forCommand = (ForControlStructure) command;
+                    usedIdentifierNames.addAll(forCommand.getEndLoopCondition().getContainedVars());
+                    collectIdentifierNamesInParallelForLoop(line, forCommand.getInitialization(), outerMemory, reductionIdentifierNames, otherAssignedIdentifierNames, usedIdentifierNames);
+                    collectIdentifierNamesInParallelForLoop(line, forCommand.getEndLoopCommands(), outerMemory, reductionIdentifierNames, otherAssignedIdentifierNames, usedIdentifierNames);
+                    collectIdentifierNamesInParallelForLoop(line, forCommand.getLoopAssignment(), outerMemory, reductionIdentifierNames, otherAssignedIdentifierNames, usedIdentifierNames);
+                }
+                for (List<AlgorithmCommand> commandBlock : ((ControlStructure) command).getCommandBlocks()) {
+                    collectIdentifierNamesInParallelForLoop(line, commandBlock, outerMemory, reductionIdentifierNames, otherAssignedIdentifierNames, usedIdentifierNames);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gibt e zurück, falls assignValueCommand die Form a = a + e oder a = e + a
+     * besitzt und e den Bezeichner a nicht enthält, ansonsten null.
+     */
+    private static Expression getReductionSummand(AssignValueCommand assignValueCommand) {
+        String identifierName = assignValueCommand.getIdentifierSrc().getName();
+        if (!(assignValueCommand.getTargetValue() instanceof Expression) || !((Expression) assignValueCommand.getTargetValue()).isSum()) {
+            return null;
+        }
+        BinaryOperation sum = (BinaryOperation) assignValueCommand.getTargetValue();
+        Expression summand;
+        if (sum.getLeft() instanceof Variable && ((Variable) sum.getLeft()).getName().equals(identifierName)) {
+            summand = sum.getRight();
+        } else if (sum.getRight() instanceof Variable && ((Variable) sum.getRight()).getName().equals(identifierName)) {
+            summand = sum.getLeft();
+        } else {
+            return null;
+        }
+        if (summand.contains(identifierName)) {
+            return null;
+        }
+        return summand;
+    }
+
     private static boolean doBothPartsContainReturnStatementInIfElseBlock(IfElseControlStructure ifElseBlock) throws AlgorithmCompileException {
         boolean ifPartContainsReturnStatement = false;
         boolean elsePartContainsReturnStatement = false;
@@ -751,13 +864,21 @@ public final class CompilerUtils {
 
     /**
      * Gibt einen Namen für einen technischen Bezeichner zurück. Der
-     * zurückgegebene Name ist "#i" mit dem kleinsten i &ge; 1, welcher in
-     * scopeMemory noch nict vorkommt.
+     * zurückgegebene Name ist "#i", wobei i der nächste Wert des Zählers für
+     * technische Bezeichner in scopeMemory ist. Da technische Bezeichner
+     * ausschließlich hierüber vergeben werden, kommt dieser Name in scopeMemory
+     * noch nicht vor.
      */
     public static String generateTechnicalIdentifierName(AlgorithmMemory scopeMemory) {
-        int i = 1;
-        while (scopeMemory.containsKey(GEN_VAR + i)) {
-            i++;
+        return getTechnicalIdentifierName(scopeMemory.nextTechnicalIdentifierIndex());
+    }
+
+    /**
+     * Gibt den Namen "#i" des i-ten technischen Bezeichners zurück (i &ge; 1).
+     */
+    public static String getTechnicalIdentifierName(int i) {
+        if (i <= TECHNICAL_IDENTIFIER_NAMES.length) {
+            return TECHNICAL_IDENTIFIER_NAMES[i - 1];
         }
         return GEN_VAR + i;
     }
@@ -830,7 +951,27 @@ public final class CompilerUtils {
     }
 
     ///////////////////// Methoden für die Zerlegung eines Strings ///////////////////////
+    /**
+     * Gibt die Sitzung zurück, in welcher der Algorithmus alg kompiliert wurde.
+     * Gehört alg zu keiner Sitzung (etwa bei Standardalgorithmen), so wird die
+     * Standardsitzung zurückgegeben.
+     */
+    public static AlgorithmSession getSession(Algorithm alg) {
+        if (alg == null || alg.getSession() == null) {
+            return AlgorithmBuilder.DEFAULT_SESSION;
+        }
+        return alg.getSession();
+    }
+
+    public static AlgorithmSession getSession(AlgorithmMemory scopeMemory) {
+        return getSession(scopeMemory.getAlgorithm());
+    }
+
     public static MalString getMalString(EditorCodeString input, AlgorithmMemory scopeMemory) throws AlgorithmCompileException {
+        return getMalString(input, getSession(scopeMemory).getValidator(), scopeMemory);
+    }
+
+    private static MalString getMalString(EditorCodeString input, IdentifierValidator validator, AlgorithmMemory scopeMemory) throws AlgorithmCompileException {
         List<EditorCodeString> stringValuesAsStrings = decomposeByConcat(input);
         List<MalStringSummand> malStringSummands = new ArrayList<>();
         for (EditorCodeString s : stringValuesAsStrings) {
@@ -848,7 +989,7 @@ public final class CompilerUtils {
 
                 AbstractExpression abstrExpr = null;
                 try {
-                    abstrExpr = buildExpressionWithScopeMemory(s, AlgorithmBuilder.VALIDATOR, scopeMemory);
+                    abstrExpr = buildExpressionWithScopeMemory(s, validator, scopeMemory);
                     // Prüfung auf Wohldefiniertheit aller auftretenden Bezeichner.
                     CompilerUtils.checkIfAllIdentifiersAreDefined(s, abstrExpr.getContainedVars(), scopeMemory);
                     malStringSummands.add(new MalStringAbstractExpression(abstrExpr));
@@ -856,7 +997,7 @@ public final class CompilerUtils {
                 } catch (ExpressionException e) {
                 }
                 try {
-                    abstrExpr = buildBooleanExpressionWithScopeMemory(s, AlgorithmBuilder.VALIDATOR, scopeMemory);
+                    abstrExpr = buildBooleanExpressionWithScopeMemory(s, validator, scopeMemory);
                     // Prüfung auf Wohldefiniertheit aller auftretenden Bezeichner.
                     CompilerUtils.checkIfAllIdentifiersAreDefined(s, abstrExpr.getContainedVars(), scopeMemory);
                     malStringSummands.add(new MalStringAbstractExpression(abstrExpr));
@@ -864,7 +1005,7 @@ public final class CompilerUtils {
                 } catch (BooleanExpressionException e) {
                 }
                 try {
-                    abstrExpr = buildMatrixExpressionWithScopeMemory(s, AlgorithmBuilder.VALIDATOR, scopeMemory);
+                    abstrExpr = buildMatrixExpressionWithScopeMemory(s, validator, scopeMemory);
                     // Prüfung auf Wohldefiniertheit aller auftretenden Bezeichner.
                     CompilerUtils.checkIfAllIdentifiersAreDefined(s, abstrExpr.getContainedVars(), scopeMemory);
                     malStringSummands.add(new MalStringAbstractExpression(abstrExpr));
@@ -876,7 +1017,7 @@ public final class CompilerUtils {
                     if (stringWasSurroundedByBracket) {
                         List<EditorCodeString> substrings = decomposeByConcat(s);
                         if (substrings.size() > 1) {
-                            MalString subMalString = getMalString(s, scopeMemory);
+                            MalString subMalString = getMalString(s, validator, scopeMemory);
                             for (MalStringSummand obj : subMalString.getMalStringSummands()) {
                                 malStringSummands.add(obj);
                             }
@@ -898,7 +1039,12 @@ public final class CompilerUtils {
         for (String varName : typesMap.keySet()) {
             memory.put(varName, Identifier.createIdentifier(varName, typesMap.get(varName)));
         }
-        return getMalString(input, memory);
+        /*
+        Eigener Validator, da diese Methode während des Aufbaus eines boolschen 
+        Ausdrucks aufgerufen wird und der dort verwendete Validator seine 
+        bekannten Variablen behalten muss.
+         */
+        return getMalString(input, new IdentifierValidatorImpl(), memory);
     }
 
     private static List<EditorCodeString> decomposeByConcat(EditorCodeString input) throws AlgorithmCompileException {
@@ -0,0 +1,54 @@
+package algorithmexecuter;
+
+/**
+ * Obergrenzen für eine einzelne Ausführung: Anzahl der ausgeführten Befehle,
+ * Anzahl der Schleifendurchläufe, Aufruftiefe sowie geschätzte Größe der Werte
+ * von Bezeichnern (im Wesentlichen Anzahl der Knoten bzw. Stellen, siehe
+ * ExecutionControl.getValueSize()). Die Zählung erfolgt
+ * über ExecutionControl, eine Überschreitung führt zu einer
+ * AlgorithmExecutionException. Die Zähler gelten für die gesamte Ausführung
+ * einschließlich aller aufgerufenen Algorithmen und der Durchläufe paralleler
+ * for-Schleifen, die Grenzen sind daher unabhängig von der Ausführungsreihenfolge.
+ */
+public class ExecutionBudget {
+
+    /**
+     * Wert für eine nicht beschränkte Größe.
+     */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final long maxNumberOfCommands;
+    private final long maxNumberOfLoopIterations;
+    private final long maxCallDepth;
+    private final long maxValueSize;
+
+    public ExecutionBudget(long maxNumberOfCommands, long maxNumberOfLoopIterations, long maxCallDepth, long maxValueSize) {
+        this.maxNumberOfCommands = maxNumberOfCommands;
+        this.maxNumberOfLoopIterations = maxNumberOfLoopIterations;
+        this.maxCallDepth = maxCallDepth;
+        this.maxValueSize = maxValueSize;
+    }
+
+    public long getMaxNumberOfCommands() {
+        return this.maxNumberOfCommands;
+    }
+
+    public long getMaxNumberOfLoopIterations() {
+        return this.maxNumberOfLoopIterations;
+    }
+
+    public long getMaxCallDepth() {
+        return this.maxCallDepth;
+    }
+
+    public long getMaxValueSize() {
+        return this.maxValueSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionBudget[maxNumberOfCommands = " + this.maxNumberOfCommands + ", maxNumberOfLoopIterations = " + this.maxNumberOfLoopIterations
+                + ", maxCallDepth = " + this.maxCallDepth + ", maxValueSize = " + this.maxValueSize + "]";
+    }
+
+}
@@ -0,0 +1,262 @@
+package algorithmexecuter;
+
+import abstractexpressions.expression.classes.BinaryOperation;
+import abstractexpressions.expression.classes.Constant;
+import abstractexpressions.expression.classes.Variable;
+import abstractexpressions.matrixexpression.classes.Matrix;
+import algorithmexecuter.booleanexpression.BooleanConstant;
+import algorithmexecuter.exceptions.AlgorithmExecutionException;
+import algorithmexecuter.exceptions.constants.AlgorithmExecutionExceptionIds;
+import algorithmexecuter.model.utilclasses.MalString;
+import algorithmexecuter.model.utilclasses.malstring.MalStringCharSequence;
+import algorithmexecuter.model.utilclasses.malstring.MalStringSummand;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Steuerung einer (asynchronen) Ausführung. Die Ausführung kann über cancel()
+ * von einem beliebigen Thread aus abgebrochen werden und wird zudem nach
+ * Ablauf einer optionalen Frist beendet. Beides wird an den Rücksprüngen von
+ * Schleifen und bei Algorithmenaufrufen geprüft. Zusätzlich werden die
+ * Grenzen eines optionalen ExecutionBudget überwacht. Die Steuerung wird über
+ * die Speicher (AlgorithmMemory) an aufgerufene Algorithmen und an die
+ * Durchläufe paralleler for-Schleifen weitergegeben.
+ */
+public class ExecutionControl {
+
+    private volatile boolean cancelled = false;
+    /**
+     * Übergeordnete Steuerung, mit welcher diese Steuerung abgebrochen wird
+     * (null, falls keine existiert).
+     */
+    private final ExecutionControl parent;
+    private final boolean hasDeadline;
+    /**
+     * Frist als Wert von System.nanoTime().
+     */
+    private final long deadline;
+    /**
+     * Grenzen der Ausführung (null, falls unbeschränkt).
+     */
+    private final ExecutionBudget budget;
+
+    private final AtomicLong numberOfCommands;
+    private final AtomicLong numberOfLoopIterations;
+
+    /**
+     * Erzeugt eine Steuerung ohne Frist.
+     */
+    public ExecutionControl() {
+        this((ExecutionBudget) null);
+    }
+
+    /**
+     * Erzeugt eine Steuerung, welche die Ausführung nach Ablauf von timeout
+     * beendet.
+     */
+    public ExecutionControl(Duration timeout) {
+        this(null, timeout);
+    }
+
+    /**
+     * Erzeugt eine Steuerung, welche die Ausführung zum Zeitpunkt deadline
+     * beendet.
+     */
+    public ExecutionControl(Instant deadline) {
+        this(Duration.between(Instant.now(), deadline));
+    }
+
+    /**
+     * Erzeugt eine Steuerung ohne Frist, welche die Grenzen aus budget
+     * überwacht.
+     */
+    public ExecutionControl(ExecutionBudget budget) {
+        this.parent = null;
+        this.budget = budget;
+        this.hasDeadline = false;
+        this.deadline = 0;
+        this.numberOfCommands = new AtomicLong();
+        this.numberOfLoopIterations = new AtomicLong();
+    }
+
+    /**
+     * Erzeugt eine Steuerung, welche die Grenzen aus budget überwacht und die
+     * Ausführung nach Ablauf von timeout beendet.
+     */
+    public ExecutionControl(ExecutionBudget budget, Duration timeout) {
+        this.parent = null;
+        this.budget = budget;
+        this.hasDeadline = true;
+        this.deadline = System.nanoTime() + timeout.toNanos();
+        this.numberOfCommands = new AtomicLong();
+        this.numberOfLoopIterations = new AtomicLong();
+    }
+
+    private ExecutionControl(ExecutionControl parent) {
+        this.parent = parent;
+        this.budget = parent.budget;
+        this.hasDeadline = parent.hasDeadline;
+        this.deadline = parent.deadline;
+        this.numberOfCommands = parent.numberOfCommands;
+        this.numberOfLoopIterations = parent.numberOfLoopIterations;
+    }
+
+    /**
+     * Erzeugt eine Steuerung für einen Teil der Ausführung (etwa einen
+     * Teilbereich einer parallelen for-Schleife). Diese teilt Frist, Grenzen
+     * und Zähler mit dieser Steuerung und wird mit ihr abgebrochen, kann aber
+     * auch für sich allein abgebrochen werden.
+     */
+    public ExecutionControl createChild() {
+        return new ExecutionControl(this);
+    }
+
+    public ExecutionBudget getBudget() {
+        return this.budget;
+    }
+
+    public long getNumberOfCommands() {
+        return this.numberOfCommands.get();
+    }
+
+    public long getNumberOfLoopIterations() {
+        return this.numberOfLoopIterations.get();
+    }
+
+    /**
+     * Bricht die Ausführung beim nächsten Prüfpunkt ab.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled || this.parent != null && this.parent.isCancelled();
+    }
+
+    public boolean isDeadlineExceeded() {
+        return this.hasDeadline && System.nanoTime() - this.deadline > 0;
+    }
+
+    /**
+     * Gibt true zurück, falls die Ausführung abgebrochen wurde oder die Frist
+     * abgelaufen ist.
+     */
+    public boolean isAborted() {
+        return isCancelled() || isDeadlineExceeded();
+    }
+
+    /**
+     * Prüfpunkt: wirft eine AlgorithmExecutionException, falls die Ausführung
+     * abgebrochen wurde oder die Frist abgelaufen ist.
+     *
+     * @throws AlgorithmExecutionException
+     */
+    public void check() throws AlgorithmExecutionException {
+        if (isCancelled()) {
+            throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_EXECUTION_CANCELLED);
+        }
+        if (isDeadlineExceeded()) {
+            throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_EXECUTION_DEADLINE_EXCEEDED);
+        }
+    }
+
+    /**
+     * Zählt einen ausgeführten Befehl.
+     *
+     * @throws AlgorithmExecutionException
+     */
+    public void countCommand() throws AlgorithmExecutionException {
+        if (this.budget != null && this.numberOfCommands.incrementAndGet() > this.budget.getMaxNumberOfCommands()) {
+            throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_MAX_NUMBER_OF_COMMANDS_EXCEEDED, this.budget.getMaxNumberOfCommands());
+        }
+    }
+
+    /**
+     * Prüfpunkt am Rücksprung einer Schleife: zählt den Durchlauf und prüft
+     * anschließend wie check().
+     *
+     * @throws AlgorithmExecutionException
+     */
+    public void countLoopIteration() throws AlgorithmExecutionException {
+        if (this.budget != null && this.numberOfLoopIterations.incrementAndGet() > this.budget.getMaxNumberOfLoopIterations()) {
+            throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_MAX_NUMBER_OF_LOOP_ITERATIONS_EXCEEDED, this.budget.getMaxNumberOfLoopIterations());
+        }
+        check();
+    }
+
+    /**
+     * Prüfpunkt bei einem Algorithmenaufruf mit der Aufruftiefe callDepth
+     * (der Hauptalgorithmus besitzt die Tiefe 0).
+     *
+     * @throws AlgorithmExecutionException
+     */
+    public void checkCall(int callDepth) throws AlgorithmExecutionException {
+        if (this.budget != null && callDepth > this.budget.getMaxCallDepth()) {
+            throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_MAX_CALL_DEPTH_EXCEEDED, this.budget.getMaxCallDepth());
+        }
+        check();
+    }
+
+    /**
+     * Prüft die geschätzte Größe (siehe getValueSize()) des einem Bezeichner
+     * zugewiesenen Wertes value. Ohne Obergrenze entfällt die Schätzung.
+     *
+     * @throws AlgorithmExecutionException
+     */
+    public void checkValueSize(Object value) throws AlgorithmExecutionException {
+        if (this.budget != null && this.budget.getMaxValueSize() != ExecutionBudget.UNLIMITED
+                && getValueSize(value, this.budget.getMaxValueSize()) > this.budget.getMaxValueSize()) {
+            throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_MAX_VALUE_SIZE_EXCEEDED, this.budget.getMaxValueSize());
+        }
+    }
+
+    /**
+     * Schätzt die Größe des Wertes value ab, ohne dessen
+     * Zeichenkettendarstellung zu erzeugen: Jeder Knoten eines Ausdrucks zählt
+     * einfach, exakte Konstanten zählen mit der Anzahl ihrer Stellen, Matrizen
+     * mit der Summe der Größen ihrer Einträge und Zeichenketten mit ihrer
+     * Länge. Nur bei Knoten, deren Struktur hier nicht bekannt ist, wird die
+     * Länge ihrer Zeichenkettendarstellung verwendet. Die Schätzung endet,
+     * sobald sie maxValueSize überschreitet.
+     */
+    static long getValueSize(Object value, long maxValueSize) {
+        long size = 0;
+        Deque<Object> values = new ArrayDeque<>();
+        values.push(value);
+        while (!values.isEmpty() && size <= maxValueSize) {
+            Object v = values.pop();
+            if (v instanceof BinaryOperation) {
+                size++;
+                values.push(((BinaryOperation) v).getLeft());
+                values.push(((BinaryOperation) v).getRight());
+            } else if (v instanceof Constant) {
+                Constant c = (Constant) v;
+                // Stellenzahl über die Bitlänge, ohne die Konstante umzuwandeln.
+                size += c.isApproximate() ? 1 : 1 + (long) (c.getValue().unscaledValue().bitLength() * Math.log10(2));
+            } else if (v instanceof Variable || v instanceof BooleanConstant) {
+                size++;
+            } else if (v instanceof Matrix) {
+                Matrix m = (Matrix) v;
+                for (int i = 0; i < m.getRowNumber(); i++) {
+                    for (int j = 0; j < m.getColumnNumber(); j++) {
+                        values.push(m.getEntry(i, j));
+                    }
+                }
+            } else if (v instanceof MalString) {
+                for (MalStringSummand summand : ((MalString) v).getMalStringSummands()) {
+                    values.push(summand);
+                }
+            } else if (v instanceof MalStringCharSequence) {
+                size += ((MalStringCharSequence) v).getStringValue().length();
+            } else {
+                size += String.valueOf(v).length();
+            }
+        }
+        return size;
+    }
+
+}
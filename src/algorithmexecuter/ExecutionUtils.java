@@ -1,23 +1,26 @@
 package algorithmexecuter;
 
 import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.logicalexpression.classes.LogicalExpression;
 import abstractexpressions.matrixexpression.classes.Matrix;
+import abstractexpressions.matrixexpression.classes.MatrixExpression;
+import algorithmexecuter.annotations.Execute;
 import algorithmexecuter.enums.IdentifierType;
 import algorithmexecuter.model.AlgorithmMemory;
+import exceptions.EvaluationException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 public final class ExecutionUtils {
     
     private ExecutionUtils() {
     }
     
-    public static void updateMemoryBeforeBlockExecution(AlgorithmMemory memoryBeforBlockExecution, AlgorithmMemory scopeMemory) {
-        for (String identifierName : memoryBeforBlockExecution.keySet()) {
-            if (scopeMemory.keySet().contains(identifierName)) {
-                memoryBeforBlockExecution.put(identifierName, scopeMemory.get(identifierName));
-            }
-        }
-    }
-    
     ////////////////////////////////// Typecast-Methoden //////////////////////////////////////
     /**
      * Castet das Objekt obj OHNE verhierige Prüfung zum Typ supertype.
@@ -30,4 +33,55 @@ public final class ExecutionUtils {
         return obj;
     }
     
+    ////////////////////////////////// Vereinfachungs-Methoden //////////////////////////////////////
+    /**
+     * Vereinfacht expr. Ist für die Sitzung von scopeMemory ein SimplifyCache
+     * aktiviert, so wird dieser verwendet.
+     */
+    public static Expression simplify(Expression expr, AlgorithmMemory scopeMemory) throws EvaluationException {
+        SimplifyCache cache = CompilerUtils.getSession(scopeMemory).getSimplifyCache();
+        return cache == null ? expr.simplify() : cache.simplify(expr);
+    }
+
+    public static LogicalExpression simplify(LogicalExpression logExpr, AlgorithmMemory scopeMemory) throws EvaluationException {
+        SimplifyCache cache = CompilerUtils.getSession(scopeMemory).getSimplifyCache();
+        return cache == null ? logExpr.simplify() : cache.simplify(logExpr);
+    }
+
+    public static MatrixExpression simplify(MatrixExpression matExpr, AlgorithmMemory scopeMemory) throws EvaluationException {
+        SimplifyCache cache = CompilerUtils.getSession(scopeMemory).getSimplifyCache();
+        return cache == null ? matExpr.simplify() : cache.simplify(matExpr);
+    }
+
+    ////////////////////////////////// Dispatch-Methoden //////////////////////////////////////
+    /**
+     * Ermittelt alle mit @Execute annotierten Methoden der Klasse cls und gibt
+     * diese als MethodHandles vom Typ methodType zurück, indiziert nach dem
+     * Namen des zugehörigen Standardalgorithmus. Der Name genügt als
+     * Schlüssel, da eine @Execute-Methode alle Überladungen eines
+     * Standardalgorithmus behandelt (die Parameter werden erst zur Laufzeit aus
+     * dem Speicher gelesen). Mehrere Methoden zum selben Namen sind daher ein
+     * Programmierfehler. lookup muss Zugriff auf die (privaten) Methoden von
+     * cls besitzen. Die Methode ist nur einmalig beim Laden von cls aufzurufen.
+     */
+    public static Map<String, MethodHandle> getExecuteMethodHandles(Class<?> cls, MethodHandles.Lookup lookup, MethodType methodType) {
+        Map<String, MethodHandle> executeMethods = new HashMap<>();
+        Execute annotation;
+        for (Method method : cls.getDeclaredMethods()) {
+            annotation = method.getAnnotation(Execute.class);
+            if (annotation != null) {
+                MethodHandle executeMethod;
+                try {
+                    executeMethod = lookup.unreflect(method).asType(methodType);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+                if (executeMethods.put(annotation.algorithmName().getValue(), executeMethod) != null) {
+                    throw new IllegalStateException("more than one @Execute method for algorithm: " + annotation.algorithmName().getValue());
+                }
+            }
+        }
+        return Collections.unmodifiableMap(executeMethods);
+    }
+
 }
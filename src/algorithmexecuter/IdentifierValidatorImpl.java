@@ -9,16 +9,20 @@ import java.util.Map;
 
 public class IdentifierValidatorImpl implements IdentifierValidator {
 
-    Map<String, Class<? extends AbstractExpression>> knownVariables;
+    /**
+     * Die bekannten Variablen werden pro Thread gesetzt, da die Algorithmen
+     * eines Files parallel kompiliert werden.
+     */
+    private final ThreadLocal<Map<String, Class<? extends AbstractExpression>>> knownVariables = new ThreadLocal<>();
 
     @Override
     public void setKnownVariables(Map<String, Class<? extends AbstractExpression>> knownVariables) {
-        this.knownVariables = knownVariables;
+        this.knownVariables.set(knownVariables);
     }
 
     @Override
     public void unsetKnownVariables() {
-        this.knownVariables = null;
+        this.knownVariables.remove();
     }
 
     /**
@@ -33,8 +37,9 @@ public class IdentifierValidatorImpl implements IdentifierValidator {
     public boolean isValidIdentifier(String identifierName) {
 
         // Wenn bekannte Variables explizit gesetzt wurden, dann soll danach ausgewertet werden.
-        if (this.knownVariables != null) {
-            return this.knownVariables.containsKey(identifierName);
+        Map<String, Class<? extends AbstractExpression>> knownVariables = this.knownVariables.get();
+        if (knownVariables != null) {
+            return knownVariables.containsKey(identifierName);
         }
 
         // Prüfung, ob es kein Keyword ist.
@@ -85,8 +90,9 @@ public class IdentifierValidatorImpl implements IdentifierValidator {
     @Override
     public boolean isValidIdentifierOfRequiredType(String identifierName, Class requiredClass) {
         // Wenn bekannte Variables explizit gesetzt wurden, dann soll danach ausgewertet werden.
-        if (this.knownVariables != null) {
-            return this.knownVariables.containsKey(identifierName) && this.knownVariables.get(identifierName).equals(requiredClass);
+        Map<String, Class<? extends AbstractExpression>> knownVariables = this.knownVariables.get();
+        if (knownVariables != null) {
+            return knownVariables.containsKey(identifierName) && knownVariables.get(identifierName).equals(requiredClass);
         }
         return isValidIdentifier(identifierName);
     }
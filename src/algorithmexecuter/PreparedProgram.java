@@ -0,0 +1,249 @@
+package algorithmexecuter;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.matrixexpression.classes.MatrixExpression;
+import algorithmexecuter.booleanexpression.BooleanExpression;
+import algorithmexecuter.enums.ExecutionMode;
+import algorithmexecuter.enums.IdentifierType;
+import algorithmexecuter.enums.ReservedChars;
+import algorithmexecuter.exceptions.AlgorithmCompileException;
+import algorithmexecuter.exceptions.AlgorithmExecutionException;
+import algorithmexecuter.exceptions.constants.AlgorithmExecutionExceptionIds;
+import algorithmexecuter.model.Algorithm;
+import algorithmexecuter.model.Signature;
+import algorithmexecuter.model.identifier.Identifier;
+import algorithmexecuter.model.utilclasses.MalString;
+import exceptions.EvaluationException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Einmalig kompiliertes Algorithmenfile, dessen Algorithmen beliebig oft (und
+ * von beliebig vielen Threads gleichzeitig) ausgeführt werden können. Jeder
+ * Aufruf erhält dabei einen eigenen Speicher, die verlinkten Befehle werden
+ * wiederverwendet. Im Gegensatz zu executeAlgorithm() kann jeder Algorithmus
+ * des Files als Einstiegspunkt dienen, Ergebnisse werden nicht ausgegeben,
+ * sondern nur zurückgegeben. Ausgenommen sind Programme, welche approx()
+ * aufrufen: approx() verändert vorübergehend globale Zustände der
+ * Ausdrucksbibliothek, sodass solche Programme nicht threadsicher sind (siehe
+ * isThreadSafe()) und nicht gleichzeitig mit anderen Ausführungen oder
+ * Kompilierungen laufen sollten.
+ */
+public final class PreparedProgram {
+
+    private final AlgorithmSession session;
+    private final ExecutionMode mode;
+    private final List<Algorithm> algorithms;
+    private final Map<String, List<Algorithm>> algorithmsByName = new HashMap<>();
+
+    private PreparedProgram(AlgorithmSession session, ExecutionMode mode) {
+        this.session = session;
+        this.mode = mode;
+        this.algorithms = Collections.unmodifiableList(new ArrayList<>(session.getAlgorithms().getAlgorithms()));
+        for (Algorithm alg : this.algorithms) {
+            this.algorithmsByName.computeIfAbsent(alg.getName(), name -> new ArrayList<>()).add(alg);
+        }
+    }
+
+    /**
+     * Kompiliert inputAlgorithmFile in einer eigenen Sitzung. Die Algorithmen
+     * werden im Modus COMPILED ausgeführt.
+     *
+     * @throws AlgorithmCompileException
+     */
+    public static PreparedProgram prepare(String inputAlgorithmFile) throws AlgorithmCompileException {
+        return prepare(inputAlgorithmFile, new AlgorithmSession(), ExecutionMode.COMPILED);
+    }
+
+    /**
+     * Kompiliert inputAlgorithmFile innerhalb der Sitzung session. Die
+     * Algorithmen werden im Modus mode ausgeführt. Die Sitzung darf danach
+     * nicht mehr zum Kompilieren weiterer Files verwendet werden.
+     *
+     * @throws AlgorithmCompileException
+     */
+    public static PreparedProgram prepare(String inputAlgorithmFile, AlgorithmSession session, ExecutionMode mode) throws AlgorithmCompileException {
+        AlgorithmBuilder.parseAlgorithmFile(inputAlgorithmFile, session);
+        return new PreparedProgram(session, mode);
+    }
+
+    public AlgorithmSession getSession() {
+        return this.session;
+    }
+
+    public ExecutionMode getMode() {
+        return this.mode;
+    }
+
+    public List<Algorithm> getAlgorithms() {
+        return this.algorithms;
+    }
+
+    /**
+     * Gibt zurück, ob die Algorithmen dieses Programms von mehreren Threads
+     * gleichzeitig ausgeführt werden dürfen.
+     */
+    public boolean isThreadSafe() {
+        for (Algorithm alg : this.algorithms) {
+            if (!alg.isThreadSafe()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<Signature> getSignatures() {
+        List<Signature> signatures = new ArrayList<>();
+        for (Algorithm alg : this.algorithms) {
+            signatures.add(alg.getSignature());
+        }
+        return signatures;
+    }
+
+    /**
+     * Führt den Algorithmus mit dem Namen entryName aus, dessen Parametertypen
+     * zu den Werten arguments passen. Zeichenketten können auch als String
+     * übergeben werden.
+     *
+     * @throws AlgorithmExecutionException
+     * @throws EvaluationException
+     */
+    public Identifier execute(String entryName, Object... arguments) throws AlgorithmExecutionException, EvaluationException {
+        return execute(null, entryName, arguments);
+    }
+
+    /**
+     * Führt den Algorithmus wie execute(entryName, arguments) aus, die
+     * Ausführung wird dabei über control gesteuert.
+     *
+     * @throws AlgorithmExecutionException
+     * @throws EvaluationException
+     */
+    public Identifier execute(ExecutionControl control, String entryName, Object... arguments) throws AlgorithmExecutionException, EvaluationException {
+        Object[] values = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            values[i] = arguments[i] instanceof String ? new MalString((String) arguments[i]) : arguments[i];
+        }
+        Algorithm alg = getAlgorithm(entryName, values);
+        return alg.execute(createArguments(alg, values), this.mode, control);
+    }
+
+    /**
+     * Führt den Algorithmus mit dem Namen entryName für alle Argumenttupel aus
+     * argumentTuples parallel auf dem Pool für Stapelausführungen der Sitzung
+     * aus. Dieser ist vom Pool für parallele for-Schleifen getrennt, damit
+     * parallele for-Schleifen innerhalb der Algorithmen nicht in dessen Threads
+     * blockieren. Die Ergebnisse werden in der Reihenfolge der Tupel und erst
+     * bei Bedarf berechnet (siehe BatchExecution). Ist das Programm nicht
+     * threadsicher, so werden die Tupel nacheinander abgearbeitet.
+     */
+    public BatchExecution executeBatch(String entryName, Iterator<Object[]> argumentTuples) {
+        ForkJoinPool pool = this.session.getBatchPool();
+        return executeBatch(entryName, argumentTuples, pool, isThreadSafe() ? 2 * pool.getParallelism() : 1);
+    }
+
+    /**
+     * Führt den Algorithmus mit dem Namen entryName für alle Argumenttupel aus
+     * argumentTuples parallel auf executor aus. Dabei stehen höchstens
+     * maxPendingResults Ergebnisse gleichzeitig aus. Ist das Programm nicht
+     * threadsicher, so muss maxPendingResults gleich 1 sein.
+     */
+    public BatchExecution executeBatch(String entryName, Iterator<Object[]> argumentTuples, Executor executor, int maxPendingResults) {
+        if (maxPendingResults > 1 && !isThreadSafe()) {
+            throw new IllegalArgumentException("program is not thread-safe, maxPendingResults must be 1: " + maxPendingResults);
+        }
+        return new BatchExecution(this, entryName, argumentTuples, executor, maxPendingResults);
+    }
+
+    /**
+     * Wie executeBatch(String, Iterator), jedoch für einen Stream von
+     * Argumenttupeln. Der zurückgegebene Stream ist sequentiell und geordnet.
+     * Beim Schließen des Streams werden alle ausstehenden Ausführungen
+     * abgebrochen und argumentTuples geschlossen.
+     */
+    public Stream<Identifier> executeBatch(String entryName, Stream<Object[]> argumentTuples) {
+        BatchExecution results = executeBatch(entryName, argumentTuples.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(results::close).onClose(argumentTuples::close);
+    }
+
+    /**
+     * Gibt den Algorithmus mit dem Namen entryName zurück, dessen
+     * Parametertypen zu den Werten arguments passen. Werte, welche keinem
+     * Bezeichnertyp entsprechen, passen zu keinem Parameter.
+     *
+     * @throws AlgorithmExecutionException
+     */
+    public Algorithm getAlgorithm(String entryName, Object[] arguments) throws AlgorithmExecutionException {
+        List<Algorithm> overloads = this.algorithmsByName.get(entryName);
+        if (overloads != null) {
+            for (Algorithm alg : overloads) {
+                if (isApplicable(alg, arguments)) {
+                    return alg;
+                }
+            }
+        }
+        String signature = entryName + ReservedChars.OPEN_BRACKET.getStringValue();
+        for (int i = 0; i < arguments.length; i++) {
+            IdentifierType type = getTypeOf(arguments[i]);
+            if (type != null) {
+                signature += type;
+            } else {
+                signature += arguments[i] == null ? "null" : arguments[i].getClass().getSimpleName();
+            }
+            if (i < arguments.length - 1) {
+                signature += ",";
+            }
+        }
+        throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_ALGORITHM_NOT_FOUND, signature + ReservedChars.CLOSE_BRACKET.getStringValue());
+    }
+
+    private static boolean isApplicable(Algorithm alg, Object[] arguments) {
+        Identifier[] parameters = alg.getInputParameters();
+        if (parameters.length != arguments.length) {
+            return false;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            IdentifierType type = getTypeOf(arguments[i]);
+            if (type == null || !parameters[i].getType().isSameOrSuperTypeOf(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gibt den Bezeichnertyp des Wertes value zurück (null, falls value kein
+     * Wert eines Bezeichners sein kann).
+     */
+    private static IdentifierType getTypeOf(Object value) {
+        if (value instanceof MalString) {
+            return IdentifierType.STRING;
+        }
+        if (value instanceof Expression || value instanceof BooleanExpression || value instanceof MatrixExpression) {
+            return IdentifierType.identifierTypeOf(value);
+        }
+        return null;
+    }
+
+    private static Identifier[] createArguments(Algorithm alg, Object[] values) {
+        Identifier[] parameters = alg.getInputParameters();
+        Identifier[] arguments = new Identifier[values.length];
+        for (int i = 0; i < values.length; i++) {
+            arguments[i] = parameters[i].createRuntimeInstance();
+            arguments[i].setRuntimeValue(values[i]);
+        }
+        return arguments;
+    }
+
+}
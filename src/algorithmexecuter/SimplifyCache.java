@@ -0,0 +1,171 @@
+package algorithmexecuter;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.interfaces.AbstractExpression;
+import abstractexpressions.logicalexpression.classes.LogicalExpression;
+import abstractexpressions.matrixexpression.classes.MatrixExpression;
+import exceptions.EvaluationException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Größenbeschränkter Cache (LRU) für die Ergebnisse von simplify(). Als
+ * Schlüssel dient der (bereits mit den Werten der Bezeichner belegte) Ausdruck
+ * selbst, welcher über equals() strukturell verglichen wird. Die
+ * Zeichenkettendarstellung dient nur als Hashwert, sodass Ausdrücke mit
+ * gleicher Darstellung (etwa gerundete Dezimalzahlen) verschiedene Einträge
+ * erhalten. Der Cache ist optional und wird pro Sitzung über
+ * AlgorithmSession.setSimplifyCache() aktiviert. Alle Methoden sind
+ * threadsicher.
+ */
+public class SimplifyCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final int maxSize;
+    private final Map<Key, AbstractExpression> entries;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public SimplifyCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public SimplifyCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Key, AbstractExpression>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, AbstractExpression> eldest) {
+                if (size() > SimplifyCache.this.maxSize) {
+                    SimplifyCache.this.evictions++;
+                    return true;
+                }
+                return false;
+            }
+
+        };
+    }
+
+    public Expression simplify(Expression expr) throws EvaluationException {
+        Key key = new Key(expr);
+        Expression exprSimplified = (Expression) get(key);
+        if (exprSimplified == null) {
+            exprSimplified = expr.simplify();
+            put(key, exprSimplified);
+        }
+        return exprSimplified;
+    }
+
+    public LogicalExpression simplify(LogicalExpression logExpr) throws EvaluationException {
+        Key key = new Key(logExpr);
+        LogicalExpression logExprSimplified = (LogicalExpression) get(key);
+        if (logExprSimplified == null) {
+            logExprSimplified = logExpr.simplify();
+            put(key, logExprSimplified);
+        }
+        return logExprSimplified;
+    }
+
+    public MatrixExpression simplify(MatrixExpression matExpr) throws EvaluationException {
+        Key key = new Key(matExpr);
+        MatrixExpression matExprSimplified = (MatrixExpression) get(key);
+        if (matExprSimplified == null) {
+            matExprSimplified = matExpr.simplify();
+            put(key, matExprSimplified);
+        }
+        return matExprSimplified;
+    }
+
+    private synchronized AbstractExpression get(Key key) {
+        AbstractExpression value = this.entries.get(key);
+        if (value == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return value;
+    }
+
+    private synchronized void put(Key key, AbstractExpression value) {
+        this.entries.put(key, value);
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public synchronized int getSize() {
+        return this.entries.size();
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * Leert den Cache und setzt alle Zähler zurück.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SimplifyCache[size = " + this.entries.size() + ", maxSize = " + this.maxSize + ", hits = " + this.hits
+                + ", misses = " + this.misses + ", evictions = " + this.evictions + "]";
+    }
+
+    /**
+     * Schlüssel eines Eintrags. Zwei Schlüssel sind gleich, wenn ihre Ausdrücke
+     * von derselben Art und strukturell gleich sind.
+     */
+    private static final class Key {
+
+        private final AbstractExpression abstrExpr;
+        private final int hash;
+
+        private Key(AbstractExpression abstrExpr) {
+            this.abstrExpr = abstrExpr;
+            this.hash = abstrExpr.toString().hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key) || ((Key) obj).hash != this.hash) {
+                return false;
+            }
+            AbstractExpression other = ((Key) obj).abstrExpr;
+            if (this.abstrExpr instanceof Expression) {
+                return other instanceof Expression && ((Expression) this.abstrExpr).equals((Expression) other);
+            }
+            if (this.abstrExpr instanceof LogicalExpression) {
+                return other instanceof LogicalExpression && ((LogicalExpression) this.abstrExpr).equals((LogicalExpression) other);
+            }
+            return other instanceof MatrixExpression && ((MatrixExpression) this.abstrExpr).equals((MatrixExpression) other);
+        }
+
+    }
+
+}
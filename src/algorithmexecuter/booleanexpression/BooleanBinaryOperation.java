@@ -2,6 +2,7 @@ package algorithmexecuter.booleanexpression;
 
 import algorithmexecuter.enums.ComparingOperators;
 import algorithmexecuter.model.AlgorithmMemory;
+import algorithmexecuter.model.IdentifierSlotTable;
 import java.util.Set;
 
 public class BooleanBinaryOperation extends BooleanExpression {
@@ -27,6 +28,12 @@ public class BooleanBinaryOperation extends BooleanExpression {
         return this.right;
     }
 
+    @Override
+    public void resolveIdentifierSlots(IdentifierSlotTable slotTable) {
+        this.left.resolveIdentifierSlots(slotTable);
+        this.right.resolveIdentifierSlots(slotTable);
+    }
+
     @Override
     public boolean evaluate(AlgorithmMemory scopeMemory) {
         switch (this.type) {
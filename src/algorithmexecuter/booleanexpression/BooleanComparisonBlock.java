@@ -1,30 +1,69 @@
 package algorithmexecuter.booleanexpression;
 
+import abstractexpressions.expression.classes.BinaryOperation;
+import abstractexpressions.expression.classes.Constant;
 import abstractexpressions.expression.classes.Expression;
 import abstractexpressions.interfaces.AbstractExpression;
 import abstractexpressions.logicalexpression.classes.LogicalExpression;
 import abstractexpressions.matrixexpression.classes.MatrixExpression;
+import algorithmexecuter.ExecutionUtils;
 import algorithmexecuter.enums.ComparingOperators;
 import algorithmexecuter.model.AlgorithmMemory;
-import algorithmexecuter.model.identifier.Identifier;
+import algorithmexecuter.model.IdentifierSlotTable;
+import algorithmexecuter.model.utilclasses.IdentifierSubstitution;
 import algorithmexecuter.model.utilclasses.MalString;
 import algorithmexecuter.model.utilclasses.malstring.MalStringAbstractExpression;
 import algorithmexecuter.model.utilclasses.malstring.MalStringCharSequence;
 import algorithmexecuter.model.utilclasses.malstring.MalStringSummand;
 import algorithmexecuter.model.utilclasses.malstring.MalStringVariable;
 import exceptions.EvaluationException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Set;
 
 public class BooleanComparisonBlock extends BooleanExpression {
 
+    /**
+     * Rückgabewert von compareConstants(), falls die beiden Seiten nicht ohne
+     * Vereinfachung verglichen werden können.
+     */
+    private static final int NOT_COMPARABLE = Integer.MIN_VALUE;
+
     private final Object left;
     private final Object right;
     private final ComparingOperators comparingOperator;
+    /**
+     * Ersetzungen der in den beiden Seiten vorkommenden Variablen (null, falls
+     * die jeweilige Seite kein arithmetischer oder Matrizenausdruck ist).
+     */
+    private final IdentifierSubstitution leftSubstitution;
+    private final IdentifierSubstitution rightSubstitution;
 
     public BooleanComparisonBlock(Object left, Object right, ComparingOperators comparingOperator) {
         this.left = left;
         this.right = right;
         this.comparingOperator = comparingOperator;
+        this.leftSubstitution = createIdentifierSubstitution(left);
+        this.rightSubstitution = createIdentifierSubstitution(right);
+    }
+
+    private static IdentifierSubstitution createIdentifierSubstitution(Object comparisonPart) {
+        if (comparisonPart instanceof Expression || comparisonPart instanceof MatrixExpression) {
+            return new IdentifierSubstitution((AbstractExpression) comparisonPart);
+        }
+        return null;
+    }
+
+    public Object getLeft() {
+        return this.left;
+    }
+
+    public Object getRight() {
+        return this.right;
+    }
+
+    public ComparingOperators getComparingOperator() {
+        return this.comparingOperator;
     }
 
     @Override
@@ -77,6 +116,22 @@ public class BooleanComparisonBlock extends BooleanExpression {
         }
     }
 
+    @Override
+    public void resolveIdentifierSlots(IdentifierSlotTable slotTable) {
+        if (this.leftSubstitution != null) {
+            this.leftSubstitution.resolveIdentifierSlots(slotTable);
+        }
+        if (this.rightSubstitution != null) {
+            this.rightSubstitution.resolveIdentifierSlots(slotTable);
+        }
+        if (this.left instanceof BooleanExpression) {
+            ((BooleanExpression) this.left).resolveIdentifierSlots(slotTable);
+        }
+        if (this.right instanceof BooleanExpression) {
+            ((BooleanExpression) this.right).resolveIdentifierSlots(slotTable);
+        }
+    }
+
     @Override
     public boolean evaluate(AlgorithmMemory scopeMemory) {
         if (isComparisonOfExpressions()) {
@@ -85,22 +140,23 @@ public class BooleanComparisonBlock extends BooleanExpression {
             sondern der Vergleich liefert stets 'false'
              */
             try {
-                Expression exprLeft = replaceVariablesInExpressionByIdentifierValues((Expression) this.left, scopeMemory);
-                Expression exprRight = replaceVariablesInExpressionByIdentifierValues((Expression) this.right, scopeMemory);
-                exprLeft = exprLeft.simplify();
-                exprRight = exprRight.simplify();
+                Expression exprLeft = this.leftSubstitution.substitute((Expression) this.left, scopeMemory);
+                Expression exprRight = this.rightSubstitution.substitute((Expression) this.right, scopeMemory);
+                // Schneller Vergleich, falls beide Seiten bereits Konstanten sind.
+                int comparison = compareConstants(exprLeft, exprRight);
+                if (comparison != NOT_COMPARABLE) {
+                    return isComparisonSatisfied(comparison);
+                }
+                // Ansonsten: symbolischer Vergleich.
+                exprLeft = ExecutionUtils.simplify(exprLeft, scopeMemory);
+                exprRight = ExecutionUtils.simplify(exprRight, scopeMemory);
                 double valueLeft = exprLeft.evaluate();
                 double valueRight = exprRight.evaluate();
                 switch (this.comparingOperator) {
                     case EQUALS:
-                        if (exprLeft.equivalent(exprRight)) {
-                            return true;
-                        } else if (exprLeft.getContainedIndeterminates().isEmpty() && exprRight.getContainedIndeterminates().isEmpty()) {
-                            return valueLeft == valueRight;
-                        }
-                        break;
+                        return areEqual(exprLeft, exprRight, valueLeft, valueRight);
                     case NOT_EQUALS:
-                        return !new BooleanComparisonBlock(exprLeft, exprRight, ComparingOperators.EQUALS).evaluate(scopeMemory);
+                        return !areEqual(exprLeft, exprRight, valueLeft, valueRight);
                     case GREATER:
                         if (exprLeft.getContainedIndeterminates().isEmpty() && exprRight.getContainedIndeterminates().isEmpty()) {
                             return valueLeft > valueRight;
@@ -141,10 +197,10 @@ public class BooleanComparisonBlock extends BooleanExpression {
             sondern der Vergleich liefert stets 'false'
              */
             try {
-                MatrixExpression matValueLeft = replaceVariablesInMatrixExpressionByIdentifierValues((MatrixExpression) this.left, scopeMemory);
-                MatrixExpression matValueRight = replaceVariablesInMatrixExpressionByIdentifierValues((MatrixExpression) this.right, scopeMemory);
-                matValueLeft = matValueLeft.simplify();
-                matValueRight = matValueRight.simplify();
+                MatrixExpression matValueLeft = this.leftSubstitution.substitute((MatrixExpression) this.left, scopeMemory);
+                MatrixExpression matValueRight = this.rightSubstitution.substitute((MatrixExpression) this.right, scopeMemory);
+                matValueLeft = ExecutionUtils.simplify(matValueLeft, scopeMemory);
+                matValueRight = ExecutionUtils.simplify(matValueRight, scopeMemory);
                 switch (this.comparingOperator) {
                     case EQUALS:
                         return matValueLeft.equivalent(matValueRight);
@@ -177,6 +233,97 @@ public class BooleanComparisonBlock extends BooleanExpression {
         return false;
     }
 
+    private boolean isComparisonSatisfied(int comparison) {
+        switch (this.comparingOperator) {
+            case EQUALS:
+                return comparison == 0;
+            case NOT_EQUALS:
+                return comparison != 0;
+            case GREATER:
+                return comparison > 0;
+            case GREATER_OR_EQUALS:
+                return comparison >= 0;
+            case SMALLER:
+                return comparison < 0;
+            case SMALLER_OR_EQUALS:
+                return comparison <= 0;
+        }
+        return false;
+    }
+
+    /**
+     * Vergleicht exprLeft und exprRight ohne Vereinfachung und gibt -1, 0 bzw.
+     * 1 zurück, falls exprLeft kleiner, gleich bzw. größer als exprRight ist.
+     * Sind beide Seiten exakte Dezimalzahlen, ganze oder rationale Zahlen
+     * (Quotienten ganzer Zahlen), so wird exakt verglichen, sind beide Seiten
+     * sonstige Konstanten (mindestens eine davon ein Näherungswert), so wird
+     * anhand ihrer Näherungswerte verglichen. In allen anderen Fällen wird
+     * NOT_COMPARABLE zurückgegeben.
+     */
+    private static int compareConstants(Expression exprLeft, Expression exprRight) {
+        if (exprLeft instanceof Constant && exprRight instanceof Constant
+                && !((Constant) exprLeft).isApproximate() && !((Constant) exprRight).isApproximate()) {
+            return Integer.signum(((Constant) exprLeft).getValue().compareTo(((Constant) exprRight).getValue()));
+        }
+        BigInteger[] fractionLeft = getFraction(exprLeft);
+        BigInteger[] fractionRight = getFraction(exprRight);
+        if (fractionLeft != null && fractionRight != null) {
+            // a/b <=> c/d genau dann, wenn a*d*sgn(b*d) <=> c*b*sgn(b*d).
+            int comparison = fractionLeft[0].multiply(fractionRight[1]).compareTo(fractionRight[0].multiply(fractionLeft[1]));
+            return comparison * fractionLeft[1].signum() * fractionRight[1].signum();
+        }
+        if (exprLeft instanceof Constant && exprRight instanceof Constant) {
+            double valueLeft = ((Constant) exprLeft).getApproxValue();
+            double valueRight = ((Constant) exprRight).getApproxValue();
+            if (valueLeft < valueRight) {
+                return -1;
+            }
+            if (valueLeft > valueRight) {
+                return 1;
+            }
+            if (valueLeft == valueRight) {
+                return 0;
+            }
+        }
+        return NOT_COMPARABLE;
+    }
+
+    /**
+     * Gibt Zähler und Nenner von expr zurück, falls expr eine exakte
+     * Dezimalzahl, eine ganze Zahl oder ein Quotient ganzer Zahlen mit von 0
+     * verschiedenem Nenner ist, ansonsten null.
+     */
+    private static BigInteger[] getFraction(Expression expr) {
+        if (expr instanceof Constant && !((Constant) expr).isApproximate()) {
+            BigDecimal value = ((Constant) expr).getValue();
+            if (value.scale() <= 0) {
+                return new BigInteger[]{value.toBigIntegerExact(), BigInteger.ONE};
+            }
+            return new BigInteger[]{value.unscaledValue(), BigInteger.TEN.pow(value.scale())};
+        }
+        if (expr.isIntegerConstant()) {
+            return new BigInteger[]{((Constant) expr).getBigIntValue(), BigInteger.ONE};
+        }
+        if (expr.isRationalConstant()) {
+            BigInteger denominator = ((Constant) ((BinaryOperation) expr).getRight()).getBigIntValue();
+            if (denominator.signum() != 0) {
+                return new BigInteger[]{((Constant) ((BinaryOperation) expr).getLeft()).getBigIntValue(), denominator};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gibt zurück, ob die (bereits vereinfachten) Ausdrücke exprLeft und
+     * exprRight gleich sind.
+     */
+    private static boolean areEqual(Expression exprLeft, Expression exprRight, double valueLeft, double valueRight) {
+        if (exprLeft.equivalent(exprRight)) {
+            return true;
+        }
+        return exprLeft.getContainedIndeterminates().isEmpty() && exprRight.getContainedIndeterminates().isEmpty() && valueLeft == valueRight;
+    }
+
     private boolean isComparisonOfExpressions() {
         return this.left instanceof Expression && this.right instanceof Expression && this.comparingOperator != null;
     }
@@ -207,28 +354,6 @@ public class BooleanComparisonBlock extends BooleanExpression {
         return this.left.toString() + this.comparingOperator.getValue() + this.right.toString();
     }
 
-    private static Expression replaceVariablesInExpressionByIdentifierValues(Expression expr, AlgorithmMemory scopeMemory) {
-        Set<String> vars = expr.getContainedVars();
-        for (String var : vars) {
-            if (scopeMemory.containsIdentifier(var) && scopeMemory.get(var).getRuntimeValue() instanceof Expression) {
-                expr = expr.replaceVariable(var, (Expression) scopeMemory.get(var).getRuntimeValue());
-            }
-        }
-        return expr;
-    }
-
-    private static MatrixExpression replaceVariablesInMatrixExpressionByIdentifierValues(MatrixExpression matExpr, AlgorithmMemory scopeMemory) {
-        Set<String> vars = matExpr.getContainedVars();
-        for (String var : vars) {
-            if (scopeMemory.containsIdentifier(var) && scopeMemory.get(var).getRuntimeValue() instanceof Expression) {
-                matExpr = matExpr.replaceVariable(var, (Expression) scopeMemory.get(var).getRuntimeValue());
-            } else if (scopeMemory.containsIdentifier(var) && scopeMemory.get(var).getRuntimeValue() instanceof MatrixExpression) {
-                matExpr = matExpr.replaceMatrixVariable(var, (MatrixExpression) scopeMemory.get(var).getRuntimeValue());
-            }
-        }
-        return matExpr;
-    }
-
     private static String replaceVariablesInMalStringByIdentifierValuesAndGetStringValue(MalString malString, AlgorithmMemory scopeMemory) {
         String resultString = "";
         for (MalStringSummand summand : malString.getMalStringSummands()) {
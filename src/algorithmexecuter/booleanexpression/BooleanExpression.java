@@ -16,6 +16,7 @@ import algorithmexecuter.exceptions.AlgorithmCompileException;
 import algorithmexecuter.exceptions.BooleanExpressionException;
 import algorithmexecuter.exceptions.constants.AlgorithmCompileExceptionIds;
 import algorithmexecuter.model.AlgorithmMemory;
+import algorithmexecuter.model.IdentifierSlotTable;
 import algorithmexecuter.model.utilclasses.EditorCodeString;
 import algorithmexecuter.model.utilclasses.MalString;
 import exceptions.ExpressionException;
@@ -27,6 +28,14 @@ public abstract class BooleanExpression implements AbstractExpression {
 
     public abstract boolean evaluate(AlgorithmMemory scopeMemory);
 
+    /**
+     * Ordnet allen in diesem Ausdruck vorkommenden boolschen Variablen den
+     * Slot-Index aus slotTable zu, damit zur Laufzeit ohne Namenssuche auf den
+     * Speicher zugegriffen werden kann.
+     */
+    public void resolveIdentifierSlots(IdentifierSlotTable slotTable) {
+    }
+
     @Override
     public Set<String> getContainedVars() {
         Set<String> vars = new HashSet<>();
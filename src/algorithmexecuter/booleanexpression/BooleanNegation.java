@@ -2,6 +2,7 @@ package algorithmexecuter.booleanexpression;
 
 import algorithmexecuter.enums.Operators;
 import algorithmexecuter.model.AlgorithmMemory;
+import algorithmexecuter.model.IdentifierSlotTable;
 import java.util.Map;
 import java.util.Set;
 
@@ -28,6 +29,11 @@ public class BooleanNegation extends BooleanExpression {
         this.argument.addContainedIndeterminates(vars);
     }
 
+    @Override
+    public void resolveIdentifierSlots(IdentifierSlotTable slotTable) {
+        this.argument.resolveIdentifierSlots(slotTable);
+    }
+
     @Override
     public boolean evaluate(AlgorithmMemory scopeMemory) {
         return !this.argument.evaluate(scopeMemory);
@@ -1,11 +1,14 @@
 package algorithmexecuter.booleanexpression;
 
 import algorithmexecuter.model.AlgorithmMemory;
+import algorithmexecuter.model.IdentifierSlotTable;
+import algorithmexecuter.model.identifier.Identifier;
 import java.util.Set;
 
 public class BooleanVariable extends BooleanExpression {
 
     private final String name;
+    private int slot = -1;
 
     public BooleanVariable(String name) {
         this.name = name;
@@ -30,10 +33,16 @@ public class BooleanVariable extends BooleanExpression {
         vars.add(this.name);
     }
 
+    @Override
+    public void resolveIdentifierSlots(IdentifierSlotTable slotTable) {
+        this.slot = slotTable.getSlot(this.name);
+    }
+
     @Override
     public boolean evaluate(AlgorithmMemory scopeMemory) {
-        if (scopeMemory.containsKey(this.name) && scopeMemory.get(this.name).getRuntimeValue() instanceof BooleanConstant) {
-            return ((BooleanConstant) scopeMemory.get(this.name).getRuntimeValue()).getValue();
+        Identifier identifier = this.slot >= 0 ? scopeMemory.get(this.slot) : scopeMemory.get(this.name);
+        if (identifier != null && identifier.getRuntimeValue() instanceof BooleanConstant) {
+            return ((BooleanConstant) identifier.getRuntimeValue()).getValue();
         }
         return false;
     }
@@ -0,0 +1,22 @@
+package algorithmexecuter.enums;
+
+public enum EvictionPolicy {
+
+    LRU("lru"), FIFO("fifo");
+
+    private final String value;
+
+    EvictionPolicy(String value){
+        this.value = value;
+    }
+
+    public String getValue() {
+        return this.value;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+
+}
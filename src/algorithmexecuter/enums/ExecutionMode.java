@@ -0,0 +1,22 @@
+package algorithmexecuter.enums;
+
+public enum ExecutionMode {
+
+    INTERPRETER("interpreter"), COMPILED("compiled");
+
+    private final String value;
+
+    ExecutionMode(String value){
+        this.value = value;
+    }
+
+    public String getValue() {
+        return this.value;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+
+}
@@ -12,6 +12,7 @@ public enum Keyword {
 //    CATCH("catch"),
 //    FINALLY("finally"),
     FOR("for"),
+    PARALLELFOR("parallelfor"),
     WHILE("while"),
     BREAK("break"),
     CONTINUE("continue"),
@@ -1,5 +0,0 @@
-package algorithmexecuter.exceptions;
-
-public class AlgorithmBreakException extends AlgorithmRuntimeException {
-    
-}
@@ -1,13 +0,0 @@
-package algorithmexecuter.exceptions;
-
-/**
- * Fehlerklasse, die geworfen wird, wenn beim Kompilieren eines
- * Algorithmusbefehls festgestellt wird, dass dieser Befehl nicht die erhoffte
- * Struktur besitzt.
- */
-public class NotDesiredCommandException extends AlgorithmException {
-
-    public NotDesiredCommandException() {
-    }
-
-}
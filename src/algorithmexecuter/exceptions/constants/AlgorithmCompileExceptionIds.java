@@ -26,6 +26,9 @@ public abstract class AlgorithmCompileExceptionIds {
     public static final String AC_COMMAND_COUND_NOT_BE_PARSED = "AC_COMMAND_COUND_NOT_BE_PARSED";    
     public static final String AC_CONTROL_STRUCTURE_MUST_CONTAIN_BEGIN_AND_END = "AC_CONTROL_STRUCTURE_MUST_CONTAIN_BEGIN_AND_END";    
     public static final String AC_CONTROL_STRUCTURE_FOR_NEW_IDENTIFIER_NOT_ALLOWED = "AC_CONTROL_STRUCTURE_FOR_NEW_IDENTIFIER_NOT_ALLOWED";    
+    public static final String AC_CONTROL_STRUCTURE_PARALLEL_FOR_MUST_BE_COUNTING_LOOP = "AC_CONTROL_STRUCTURE_PARALLEL_FOR_MUST_BE_COUNTING_LOOP";
+    public static final String AC_CONTROL_STRUCTURE_PARALLEL_FOR_COMMAND_NOT_ALLOWED = "AC_CONTROL_STRUCTURE_PARALLEL_FOR_COMMAND_NOT_ALLOWED";
+    public static final String AC_CONTROL_STRUCTURE_PARALLEL_FOR_DEPENDENCY = "AC_CONTROL_STRUCTURE_PARALLEL_FOR_DEPENDENCY";
     public static final String AC_KEYWORD_NOT_ALLOWED_HERE = "AC_KEYWORD_NOT_ALLOWED_HERE";    
     public static final String AC_MISSING_LINE_SEPARATOR = "AC_MISSING_LINE_SEPARATOR";    
     public static final String AC_MAIN_ALGORITHM_DOES_NOT_EXIST = "AC_MAIN_ALGORITHM_DOES_NOT_EXIST";
@@ -3,6 +3,7 @@ package algorithmexecuter.exceptions.constants;
 public abstract class AlgorithmExecutionExceptionIds {
     
     public static final String AE_MAIN_NOT_FOUND = "AE_MAIN_NOT_FOUND";
+    public static final String AE_ALGORITHM_NOT_FOUND = "AE_ALGORITHM_NOT_FOUND";
     public static final String AE_ALGORITHM_NOT_ALL_INPUT_PARAMETERS_SET = "AE_ALGORITHM_NOT_ALL_INPUT_PARAMETERS_SET";
     public static final String AE_NO_SUCH_COMMAND = "AE_NO_SUCH_COMMAND";
     public static final String AE_RETURN_TYPE_EXPECTED = "AE_RETURN_TYPE_EXPECTED";
@@ -10,5 +11,12 @@ public abstract class AlgorithmExecutionExceptionIds {
     public static final String AE_MATRIXEXPRESSION_COULD_NOT_BE_SIMPLIFIED_TO_A_MATRIX = "AE_MATRIXEXPRESSION_COULD_NOT_BE_SIMPLIFIED_TO_A_MATRIX";
     public static final String AE_INDEX_IS_NOT_AN_INTEGER = "AE_INDEX_IS_NOT_AN_INTEGER";
     public static final String AE_INDEX_OUT_OF_BOUNDS = "AE_INDEX_OUT_OF_BOUNDS";
+    public static final String AE_EXECUTION_INTERRUPTED = "AE_EXECUTION_INTERRUPTED";
+    public static final String AE_EXECUTION_CANCELLED = "AE_EXECUTION_CANCELLED";
+    public static final String AE_EXECUTION_DEADLINE_EXCEEDED = "AE_EXECUTION_DEADLINE_EXCEEDED";
+    public static final String AE_MAX_NUMBER_OF_COMMANDS_EXCEEDED = "AE_MAX_NUMBER_OF_COMMANDS_EXCEEDED";
+    public static final String AE_MAX_NUMBER_OF_LOOP_ITERATIONS_EXCEEDED = "AE_MAX_NUMBER_OF_LOOP_ITERATIONS_EXCEEDED";
+    public static final String AE_MAX_CALL_DEPTH_EXCEEDED = "AE_MAX_CALL_DEPTH_EXCEEDED";
+    public static final String AE_MAX_VALUE_SIZE_EXCEEDED = "AE_MAX_VALUE_SIZE_EXCEEDED";
     
 }
@@ -7,9 +7,15 @@ import abstractexpressions.interfaces.AbstractExpression;
 import abstractexpressions.matrixexpression.classes.Matrix;
 import abstractexpressions.matrixexpression.classes.MatrixExpression;
 import algorithmexecuter.AlgorithmBuilder;
+import algorithmexecuter.AlgorithmClosureCompiler;
+import algorithmexecuter.AlgorithmClosureCompiler.CompiledCommand;
 import algorithmexecuter.AlgorithmExecuter;
+import algorithmexecuter.AlgorithmSession;
 import algorithmexecuter.CompilerUtils;
+import algorithmexecuter.ExecutionControl;
+import algorithmexecuter.ExecutionUtils;
 import algorithmexecuter.annotations.Execute;
+import algorithmexecuter.enums.ExecutionMode;
 import algorithmexecuter.enums.FixedAlgorithmNames;
 import algorithmexecuter.model.command.AlgorithmCommand;
 import algorithmexecuter.model.command.IfElseControlStructure;
@@ -22,11 +28,13 @@ import algorithmexecuter.model.command.DoWhileControlStructure;
 import algorithmexecuter.model.command.ForControlStructure;
 import algorithmexecuter.model.identifier.Identifier;
 import exceptions.EvaluationException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class Algorithm {
 
@@ -34,16 +42,80 @@ public class Algorithm {
     private final Identifier[] inputParameters;
     private final IdentifierType returnType;
     private final List<AlgorithmCommand> commands;
+    /**
+     * approx() verändert vorübergehend die Präzision aller Variablen der
+     * Ausdrucksbibliothek. Aufrufe von approx() werden daher über diese Sperre
+     * gegeneinander abgeschirmt.
+     */
+    private static final Object APPROX_LOCK = new Object();
+    /**
+     * Implementierungen der Standardalgorithmen, indiziert nach deren Namen.
+     */
+    private static final Map<String, MethodHandle> EXECUTE_METHODS = ExecutionUtils.getExecuteMethodHandles(Algorithm.class, MethodHandles.lookup(),
+            MethodType.methodType(Identifier.class, Algorithm.class, AlgorithmMemory.class));
+
+    private final IdentifierSlotTable slotTable;
+    /**
+     * Sitzung, in welcher der Algorithmus kompiliert wurde (null bei
+     * Standardalgorithmen).
+     */
+    private final AlgorithmSession session;
+    /**
+     * Übersetzte Befehle für den Ausführungsmodus COMPILED. Diese werden bei
+     * der ersten Ausführung in diesem Modus erzeugt.
+     */
+    private volatile CompiledCommand compiledCommands;
+    /**
+     * Gibt an, ob der Algorithmus seiteneffektfrei ist, d.h. keine Ausgaben
+     * tätigt und nur seiteneffektfreie Algorithmen aufruft. Dies wird nach dem
+     * Kompilieren aller Algorithmen ermittelt.
+     */
+    private boolean pure = false;
+    /**
+     * Gibt an, ob der Algorithmus nebenläufig zu anderen Ausführungen
+     * ausgeführt werden darf. Dies ist nicht der Fall, wenn er (direkt oder
+     * indirekt) einen Standardalgorithmus aufruft, welcher globale Zustände der
+     * Ausdrucksbibliothek verändert (etwa approx()).
+     */
+    private boolean threadSafe = true;
+    /**
+     * Ergebnistabelle für Aufrufe des Algorithmus (null, falls der Algorithmus
+     * nicht seiteneffektfrei ist oder keine Ergebnisse gespeichert werden).
+     */
+    private AlgorithmMemoTable memoTable;
+
+    private Algorithm(String name, Identifier[] inputParameters, IdentifierType returnType, AlgorithmSession session, IdentifierSlotTable slotTable) {
+        this.name = name;
+        this.session = session;
+        this.inputParameters = inputParameters;
+        this.returnType = returnType;
+        this.commands = new ArrayList<>();
+        this.slotTable = slotTable;
+    }
 
-    private Algorithm(String name, Identifier[] inputParameters, IdentifierType returnType, List<AlgorithmCommand> commands) {
+    private Algorithm(String name, Identifier[] inputParameters, IdentifierType returnType, List<AlgorithmCommand> commands, AlgorithmSession session) {
         this.name = name;
+        this.session = session;
         this.inputParameters = inputParameters;
         this.returnType = returnType;
         this.commands = commands;
+        this.slotTable = new IdentifierSlotTable();
+        // Die Parameter belegen stets die ersten Slots.
+        for (Identifier parameter : inputParameters) {
+            parameter.setSlot(this.slotTable.getOrCreateSlot(parameter.getName()));
+        }
     }
 
     public Algorithm(String name, Identifier[] inputParameters, IdentifierType returnType) {
-        this(name, inputParameters, returnType, new ArrayList<AlgorithmCommand>());
+        this(name, inputParameters, returnType, new ArrayList<AlgorithmCommand>(), null);
+    }
+
+    public Algorithm(String name, Identifier[] inputParameters, IdentifierType returnType, AlgorithmSession session) {
+        this(name, inputParameters, returnType, new ArrayList<AlgorithmCommand>(), session);
+    }
+
+    public AlgorithmSession getSession() {
+        return session;
     }
 
     public Signature getSignature() {
@@ -70,6 +142,34 @@ public class Algorithm {
         return commands;
     }
 
+    public IdentifierSlotTable getSlotTable() {
+        return slotTable;
+    }
+
+    public boolean isPure() {
+        return pure;
+    }
+
+    public void setPure(boolean pure) {
+        this.pure = pure;
+    }
+
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
+    public void setThreadSafe(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+    }
+
+    public AlgorithmMemoTable getMemoTable() {
+        return memoTable;
+    }
+
+    public void setMemoTable(AlgorithmMemoTable memoTable) {
+        this.memoTable = memoTable;
+    }
+
     @Override
     public String toString() {
         String algorithm = "";
@@ -90,6 +190,18 @@ public class Algorithm {
         return algorithm + "}";
     }
 
+    /**
+     * Gibt eine Kopie des Algorithmus zurück, welche Parameter, Slots und die
+     * kompilierten Bestandteile der Befehle mit diesem teilt. Die Kopie ist
+     * unverlinkt, ihre Aufrufe und Eigenschaften (seiteneffektfrei,
+     * threadsicher) müssen daher neu ermittelt werden.
+     */
+    public Algorithm copy() {
+        Algorithm copy = new Algorithm(this.name, this.inputParameters, this.returnType, this.session, this.slotTable);
+        copy.appendCommands(AlgorithmCommand.copy(this.commands));
+        return copy;
+    }
+
     public void appendCommand(AlgorithmCommand command) {
         command.setAlgorithm(this);
         this.commands.add(command);
@@ -127,17 +239,53 @@ public class Algorithm {
         }
     }
 
-    public void initInputParameter(Identifier[] identifiers) {
-        Object[] values = new Object[identifiers.length];
-        for (int i = 0; i < this.inputParameters.length; i++) {
-            values[i] = identifiers[i].getRuntimeValue();
-        }
-        for (int i = 0; i < this.inputParameters.length; i++) {
-            this.inputParameters[i].setRuntimeValue(values[i]);
-        }
+    public Identifier execute() throws AlgorithmExecutionException, EvaluationException {
+        return execute(new Identifier[0]);
     }
 
-    public Identifier execute() throws AlgorithmExecutionException, EvaluationException {
+    public Identifier execute(ExecutionMode mode) throws AlgorithmExecutionException, EvaluationException {
+        return execute(new Identifier[0], mode);
+    }
+
+    public Identifier execute(Identifier[] arguments) throws AlgorithmExecutionException, EvaluationException {
+        return execute(arguments, ExecutionMode.INTERPRETER);
+    }
+
+    /**
+     * Führt den Algorithmus mit den Werten der Bezeichner arguments als
+     * Eingabeparameter aus. Jeder Aufruf erhält dabei einen eigenen Speicher
+     * (Frame), der kompilierte Algorithmus selbst wird nicht verändert. Damit
+     * sind sowohl rekursive als auch nebenläufige Aufrufe möglich.<br>
+     * Im Modus COMPILED werden die (einmalig übersetzten) Befehle von
+     * AlgorithmClosureCompiler anstatt des Interpreters verwendet. Aufgerufene
+     * Algorithmen werden im selben Modus ausgeführt.
+     */
+    public Identifier execute(Identifier[] arguments, ExecutionMode mode) throws AlgorithmExecutionException, EvaluationException {
+        return execute(arguments, mode, null);
+    }
+
+    /**
+     * Führt den Algorithmus wie execute(arguments, mode) aus. Die Ausführung
+     * (einschließlich aller aufgerufenen Algorithmen) wird dabei über control
+     * gesteuert, kann also abgebrochen werden.
+     */
+    public Identifier execute(Identifier[] arguments, ExecutionMode mode, ExecutionControl control) throws AlgorithmExecutionException, EvaluationException {
+        return execute(arguments, mode, control, 0);
+    }
+
+    /**
+     * Führt den Algorithmus als Aufruf aus dem Speicher callerMemory heraus
+     * aus. Steuerung und Aufruftiefe werden dabei von callerMemory übernommen.
+     */
+    public Identifier executeCall(Identifier[] arguments, ExecutionMode mode, AlgorithmMemory callerMemory) throws AlgorithmExecutionException, EvaluationException {
+        return execute(arguments, mode, callerMemory.getExecutionControl(), callerMemory.getCallDepth() + 1);
+    }
+
+    private Identifier execute(Identifier[] arguments, ExecutionMode mode, ExecutionControl control, int callDepth) throws AlgorithmExecutionException, EvaluationException {
+        if (control != null) {
+            control.checkCall(callDepth);
+        }
+
         // Leeren Algorithmus nur im void-Fall akzeptieren.
         if (this.commands.isEmpty()) {
             if (this.returnType == null) {
@@ -148,48 +296,52 @@ public class Algorithm {
         }
 
         // Prüfung, ob alle Parameter Werte besitzen. Sollte eigentlich stets der Fall sein.
-        checkForInputIdentifierWithoutValues();
+        checkForInputIdentifierWithoutValues(arguments);
 
         // Prüfung, ob es sich um einen Standardalgorithmus handelt.
         if (isStandardAlgorithm()) {
-            return executeStandardAlgorithm(getInitialAlgorithmMemory());
+            return executeStandardAlgorithm(getInitialAlgorithmMemory(arguments, control, callDepth));
+        }
+
+        if (mode == ExecutionMode.COMPILED) {
+            return getCompiledCommands().execute(getInitialAlgorithmMemory(arguments, control, callDepth));
         }
+        return AlgorithmExecuter.executeConnectedBlock(getInitialAlgorithmMemory(arguments, control, callDepth), this.commands);
+    }
 
-        return AlgorithmExecuter.executeConnectedBlock(getInitialAlgorithmMemory(), this.commands);
+    private CompiledCommand getCompiledCommands() {
+        CompiledCommand compiled = this.compiledCommands;
+        if (compiled == null) {
+            compiled = AlgorithmClosureCompiler.compileConnectedBlock(this.commands);
+            this.compiledCommands = compiled;
+        }
+        return compiled;
     }
 
-    private void checkForInputIdentifierWithoutValues() throws AlgorithmExecutionException {
+    private void checkForInputIdentifierWithoutValues(Identifier[] arguments) throws AlgorithmExecutionException {
         for (int i = 0; i < this.inputParameters.length; i++) {
-            if (this.inputParameters[i].getRuntimeValue() == null) {
+            if (i >= arguments.length || arguments[i].getRuntimeValue() == null) {
                 throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_ALGORITHM_NOT_ALL_INPUT_PARAMETERS_SET, i, this.getName());
             }
         }
     }
 
     private boolean isStandardAlgorithm() {
-        for (Algorithm alg : AlgorithmBuilder.FIXED_ALGORITHMS) {
-            if (alg.getName().equals(this.name)) {
-                return true;
-            }
-        }
-        return false;
+        return AlgorithmBuilder.isFixedAlgorithmName(this.name);
     }
 
     private Identifier executeStandardAlgorithm(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException {
-        Method[] methods = Algorithm.class.getDeclaredMethods();
-        Execute annotation;
-        for (Method method : methods) {
-            annotation = method.getAnnotation(Execute.class);
-            if (annotation != null && annotation.algorithmName().getValue().equals(this.name)) {
-                try {
-                    return (Identifier) method.invoke(this, scopeMemory);
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                    if (e.getCause() instanceof AlgorithmExecutionException) {
-                        throw (AlgorithmExecutionException) e.getCause();
-                    } else if (e.getCause() instanceof EvaluationException) {
-                        throw AlgorithmExecutionException.createAlgorithmExecutionExceptionWithMessage(e.getMessage());
-                    }
-                }
+        MethodHandle executeMethod = EXECUTE_METHODS.get(this.name);
+        if (executeMethod != null) {
+            try {
+                return (Identifier) executeMethod.invokeExact(this, scopeMemory);
+            } catch (AlgorithmExecutionException | RuntimeException | Error e) {
+                throw e;
+            } catch (EvaluationException e) {
+                throw AlgorithmExecutionException.createAlgorithmExecutionExceptionWithMessage(e.getMessage());
+            } catch (Throwable e) {
+                // Nur wegen invokeExact() nötig, die Implementierungen werfen keine weiteren geprüften Ausnahmen.
+                throw new IllegalStateException(e);
             }
         }
         throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_NO_SUCH_COMMAND, getSignature());
@@ -197,9 +349,9 @@ public class Algorithm {
 
     @Execute(algorithmName = FixedAlgorithmNames.ENTRY)
     private Identifier executeEntry(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException {
-        MatrixExpression matExpr = (MatrixExpression) this.inputParameters[0].getRuntimeValue();
-        Expression i = (Expression) this.inputParameters[1].getRuntimeValue();
-        Expression j = (Expression) this.inputParameters[2].getRuntimeValue();
+        MatrixExpression matExpr = (MatrixExpression) scopeMemory.get(this.inputParameters[0]).getRuntimeValue();
+        Expression i = (Expression) scopeMemory.get(this.inputParameters[1]).getRuntimeValue();
+        Expression j = (Expression) scopeMemory.get(this.inputParameters[2]).getRuntimeValue();
         if (!matExpr.isMatrix()) {
             throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_MATRIXEXPRESSION_COULD_NOT_BE_SIMPLIFIED_TO_A_MATRIX, matExpr);
         }
@@ -225,49 +377,57 @@ public class Algorithm {
 
     @Execute(algorithmName = FixedAlgorithmNames.APPROX)
     private Identifier executeApprox(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException {
-        AbstractExpression abstrExpr = (AbstractExpression) this.inputParameters[0].getRuntimeValue();
-        AbstractExpression approximatedAbstrExpr = null;
+        AbstractExpression abstrExpr = (AbstractExpression) scopeMemory.get(this.inputParameters[0]).getRuntimeValue();
+        AbstractExpression approximatedAbstrExpr;
+        synchronized (APPROX_LOCK) {
+            approximatedAbstrExpr = approximate(abstrExpr);
+        }
 
-        if (abstrExpr instanceof Expression) {
-            Expression expr = (Expression) abstrExpr;
-            /*
-             Falls expr selbstdefinierte Funktionen enthält, dann zunächst expr so
-             darstellen, dass es nur vordefinierte Funktionen beinhaltet.
-             */
-            expr = expr.replaceSelfDefinedFunctionsByPredefinedFunctions();
-            // Zunächst wird, soweit es geht, EXAKT vereinfacht, danach approximativ ausgewertet.
-            expr = expr.simplify();
-            expr = expr.turnToApproximate().simplify();
-            /*
-             Dies dient dazu, dass alle Variablen wieder "präzise" sind. Sie
-             werden nur dann approximativ ausgegeben, wenn sie nicht präzise
-             (precise = false) sind.
-             */
-            Variable.setAllPrecise(true);
-            approximatedAbstrExpr = expr;
-        } else {
+        Identifier result = Identifier.createIdentifier(CompilerUtils.generateTechnicalIdentifierName(scopeMemory), IdentifierType.identifierTypeOf(approximatedAbstrExpr));
+        result.setRuntimeValue(approximatedAbstrExpr);
+        return result;
+    }
+
+    private static AbstractExpression approximate(AbstractExpression abstrExpr) throws EvaluationException {
+        try {
+            if (abstrExpr instanceof Expression) {
+                Expression expr = (Expression) abstrExpr;
+                /*
+                 Falls expr selbstdefinierte Funktionen enthält, dann zunächst expr so
+                 darstellen, dass es nur vordefinierte Funktionen beinhaltet.
+                 */
+                expr = expr.replaceSelfDefinedFunctionsByPredefinedFunctions();
+                // Zunächst wird, soweit es geht, EXAKT vereinfacht, danach approximativ ausgewertet.
+                expr = expr.simplify();
+                return expr.turnToApproximate().simplify();
+            }
             MatrixExpression matExpr = (MatrixExpression) abstrExpr;
             // Mit Werten belegte Variablen müssen durch ihren exakten Ausdruck ersetzt werden.
             matExpr = matExpr.simplifyByInsertingDefinedVars();
             // Zunächst wird, soweit es geht, EXAKT vereinfacht, danach approximativ ausgewertet.
             matExpr = matExpr.simplify();
-            matExpr = matExpr.turnToApproximate().simplify();
+            return matExpr.turnToApproximate().simplify();
+        } finally {
             /*
              Dies dient dazu, dass alle Variablen wieder "präzise" sind. Sie
              werden nur dann approximativ ausgegeben, wenn sie nicht präzise
-             (precise = false) sind.
+             (precise = false) sind. Dies muss auch im Fehlerfall geschehen.
              */
             Variable.setAllPrecise(true);
-            approximatedAbstrExpr = matExpr;
         }
-
-        Identifier result = Identifier.createIdentifier(CompilerUtils.generateTechnicalIdentifierName(scopeMemory), IdentifierType.identifierTypeOf(approximatedAbstrExpr));
-        result.setRuntimeValue(approximatedAbstrExpr);
-        return result;
     }
 
-    private AlgorithmMemory getInitialAlgorithmMemory() {
-        return new AlgorithmMemory(this, this.getInputParameters());
+    private AlgorithmMemory getInitialAlgorithmMemory(Identifier[] arguments, ExecutionControl control, int callDepth) {
+        AlgorithmMemory memory = new AlgorithmMemory(this);
+        memory.setExecutionControl(control);
+        memory.setCallDepth(callDepth);
+        Identifier parameter;
+        for (int i = 0; i < this.inputParameters.length; i++) {
+            parameter = this.inputParameters[i].createRuntimeInstance();
+            parameter.setRuntimeValue(arguments[i].getRuntimeValue());
+            memory.addToMemoryInRuntime(parameter);
+        }
+        return memory;
     }
 
     public String toCommandString() {
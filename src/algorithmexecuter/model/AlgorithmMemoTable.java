@@ -0,0 +1,186 @@
+package algorithmexecuter.model;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.logicalexpression.classes.LogicalExpression;
+import abstractexpressions.matrixexpression.classes.MatrixExpression;
+import algorithmexecuter.booleanexpression.BooleanConstant;
+import algorithmexecuter.enums.EvictionPolicy;
+import algorithmexecuter.enums.ExecutionMode;
+import algorithmexecuter.model.identifier.Identifier;
+import algorithmexecuter.model.utilclasses.MalString;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Tabelle der Ergebnisse eines seiteneffektfreien Algorithmus, indiziert nach
+ * den Werten der Argumente und dem Ausführungsmodus. Die Tabelle enthält höchstens capacity Einträge;
+ * bei Überschreitung wird gemäß policy der am längsten nicht verwendete (LRU)
+ * bzw. der älteste (FIFO) Eintrag entfernt. Alle Methoden sind threadsicher.
+ */
+public class AlgorithmMemoTable {
+
+    private final int capacity;
+    private final EvictionPolicy policy;
+    private final Map<Key, Identifier> entries;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public AlgorithmMemoTable(int capacity, EvictionPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.entries = new LinkedHashMap<Key, Identifier>(16, 0.75f, policy == EvictionPolicy.LRU) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Identifier> eldest) {
+                if (size() > AlgorithmMemoTable.this.capacity) {
+                    AlgorithmMemoTable.this.evictions++;
+                    return true;
+                }
+                return false;
+            }
+
+        };
+    }
+
+    /**
+     * Erzeugt den Schlüssel zu den Argumenten arguments bei einer Ausführung
+     * im Modus mode.
+     */
+    public static Key createKey(Identifier[] arguments, ExecutionMode mode) {
+        Object[] values = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            values[i] = arguments[i].getRuntimeValue();
+        }
+        return new Key(values, mode);
+    }
+
+    /**
+     * Gibt das gespeicherte Ergebnis zum Schlüssel key zurück, oder null, falls
+     * keines existiert.
+     */
+    public synchronized Identifier get(Key key) {
+        Identifier result = this.entries.get(key);
+        if (result == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return result;
+    }
+
+    public synchronized void put(Key key, Identifier result) {
+        this.entries.put(key, result);
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public EvictionPolicy getPolicy() {
+        return this.policy;
+    }
+
+    public synchronized int getSize() {
+        return this.entries.size();
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AlgorithmMemoTable[size = " + this.entries.size() + ", capacity = " + this.capacity + ", policy = " + this.policy
+                + ", hits = " + this.hits + ", misses = " + this.misses + ", evictions = " + this.evictions + "]";
+    }
+
+    /**
+     * Schlüssel eines Eintrags. Die Werte der Argumente werden strukturell
+     * verglichen, ihre Zeichenkettendarstellungen dienen nur als Hashwert. So
+     * erhalten etwa gerundet gleich dargestellte Dezimalzahlen verschiedene
+     * Einträge.
+     */
+    public static final class Key {
+
+        private final Object[] values;
+        private final ExecutionMode mode;
+        private final int hash;
+
+        private Key(Object[] values, ExecutionMode mode) {
+            this.values = values;
+            this.mode = mode;
+            int h = Objects.hashCode(mode);
+            for (Object value : values) {
+                h = 31 * h + String.valueOf(value).hashCode();
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            if (this.hash != other.hash || this.mode != other.mode || this.values.length != other.values.length) {
+                return false;
+            }
+            for (int i = 0; i < this.values.length; i++) {
+                if (!isSameValue(this.values[i], other.values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isSameValue(Object value, Object otherValue) {
+            if (value instanceof Expression) {
+                return otherValue instanceof Expression && ((Expression) value).equals((Expression) otherValue);
+            }
+            if (value instanceof LogicalExpression) {
+                return otherValue instanceof LogicalExpression && ((LogicalExpression) value).equals((LogicalExpression) otherValue);
+            }
+            if (value instanceof MatrixExpression) {
+                return otherValue instanceof MatrixExpression && ((MatrixExpression) value).equals((MatrixExpression) otherValue);
+            }
+            if (value instanceof BooleanConstant) {
+                return otherValue instanceof BooleanConstant && ((BooleanConstant) value).getValue() == ((BooleanConstant) otherValue).getValue();
+            }
+            if (value instanceof MalString) {
+                // Die Summanden einer Zeichenkette werden vollständig dargestellt.
+                return otherValue instanceof MalString && Arrays.toString(((MalString) value).getMalStringSummands())
+                        .equals(Arrays.toString(((MalString) otherValue).getMalStringSummands()));
+            }
+            return Objects.equals(value, otherValue);
+        }
+
+    }
+
+}
@@ -1,38 +1,80 @@
 package algorithmexecuter.model;
 
+import algorithmexecuter.ExecutionControl;
 import algorithmexecuter.exceptions.AlgorithmCompileException;
+import algorithmexecuter.exceptions.AlgorithmExecutionException;
 import algorithmexecuter.exceptions.constants.AlgorithmCompileExceptionIds;
 import algorithmexecuter.model.identifier.Identifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
+/**
+ * Speicher eines Algorithmus. Die Bezeichner werden in einem Array abgelegt,
+ * dessen Indizes über die (zum Algorithmus gehörende) IdentifierSlotTable
+ * festgelegt sind. Zugriffe über den Slot-Index sind damit ohne Hashing
+ * möglich.
+ */
 public class AlgorithmMemory {
 
     private Algorithm algorithm;
-    private final Map<String, Identifier> memory;
+    private final IdentifierSlotTable slotTable;
+    private Identifier[] slots;
+    /**
+     * Protokoll der Slots, welche zur Laufzeit neu belegt wurden. Beim
+     * Verlassen eines Blocks werden genau diese Slots wieder freigegeben,
+     * sodass der Speicher für einen Block nicht kopiert werden muss.
+     */
+    private int[] declaredSlots = new int[8];
+    private int numberOfDeclaredSlots = 0;
+    /**
+     * Anzahl der bisher in diesem Speicher (einschließlich der Speicher, von
+     * welchen dieser kopiert wurde) vergebenen technischen Bezeichner.
+     */
+    private int numberOfTechnicalIdentifiers = 0;
+    /**
+     * Steuerung der laufenden Ausführung (null, falls die Ausführung nicht
+     * abgebrochen werden kann).
+     */
+    private ExecutionControl executionControl;
+    /**
+     * Aufruftiefe des Algorithmus, zu welchem dieser Speicher gehört (der
+     * Hauptalgorithmus besitzt die Tiefe 0).
+     */
+    private int callDepth = 0;
 
     public AlgorithmMemory(Algorithm alg) {
         this.algorithm = alg;
-        this.memory = new HashMap<>();
+        this.slotTable = alg != null ? alg.getSlotTable() : new IdentifierSlotTable();
+        this.slots = new Identifier[this.slotTable.getSize()];
     }
 
     public AlgorithmMemory(Algorithm alg, List<Identifier> identifiers) {
         this(alg);
         for (Identifier identifier : identifiers) {
-            this.memory.put(identifier.getName(), identifier);
+            addToMemoryInRuntime(identifier);
         }
     }
 
     public AlgorithmMemory(Algorithm alg, Identifier[] identifiers) {
         this(alg);
         for (Identifier identifier : identifiers) {
-            this.memory.put(identifier.getName(), identifier);
+            addToMemoryInRuntime(identifier);
         }
     }
 
+    private AlgorithmMemory(Algorithm alg, IdentifierSlotTable slotTable, Identifier[] slots, int numberOfTechnicalIdentifiers, ExecutionControl executionControl, int callDepth) {
+        this.algorithm = alg;
+        this.slotTable = slotTable;
+        this.slots = slots;
+        this.numberOfTechnicalIdentifiers = numberOfTechnicalIdentifiers;
+        this.executionControl = executionControl;
+        this.callDepth = callDepth;
+    }
+
     public Algorithm getAlgorithm() {
         return this.algorithm;
     }
@@ -40,25 +82,76 @@ public class AlgorithmMemory {
     public void setAlgorithm(Algorithm alg) {
         this.algorithm = alg;
     }
-    
+
+    public IdentifierSlotTable getSlotTable() {
+        return this.slotTable;
+    }
+
+    /**
+     * Gibt die Anzahl der aktuell verfügbaren Slots zurück.
+     */
+    public int getNumberOfSlots() {
+        return this.slots.length;
+    }
+
+    public Identifier get(int slot) {
+        if (slot < 0 || slot >= this.slots.length) {
+            return null;
+        }
+        return this.slots[slot];
+    }
+
     public Identifier get(String name) {
-        return this.memory.get(name);
+        return get(this.slotTable.getSlot(name));
+    }
+
+    /**
+     * Gibt den im Speicher abgelegten Bezeichner zurück, welcher denselben Slot
+     * wie identifier belegt. Ist für identifier (noch) kein Slot vergeben, so
+     * wird über den Namen gesucht.
+     */
+    public Identifier get(Identifier identifier) {
+        if (identifier.getSlot() >= 0) {
+            return get(identifier.getSlot());
+        }
+        return get(identifier.getName());
+    }
+
+    public void put(int slot, Identifier identifier) {
+        if (slot >= this.slots.length) {
+            this.slots = Arrays.copyOf(this.slots, Math.max(slot + 1, this.slotTable.getSize()));
+        }
+        this.slots[slot] = identifier;
     }
 
     public void put(String name, Identifier identifier) {
-        this.memory.put(name, identifier);
+        int slot = this.slotTable.getOrCreateSlot(name);
+        identifier.setSlot(slot);
+        put(slot, identifier);
     }
-    
+
     public boolean containsKey(String name) {
-        return this.memory.containsKey(name);
+        return get(name) != null;
     }
 
     public Set<String> keySet() {
-        return this.memory.keySet();
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < this.slots.length; i++) {
+            if (this.slots[i] != null) {
+                names.add(this.slotTable.getName(i));
+            }
+        }
+        return names;
     }
 
     public Collection<Identifier> values() {
-        return this.memory.values();
+        List<Identifier> identifiers = new ArrayList<>();
+        for (Identifier identifier : this.slots) {
+            if (identifier != null) {
+                identifiers.add(identifier);
+            }
+        }
+        return identifiers;
     }
 
     @Override
@@ -69,56 +162,163 @@ public class AlgorithmMemory {
         } else {
             memoryString = "AlgorithmMemory[Algorithm = " + this.algorithm.getName();
         }
-        if (!this.memory.keySet().isEmpty()) {
+        Set<String> identifierNames = keySet();
+        if (!identifierNames.isEmpty()) {
             memoryString += ", ";
         }
-        for (String identifierName : this.memory.keySet()) {
-            memoryString += identifierName + ": " + this.memory.get(identifierName) + ", ";
+        for (String identifierName : identifierNames) {
+            memoryString += identifierName + ": " + get(identifierName) + ", ";
         }
-        if (!this.memory.keySet().isEmpty()) {
+        if (!identifierNames.isEmpty()) {
             return memoryString.substring(0, memoryString.length() - 2) + "]";
         }
         return memoryString + "]";
     }
 
     public boolean containsIdentifier(String identifierName) {
-        return this.memory.get(identifierName) != null;
+        return get(identifierName) != null;
     }
 
     public void clearMemory() {
-        this.memory.clear();
+        Arrays.fill(this.slots, null);
     }
-    
+
     public int getSize() {
-        return this.memory.size();
+        int size = 0;
+        for (Identifier identifier : this.slots) {
+            if (identifier != null) {
+                size++;
+            }
+        }
+        return size;
     }
 
     public AlgorithmMemory copyMemory() {
-        AlgorithmMemory copyOfMemory = new AlgorithmMemory(this.algorithm);
-        for (String identifierName : this.memory.keySet()) {
-            copyOfMemory.put(identifierName, this.memory.get(identifierName));
+        return new AlgorithmMemory(this.algorithm, this.slotTable, this.slots.clone(), this.numberOfTechnicalIdentifiers, this.executionControl, this.callDepth);
+    }
+
+    public ExecutionControl getExecutionControl() {
+        return this.executionControl;
+    }
+
+    public void setExecutionControl(ExecutionControl executionControl) {
+        this.executionControl = executionControl;
+    }
+
+    public int getCallDepth() {
+        return this.callDepth;
+    }
+
+    public void setCallDepth(int callDepth) {
+        this.callDepth = callDepth;
+    }
+
+    /**
+     * Prüfpunkt am Rücksprung einer Schleife (vgl.
+     * ExecutionControl.countLoopIteration()).
+     *
+     * @throws AlgorithmExecutionException
+     */
+    public void countLoopIteration() throws AlgorithmExecutionException {
+        if (this.executionControl != null) {
+            this.executionControl.countLoopIteration();
+        }
+    }
+
+    /**
+     * Zählt einen ausgeführten Befehl (vgl. ExecutionControl.countCommand()).
+     *
+     * @throws AlgorithmExecutionException
+     */
+    public void countCommand() throws AlgorithmExecutionException {
+        if (this.executionControl != null) {
+            this.executionControl.countCommand();
+        }
+    }
+
+    /**
+     * Prüft die geschätzte Größe des Wertes von identifier (vgl.
+     * ExecutionControl.checkValueSize()).
+     *
+     * @throws AlgorithmExecutionException
+     */
+    public void checkValueSize(Identifier identifier) throws AlgorithmExecutionException {
+        if (this.executionControl != null) {
+            this.executionControl.checkValueSize(identifier.getRuntimeValue());
         }
-        return copyOfMemory;
+    }
+
+    /**
+     * Gibt den Index (&ge; 1) für den nächsten technischen Bezeichner in
+     * diesem Speicher zurück.
+     */
+    public int nextTechnicalIdentifierIndex() {
+        return ++this.numberOfTechnicalIdentifiers;
     }
 
     public void addToMemoryInCompileTime(Integer[] errorLines, Identifier identifier) throws AlgorithmCompileException {
-        if (this.memory.get(identifier.getName()) != null) {
+        if (get(identifier.getName()) != null) {
             // Identifier existiert bereits!
             throw new AlgorithmCompileException(errorLines, AlgorithmCompileExceptionIds.AC_IDENTIFIER_ALREADY_DEFINED, identifier.getName());
         }
-        this.memory.put(identifier.getName(), identifier);
+        put(identifier.getName(), identifier);
     }
 
     public void addToMemoryInRuntime(Identifier identifier) {
         /*
         Während der Laufzeit kann es zu keinen Namensclashs kommen,
-        da der Algorithmus zuvor bereits kompiliert wurde.
+        da der Algorithmus zuvor bereits kompiliert wurde. Der Slot des
+        Bezeichners wurde ebenfalls bereits beim Kompilieren festgelegt.
          */
-        this.memory.put(identifier.getName(), identifier);
+        int slot = identifier.getSlot() >= 0 ? identifier.getSlot() : this.slotTable.getOrCreateSlot(identifier.getName());
+        if (get(slot) == null) {
+            // Neu deklarierter Bezeichner: Slot für das Verlassen des aktuellen Blocks vormerken.
+            if (this.numberOfDeclaredSlots == this.declaredSlots.length) {
+                this.declaredSlots = Arrays.copyOf(this.declaredSlots, 2 * this.declaredSlots.length);
+            }
+            this.declaredSlots[this.numberOfDeclaredSlots++] = slot;
+        }
+        put(slot, identifier);
+    }
+
+    /**
+     * Gibt die Laufzeitinstanz des (kompilierten) Bezeichners identifier in
+     * diesem Speicher zurück. Existiert diese noch nicht, so wird sie angelegt
+     * und im Speicher abgelegt.
+     */
+    public Identifier getOrCreateRuntimeIdentifier(Identifier identifier) {
+        Identifier runtimeIdentifier = get(identifier);
+        if (runtimeIdentifier == null) {
+            runtimeIdentifier = identifier.createRuntimeInstance();
+            addToMemoryInRuntime(runtimeIdentifier);
+        }
+        return runtimeIdentifier;
+    }
+
+    /**
+     * Markiert den Beginn eines neuen Blocks. Der zurückgegebene Wert muss beim
+     * Verlassen des Blocks an closeScope() übergeben werden.
+     */
+    public int openScope() {
+        return this.numberOfDeclaredSlots;
+    }
+
+    /**
+     * Verwirft alle Bezeichner, welche seit dem zugehörigen Aufruf von
+     * openScope() zur Laufzeit deklariert wurden. Der Aufwand ist proportional
+     * zur Anzahl der im Block deklarierten Bezeichner.
+     */
+    public void closeScope(int scopeMark) {
+        while (this.numberOfDeclaredSlots > scopeMark) {
+            this.slots[this.declaredSlots[--this.numberOfDeclaredSlots]] = null;
+        }
     }
 
     public void removeFromMemory(Identifier identifier) {
-        this.memory.remove(identifier.getName());
+        int slot = this.slotTable.getSlot(identifier.getName());
+        if (slot >= 0 && slot < this.slots.length) {
+            this.slots[slot] = null;
+        }
     }
 
 }
@@ -2,27 +2,93 @@ package algorithmexecuter.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Speicher für Algorithmensignaturen. Neben der (sortierten) Liste aller
+ * Signaturen werden die Signaturen zusätzlich nach ihrem Namen indiziert, so
+ * dass die Suche nach Überladungen eines Namens sowie die Prüfung auf eine
+ * bestimmte Signatur ohne Durchlaufen aller Signaturen möglich sind.
+ */
 public class AlgorithmSignatureStorage {
 
     private final List<Signature> algorithmSignatures = new ArrayList<>();
+    private final Map<String, List<Signature>> algorithmSignaturesByName = new HashMap<>();
+    private final Set<Signature> algorithmSignatureSet = new HashSet<>();
+    /**
+     * Gibt an, ob die Liste algorithmSignatures seit dem letzten Hinzufügen
+     * noch sortiert werden muss.
+     */
+    private boolean sortingRequired = false;
 
     public List<Signature> getAlgorithmSignatures() {
-        return algorithmSignatures;
+        sortSignatures();
+        return Collections.unmodifiableList(this.algorithmSignatures);
+    }
+
+    /**
+     * Sortiert die Liste aller Signaturen, falls seit dem letzten Sortieren
+     * Signaturen hinzugefügt wurden. Bis zum nächsten Hinzufügen verändern
+     * danach auch Aufrufe von getAlgorithmSignatures() den Speicher nicht mehr,
+     * so dass dieser von mehreren Threads gelesen werden kann.
+     */
+    public void sortSignatures() {
+        if (this.sortingRequired) {
+            Collections.sort(this.algorithmSignatures);
+            this.sortingRequired = false;
+        }
+    }
+
+    /**
+     * Gibt alle Signaturen mit dem Namen name in der Reihenfolge ihres
+     * Hinzufügens zurück.
+     */
+    public List<Signature> getAlgorithmSignaturesByName(String name) {
+        List<Signature> signatures = this.algorithmSignaturesByName.get(name);
+        if (signatures == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(signatures);
+    }
+
+    public boolean containsAlgorithmSignatureWithName(String name) {
+        return this.algorithmSignaturesByName.containsKey(name);
+    }
+
+    public boolean contains(Signature sgn) {
+        return this.algorithmSignatureSet.contains(sgn);
     }
 
     public void clearAlgorithmSignatureStorage() {
         this.algorithmSignatures.clear();
+        this.algorithmSignaturesByName.clear();
+        this.algorithmSignatureSet.clear();
+        this.sortingRequired = false;
     }
 
     public void add(Signature sgn) {
         this.algorithmSignatures.add(sgn);
-        Collections.sort(this.algorithmSignatures);
+        this.algorithmSignaturesByName.computeIfAbsent(sgn.getName(), name -> new ArrayList<>()).add(sgn);
+        this.algorithmSignatureSet.add(sgn);
+        this.sortingRequired = true;
     }
 
-    public void remove (Signature sgn) {
-        this.algorithmSignatures.remove(sgn);
+    public void remove(Signature sgn) {
+        if (!this.algorithmSignatures.remove(sgn)) {
+            return;
+        }
+        List<Signature> signatures = this.algorithmSignaturesByName.get(sgn.getName());
+        signatures.remove(sgn);
+        if (signatures.isEmpty()) {
+            this.algorithmSignaturesByName.remove(sgn.getName());
+        }
+        if (!signatures.contains(sgn)) {
+            this.algorithmSignatureSet.remove(sgn);
+        }
     }
-    
+
 }
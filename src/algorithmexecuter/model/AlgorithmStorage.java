@@ -3,40 +3,56 @@ package algorithmexecuter.model;
 import algorithmexecuter.enums.FixedAlgorithmNames;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Speicher für Algorithmen. Die Algorithmen werden zusätzlich nach ihrem
+ * Namen indiziert (Überladungen in der Reihenfolge ihres Hinzufügens).
+ */
 public class AlgorithmStorage {
 
     private final List<Algorithm> algorithms = new ArrayList<>();
+    private final Map<String, List<Algorithm>> algorithmsByName = new HashMap<>();
 
     public List<Algorithm> getAlgorithms() {
-        return algorithms;
+        return Collections.unmodifiableList(this.algorithms);
     }
 
     public void clearAlgorithmStorage() {
         this.algorithms.clear();
+        this.algorithmsByName.clear();
     }
 
     public void add(Algorithm alg) {
         this.algorithms.add(alg);
+        this.algorithmsByName.computeIfAbsent(alg.getName(), name -> new ArrayList<>()).add(alg);
     }
 
     public void addAll(Collection<Algorithm> algorithms) {
         algorithms.forEach((alg) -> {
-            this.algorithms.add(alg);
+            add(alg);
         });
     }
     
     public void remove(Algorithm alg) {
-        this.algorithms.remove(alg);
+        if (!this.algorithms.remove(alg)) {
+            return;
+        }
+        List<Algorithm> overloads = this.algorithmsByName.get(alg.getName());
+        overloads.remove(alg);
+        if (overloads.isEmpty()) {
+            this.algorithmsByName.remove(alg.getName());
+        }
     }
 
     public AlgorithmStorage() {
     }
 
     public AlgorithmStorage(List<Algorithm> algorithms) {
-        this.algorithms.clear();
-        this.algorithms.addAll(algorithms);
+        addAll(algorithms);
     }
 
     public Algorithm getMainAlgorithm() {
@@ -44,12 +60,22 @@ public class AlgorithmStorage {
     }
 
     public Algorithm getAlgorithmByName(String name) {
-        for (Algorithm alg : this.algorithms) {
-            if (alg.getName().equals(name)) {
-                return alg;
-            }
+        List<Algorithm> overloads = this.algorithmsByName.get(name);
+        if (overloads == null) {
+            return null;
+        }
+        return overloads.get(0);
+    }
+
+    /**
+     * Gibt alle Algorithmen mit dem Namen name zurück.
+     */
+    public List<Algorithm> getAlgorithmsByName(String name) {
+        List<Algorithm> overloads = this.algorithmsByName.get(name);
+        if (overloads == null) {
+            return Collections.emptyList();
         }
-        return null;
+        return Collections.unmodifiableList(overloads);
     }
 
 }
@@ -0,0 +1,62 @@
+package algorithmexecuter.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabelle, welche jedem Bezeichnernamen eines Algorithmus einen festen
+ * Slot-Index zuordnet. Die Tabelle wird während der Kompilierung aufgebaut und
+ * von allen Speichern (AlgorithmMemory) eines Algorithmus gemeinsam genutzt.
+ * Zur Laufzeit erfolgt der Zugriff auf Bezeichner dann über den Index.
+ */
+public class IdentifierSlotTable {
+
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[0];
+
+    /**
+     * Gibt den Slot-Index des Bezeichners mit dem Namen name zurück, oder -1,
+     * falls dieser Name in der Tabelle nicht vorkommt.
+     */
+    public int getSlot(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer slot = this.slots.get(name);
+        if (slot == null) {
+            return -1;
+        }
+        return slot;
+    }
+
+    /**
+     * Gibt den Slot-Index des Bezeichners mit dem Namen name zurück. Existiert
+     * zu diesem Namen noch kein Slot, so wird ein neuer angelegt.
+     */
+    public synchronized int getOrCreateSlot(String name) {
+        Integer slot = this.slots.get(name);
+        if (slot != null) {
+            return slot;
+        }
+        String[] extendedNames = Arrays.copyOf(this.names, this.names.length + 1);
+        extendedNames[this.names.length] = name;
+        this.slots.put(name, this.names.length);
+        this.names = extendedNames;
+        return extendedNames.length - 1;
+    }
+
+    public String getName(int slot) {
+        return this.names[slot];
+    }
+
+    public int getSize() {
+        return this.names.length;
+    }
+
+    @Override
+    public String toString() {
+        return "IdentifierSlotTable" + Arrays.toString(this.names);
+    }
+
+}
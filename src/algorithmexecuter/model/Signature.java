@@ -9,11 +9,17 @@ public class Signature implements Comparable {
     private final String name;
     private final IdentifierType[] parameterTypes;
     private final IdentifierType returnType;
+    /**
+     * Hashwert der Signatur. Da Signaturen unveränderlich sind, wird dieser
+     * einmalig berechnet (Signaturen dienen als Schlüssel in Hashtabellen).
+     */
+    private final int hash;
 
     public Signature(IdentifierType returnType, String name, IdentifierType[] parameterTypes) {
         this.name = name;
         this.parameterTypes = parameterTypes;
         this.returnType = returnType;
+        this.hash = computeHashCode();
     }
 
     public String getName() {
@@ -30,6 +36,10 @@ public class Signature implements Comparable {
 
     @Override
     public int hashCode() {
+        return this.hash;
+    }
+
+    private int computeHashCode() {
         int hash = 7;
         hash = 41 * hash + Objects.hashCode(this.name);
         hash = 41 * hash + Arrays.deepHashCode(this.parameterTypes);
@@ -49,6 +59,9 @@ public class Signature implements Comparable {
             return false;
         }
         final Signature other = (Signature) obj;
+        if (this.hash != other.hash) {
+            return false;
+        }
         if (!Objects.equals(this.name, other.name)) {
             return false;
         }
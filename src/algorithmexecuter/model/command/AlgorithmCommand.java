@@ -5,6 +5,8 @@ import algorithmexecuter.model.identifier.Identifier;
 import algorithmexecuter.model.Algorithm;
 import algorithmexecuter.model.AlgorithmMemory;
 import exceptions.EvaluationException;
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class AlgorithmCommand {
     
@@ -59,6 +61,23 @@ public abstract class AlgorithmCommand {
     }
     
     public abstract String toCommandString();
+
+    /**
+     * Gibt eine Kopie des Befehls zurück, welche alle beim Kompilieren
+     * erzeugten Bestandteile mit diesem teilt. Nur die beim Verlinken gesetzten
+     * Zustände (aufgerufene Algorithmen, parallele Ausführung) sind
+     * unabhängig, so dass die Kopie neu verlinkt werden kann, ohne das Original
+     * zu verändern.
+     */
+    public abstract AlgorithmCommand copy();
+
+    public static List<AlgorithmCommand> copy(List<AlgorithmCommand> commands) {
+        List<AlgorithmCommand> copies = new ArrayList<>(commands.size());
+        for (AlgorithmCommand command : commands) {
+            copies.add(command.copy());
+        }
+        return copies;
+    }
     
     public abstract Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException;
     
@@ -4,6 +4,7 @@ import abstractexpressions.expression.classes.Expression;
 import abstractexpressions.interfaces.AbstractExpression;
 import abstractexpressions.logicalexpression.classes.LogicalExpression;
 import abstractexpressions.matrixexpression.classes.MatrixExpression;
+import algorithmexecuter.ExecutionUtils;
 import algorithmexecuter.booleanexpression.BooleanConstant;
 import algorithmexecuter.enums.IdentifierType;
 import algorithmexecuter.exceptions.AlgorithmCompileException;
@@ -13,13 +14,18 @@ import algorithmexecuter.model.identifier.Identifier;
 import algorithmexecuter.model.Algorithm;
 import algorithmexecuter.booleanexpression.BooleanExpression;
 import algorithmexecuter.enums.AssignValueType;
+import algorithmexecuter.enums.ExecutionMode;
 import algorithmexecuter.enums.Operators;
 import algorithmexecuter.enums.ReservedChars;
+import algorithmexecuter.model.AlgorithmMemoTable;
 import algorithmexecuter.model.AlgorithmMemory;
+import algorithmexecuter.model.IdentifierSlotTable;
 import algorithmexecuter.model.Signature;
+import algorithmexecuter.model.utilclasses.IdentifierSubstitution;
 import algorithmexecuter.model.utilclasses.MalString;
 import algorithmexecuter.model.utilclasses.malstring.MalStringAbstractExpression;
 import algorithmexecuter.model.utilclasses.malstring.MalStringCharSequence;
+import algorithmexecuter.model.utilclasses.malstring.MalStringSummand;
 import algorithmexecuter.model.utilclasses.malstring.MalStringVariable;
 import exceptions.EvaluationException;
 
@@ -31,6 +37,16 @@ public class AssignValueCommand extends AlgorithmCommand {
     private final Signature targetAlgorithmSignature;
     private final Identifier[] targetAlgorithmArguments;
     private Algorithm targetAlgorithm;
+    /**
+     * Ersetzung der im Zielausdruck vorkommenden Variablen (null, falls der
+     * Zielwert kein arithmetischer, logischer oder Matrizenausdruck ist).
+     */
+    private final IdentifierSubstitution targetSubstitution;
+    /**
+     * Ersetzungen für die Ausdrücke innerhalb eines Zielstrings, indiziert wie
+     * dessen Summanden (null, falls der Zielwert kein String ist).
+     */
+    private final IdentifierSubstitution[] malStringSubstitutions;
 
     public AssignValueCommand(Identifier identifierSrc, Object targetValue, AssignValueType type, Integer[] errorLines) throws AlgorithmCompileException {
         if (!areTypesCompatible(identifierSrc, IdentifierType.identifierTypeOf(targetValue))) {
@@ -41,6 +57,18 @@ public class AssignValueCommand extends AlgorithmCommand {
         this.type = type;
         this.targetAlgorithmSignature = null;
         this.targetAlgorithmArguments = null;
+        this.targetSubstitution = createIdentifierSubstitution(targetValue);
+        if (targetValue instanceof MalString) {
+            MalStringSummand[] summands = ((MalString) targetValue).getMalStringSummands();
+            this.malStringSubstitutions = new IdentifierSubstitution[summands.length];
+            for (int i = 0; i < summands.length; i++) {
+                if (summands[i] instanceof MalStringAbstractExpression) {
+                    this.malStringSubstitutions[i] = createIdentifierSubstitution(((MalStringAbstractExpression) summands[i]).getAbstractExpression());
+                }
+            }
+        } else {
+            this.malStringSubstitutions = null;
+        }
     }
 
     public AssignValueCommand(Identifier identifierSrc, Signature targetAlgorithmSignature, Identifier[] targetAlgorithmArguments, AssignValueType type, Integer[] errorLines) throws AlgorithmCompileException {
@@ -52,12 +80,31 @@ public class AssignValueCommand extends AlgorithmCommand {
         this.type = type;
         this.targetAlgorithmSignature = targetAlgorithmSignature;
         this.targetAlgorithmArguments = targetAlgorithmArguments;
+        this.targetSubstitution = null;
+        this.malStringSubstitutions = null;
+    }
+
+    private AssignValueCommand(AssignValueCommand command) {
+        this.identifierSrc = command.identifierSrc;
+        this.targetValue = command.targetValue;
+        this.type = command.type;
+        this.targetAlgorithmSignature = command.targetAlgorithmSignature;
+        this.targetAlgorithmArguments = command.targetAlgorithmArguments;
+        this.targetSubstitution = command.targetSubstitution;
+        this.malStringSubstitutions = command.malStringSubstitutions;
     }
 
     private boolean areTypesCompatible(Identifier identifierSrc, IdentifierType targetType) {
         return identifierSrc.getType().isSameOrSuperTypeOf(targetType);
     }
 
+    private static IdentifierSubstitution createIdentifierSubstitution(Object value) {
+        if (value instanceof Expression || value instanceof LogicalExpression || value instanceof MatrixExpression) {
+            return new IdentifierSubstitution((AbstractExpression) value);
+        }
+        return null;
+    }
+
     public Object getTargetValue() {
         return this.targetValue;
     }
@@ -86,6 +133,31 @@ public class AssignValueCommand extends AlgorithmCommand {
         this.targetAlgorithm = targetAlgorithm;
     }
 
+    /**
+     * Ordnet allen im Zielwert vorkommenden Bezeichnern den Slot-Index aus
+     * slotTable zu.
+     */
+    public void resolveIdentifierSlots(IdentifierSlotTable slotTable) {
+        if (this.targetValue instanceof BooleanExpression) {
+            ((BooleanExpression) this.targetValue).resolveIdentifierSlots(slotTable);
+        }
+        if (this.targetSubstitution != null) {
+            this.targetSubstitution.resolveIdentifierSlots(slotTable);
+        }
+        if (this.malStringSubstitutions != null) {
+            for (IdentifierSubstitution substitution : this.malStringSubstitutions) {
+                if (substitution != null) {
+                    substitution.resolveIdentifierSlots(slotTable);
+                }
+            }
+        }
+    }
+
+    @Override
+    public AssignValueCommand copy() {
+        return new AssignValueCommand(this);
+    }
+
     @Override
     public String toString() {
         String command = "AssignValueCommand[type = " + this.type + ", identifierSrc = " + this.identifierSrc;
@@ -116,73 +188,91 @@ public class AssignValueCommand extends AlgorithmCommand {
 
     @Override
     public Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException {
+        return execute(scopeMemory, ExecutionMode.INTERPRETER);
+    }
+
+    /**
+     * Führt die Zuweisung aus. Ein aufgerufener Algorithmus wird dabei im
+     * Ausführungsmodus mode ausgeführt.
+     */
+    public Identifier execute(AlgorithmMemory scopeMemory, ExecutionMode mode) throws AlgorithmExecutionException, EvaluationException {
+        // Der Wert wird in der Laufzeitinstanz des Bezeichners im aktuellen Speicher abgelegt.
+        Identifier identifier = scopeMemory.getOrCreateRuntimeIdentifier(this.identifierSrc);
         if (this.targetValue != null) {
             if (this.targetValue instanceof MalString) {
-                MalString malString = (MalString) this.targetValue;
+                MalStringSummand[] summands = ((MalString) this.targetValue).getMalStringSummands();
                 String resultValue = "";
-                for (Object obj : malString.getMalStringSummands()) {
+                MalStringSummand obj;
+                for (int i = 0; i < summands.length; i++) {
+                    obj = summands[i];
                     if (obj instanceof MalStringCharSequence) {
                         resultValue += ((MalStringCharSequence) obj).getStringValue();
                     } else if (obj instanceof MalStringVariable) {
                         String value = ((MalStringCharSequence) ((MalString) scopeMemory.get(((MalStringVariable) obj).getVariableName()).getRuntimeValue()).getMalStringSummands()[0]).getStringValue();
                         resultValue += value;
                     } else if (obj instanceof MalStringAbstractExpression) {
-                        resultValue += simplifyTargetExpression(((MalStringAbstractExpression) obj).getAbstractExpression(), scopeMemory);
+                        resultValue += simplifyTargetExpression(((MalStringAbstractExpression) obj).getAbstractExpression(), this.malStringSubstitutions[i], scopeMemory);
                     }
                 }
-                this.identifierSrc.setRuntimeValue(new MalString(resultValue));
+                identifier.setRuntimeValue(new MalString(resultValue));
             } else if (this.targetValue instanceof AbstractExpression) {
                 AbstractExpression abstrExpr = (AbstractExpression) this.targetValue;
-                AbstractExpression targetExprSimplified = simplifyTargetExpression(abstrExpr, scopeMemory);
-                this.identifierSrc.setRuntimeValue(targetExprSimplified);
+                AbstractExpression targetExprSimplified = simplifyTargetExpression(abstrExpr, this.targetSubstitution, scopeMemory);
+                identifier.setRuntimeValue(targetExprSimplified);
             }
         } else {
-            this.targetAlgorithm.initInputParameter(this.targetAlgorithmArguments);
-            this.identifierSrc.setValueFromGivenIdentifier(this.targetAlgorithm.execute());
+            Identifier[] arguments = new Identifier[this.targetAlgorithmArguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = scopeMemory.get(this.targetAlgorithmArguments[i]);
+            }
+            identifier.setValueFromGivenIdentifier(executeTargetAlgorithm(arguments, mode, scopeMemory));
         }
-        scopeMemory.addToMemoryInRuntime(this.identifierSrc);
+        scopeMemory.checkValueSize(identifier);
         return null;
     }
 
-    private AbstractExpression simplifyTargetExpression(AbstractExpression abstrExpr, AlgorithmMemory scopeMemory) throws EvaluationException {
+    /**
+     * Führt den aufgerufenen Algorithmus aus. Bei seiteneffektfreien
+     * Algorithmen wird das Ergebnis dabei in deren Ergebnistabelle gesucht bzw.
+     * abgelegt. Auch ein dort gefundenes Ergebnis zählt als Aufruf, d.h.
+     * Aufruftiefe und Abbruch werden geprüft.
+     */
+    private Identifier executeTargetAlgorithm(Identifier[] arguments, ExecutionMode mode, AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException {
+        AlgorithmMemoTable memoTable = this.targetAlgorithm.getMemoTable();
+        if (memoTable == null) {
+            return this.targetAlgorithm.executeCall(arguments, mode, scopeMemory);
+        }
+        AlgorithmMemoTable.Key key = AlgorithmMemoTable.createKey(arguments, mode);
+        Identifier result = memoTable.get(key);
+        if (result == null) {
+            result = this.targetAlgorithm.executeCall(arguments, mode, scopeMemory);
+            memoTable.put(key, result);
+        } else if (scopeMemory.getExecutionControl() != null) {
+            scopeMemory.getExecutionControl().checkCall(scopeMemory.getCallDepth() + 1);
+        }
+        return result;
+    }
+
+    private AbstractExpression simplifyTargetExpression(AbstractExpression abstrExpr, IdentifierSubstitution substitution, AlgorithmMemory scopeMemory) throws EvaluationException {
         AbstractExpression targetExprSimplified;
 
+        // Es werden nur die (beim Kompilieren ermittelten) im Ausdruck vorkommenden Bezeichner ersetzt.
         if (abstrExpr instanceof Expression) {
-            Expression exprSimplified = (Expression) abstrExpr;
-            for (Identifier identifier : scopeMemory.values()) {
-                if (identifier.getRuntimeValue() instanceof Expression) {
-                    exprSimplified = exprSimplified.replaceVariable(identifier.getName(), (Expression) identifier.getRuntimeValue());
-                }
-            }
-            targetExprSimplified = exprSimplified;
+            targetExprSimplified = substitution.substitute((Expression) abstrExpr, scopeMemory);
         } else if (abstrExpr instanceof LogicalExpression) {
-            LogicalExpression logExprSimplified = (LogicalExpression) abstrExpr;
-            for (Identifier identifier : scopeMemory.values()) {
-                if (identifier.getRuntimeValue() instanceof LogicalExpression) {
-                    logExprSimplified = logExprSimplified.replaceVariable(identifier.getName(), (LogicalExpression) identifier.getRuntimeValue());
-                }
-            }
-            targetExprSimplified = logExprSimplified;
+            targetExprSimplified = substitution.substitute((LogicalExpression) abstrExpr, scopeMemory);
         } else if (abstrExpr instanceof MatrixExpression) {
-            MatrixExpression matExprSimplified = (MatrixExpression) abstrExpr;
-            for (Identifier identifier : scopeMemory.values()) {
-                if (identifier.getRuntimeValue() instanceof Expression) {
-                    matExprSimplified = matExprSimplified.replaceVariable(identifier.getName(), (Expression) identifier.getRuntimeValue());
-                } else if (identifier.getRuntimeValue() instanceof MatrixExpression) {
-                    matExprSimplified = matExprSimplified.replaceMatrixVariable(identifier.getName(), (MatrixExpression) identifier.getRuntimeValue());
-                }
-            }
-            targetExprSimplified = matExprSimplified;
+            targetExprSimplified = substitution.substitute((MatrixExpression) abstrExpr, scopeMemory);
         } else {
             targetExprSimplified = new BooleanConstant(((BooleanExpression) abstrExpr).evaluate(scopeMemory));
         }
 
         if (targetExprSimplified instanceof Expression) {
-            return ((Expression) targetExprSimplified).simplify();
+            return ExecutionUtils.simplify((Expression) targetExprSimplified, scopeMemory);
         } else if (targetExprSimplified instanceof LogicalExpression) {
-            return ((LogicalExpression) targetExprSimplified).simplify();
+            return ExecutionUtils.simplify((LogicalExpression) targetExprSimplified, scopeMemory);
         } else if (targetExprSimplified instanceof MatrixExpression) {
-            return ((MatrixExpression) targetExprSimplified).simplify();
+            return ExecutionUtils.simplify((MatrixExpression) targetExprSimplified, scopeMemory);
         }
         return targetExprSimplified;
     }
@@ -17,6 +17,11 @@ public class DeclareIdentifierCommand extends AlgorithmCommand {
         return this.identifierSrc;
     }
 
+    @Override
+    public DeclareIdentifierCommand copy() {
+        return new DeclareIdentifierCommand(this.identifierSrc);
+    }
+
     @Override
     public String toString() {
         return "DeclareIdentifierCommand[identifierSrc = " + this.identifierSrc + "]";
@@ -24,7 +29,7 @@ public class DeclareIdentifierCommand extends AlgorithmCommand {
 
     @Override
     public Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException {
-        scopeMemory.addToMemoryInRuntime(this.identifierSrc);
+        scopeMemory.getOrCreateRuntimeIdentifier(this.identifierSrc);
         return null;
     }
 
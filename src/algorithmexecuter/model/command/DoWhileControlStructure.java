@@ -4,8 +4,6 @@ import algorithmexecuter.AlgorithmExecuter;
 import algorithmexecuter.booleanexpression.BooleanExpression;
 import algorithmexecuter.enums.Keyword;
 import algorithmexecuter.enums.ReservedChars;
-import algorithmexecuter.exceptions.AlgorithmBreakException;
-import algorithmexecuter.exceptions.AlgorithmContinueException;
 import algorithmexecuter.exceptions.AlgorithmExecutionException;
 import algorithmexecuter.model.AlgorithmMemory;
 import algorithmexecuter.model.identifier.Identifier;
@@ -35,22 +33,23 @@ public class DoWhileControlStructure extends ControlStructure {
         return condition;
     }
 
+    @Override
+    public DoWhileControlStructure copy() {
+        return new DoWhileControlStructure(copy(this.commands), this.condition);
+    }
+
     @Override
     public Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException {
         Identifier result = null;
         do {
-            try {
-                result = AlgorithmExecuter.executeConnectedBlock(scopeMemory, this.commands);
-                if (result != null) {
-                    return result;
-                }
-            } catch (AlgorithmBreakException e) {
-                return null;
-            } catch (AlgorithmContinueException e) {
+            scopeMemory.countLoopIteration();
+            result = AlgorithmExecuter.executeConnectedBlock(scopeMemory, this.commands);
+            if (AlgorithmExecuter.isLoopTerminated(result)) {
+                return AlgorithmExecuter.getLoopResult(result);
             }
             // Identifierwerte aktualisieren.
         } while (this.condition.evaluate(scopeMemory));
-        return result;
+        return null;
     }
 
     @Override
@@ -2,15 +2,14 @@ package algorithmexecuter.model.command;
 
 import algorithmexecuter.AlgorithmExecuter;
 import algorithmexecuter.CompilerUtils;
-import algorithmexecuter.ExecutionUtils;
+import algorithmexecuter.AlgorithmClosureCompiler.CompiledCommand;
 import algorithmexecuter.booleanexpression.BooleanExpression;
 import algorithmexecuter.enums.Keyword;
 import algorithmexecuter.enums.ReservedChars;
-import algorithmexecuter.exceptions.AlgorithmBreakException;
-import algorithmexecuter.exceptions.AlgorithmContinueException;
 import algorithmexecuter.exceptions.AlgorithmExecutionException;
 import algorithmexecuter.model.AlgorithmMemory;
 import algorithmexecuter.model.identifier.Identifier;
+import algorithmexecuter.model.utilclasses.CountedLoop;
 import exceptions.EvaluationException;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
@@ -23,14 +22,54 @@ public class ForControlStructure extends ControlStructure {
     private final List<AlgorithmCommand> endLoopCommands;
     private final BooleanExpression endLoopCondition;
     private final List<AlgorithmCommand> loopAssignment;
+    /**
+     * Zählschleife, falls die For-Struktur eine solche ist, ansonsten null.
+     */
+    private final CountedLoop countedLoop;
+    /**
+     * Gibt an, ob es sich um eine parallele for-Schleife (parallelfor) handelt.
+     */
+    private final boolean parallel;
+    /**
+     * Äußere Bezeichner, welche im Schleifenrumpf einer parallelen
+     * for-Schleife aufsummiert werden.
+     */
+    private Identifier[] reductionIdentifiers = new Identifier[0];
+    /**
+     * Gibt an, ob eine parallele for-Schleife tatsächlich parallel ausgeführt
+     * wird. Dies ist nicht der Fall, wenn im Schleifenrumpf (indirekt)
+     * Ausgaben erfolgen, da deren Reihenfolge sonst nicht mehr feststeht.
+     */
+    private boolean executedInParallel;
 
     public ForControlStructure(List<AlgorithmCommand> commands, List<AlgorithmCommand> initialization, List<AlgorithmCommand> endLoopCommands, BooleanExpression endLoopCondition, List<AlgorithmCommand> loopAssignment) {
+        this(commands, initialization, endLoopCommands, endLoopCondition, loopAssignment, false);
+    }
+
+    public ForControlStructure(List<AlgorithmCommand> commands, List<AlgorithmCommand> initialization, List<AlgorithmCommand> endLoopCommands, BooleanExpression endLoopCondition, List<AlgorithmCommand> loopAssignment, boolean parallel) {
         this.initialization = initialization;
         this.endLoopCommands = endLoopCommands;
         this.endLoopCondition = endLoopCondition;
         this.loopAssignment = loopAssignment;
         this.commandBlocks = (List<AlgorithmCommand>[]) Array.newInstance(new ArrayList<>().getClass(), 1);
         this.commandBlocks[0] = commands;
+        this.countedLoop = CountedLoop.createCountedLoop(initialization, endLoopCommands, endLoopCondition, loopAssignment, commands);
+        this.parallel = parallel;
+        this.executedInParallel = parallel;
+    }
+
+    private ForControlStructure(ForControlStructure forCommand) {
+        this.initialization = copy(forCommand.initialization);
+        this.endLoopCommands = copy(forCommand.endLoopCommands);
+        this.endLoopCondition = forCommand.endLoopCondition;
+        this.loopAssignment = copy(forCommand.loopAssignment);
+        this.commandBlocks = (List<AlgorithmCommand>[]) Array.newInstance(new ArrayList<>().getClass(), 1);
+        this.commandBlocks[0] = copy(forCommand.commandBlocks[0]);
+        // Die Zählschleife enthält keine Befehle und wird daher geteilt.
+        this.countedLoop = forCommand.countedLoop;
+        this.parallel = forCommand.parallel;
+        this.reductionIdentifiers = forCommand.reductionIdentifiers;
+        this.executedInParallel = forCommand.executedInParallel;
     }
 
     public List<AlgorithmCommand> getInitialization() {
@@ -53,38 +92,82 @@ public class ForControlStructure extends ControlStructure {
         return this.commandBlocks[0];
     }
 
+    public CountedLoop getCountedLoop() {
+        return this.countedLoop;
+    }
+
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    public Identifier[] getReductionIdentifiers() {
+        return this.reductionIdentifiers;
+    }
+
+    public void setReductionIdentifiers(Identifier[] reductionIdentifiers) {
+        this.reductionIdentifiers = reductionIdentifiers;
+    }
+
+    public boolean isExecutedInParallel() {
+        return this.executedInParallel;
+    }
+
+    public void setExecutedInParallel(boolean executedInParallel) {
+        this.executedInParallel = executedInParallel;
+    }
+
+    @Override
+    public ForControlStructure copy() {
+        return new ForControlStructure(this);
+    }
+
+    /**
+     * Führt die Zählschleife mit dem Schleifenrumpf body aus, bei einer
+     * parallelen for-Schleife auf dem ForkJoinPool der Sitzung.
+     */
+    public Identifier executeCountedLoop(AlgorithmMemory scopeMemory, long boundValue, CompiledCommand body) throws AlgorithmExecutionException, EvaluationException {
+        if (this.executedInParallel) {
+            return this.countedLoop.executeInParallel(scopeMemory, boundValue, body, this.reductionIdentifiers,
+                    CompilerUtils.getSession(scopeMemory).getParallelForPool());
+        }
+        return this.countedLoop.execute(scopeMemory, boundValue, body);
+    }
+
     @Override
     public Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException {
         Identifier result = null;
 
-        AlgorithmMemory currentMemory = scopeMemory.copyMemory();
-
-        AlgorithmExecuter.executeBlock(currentMemory, this.initialization);
-        AlgorithmExecuter.executeBlock(currentMemory, this.endLoopCommands);
-        while (this.endLoopCondition.evaluate(currentMemory)) {
-            try {
-                result = AlgorithmExecuter.executeBlock(currentMemory, this.commandBlocks[0]);
-                if (result != null) {
-                    return result;
+        // Die in der For-Struktur deklarierten Bezeichner werden am Ende wieder verworfen.
+        int scopeMark = scopeMemory.openScope();
+        try {
+            AlgorithmExecuter.executeBlock(scopeMemory, this.initialization);
+            if (this.countedLoop != null) {
+                Long boundValue = this.countedLoop.evaluateBound(scopeMemory);
+                if (boundValue != null) {
+                    return executeCountedLoop(scopeMemory, boundValue, memory -> AlgorithmExecuter.executeBlock(memory, this.commandBlocks[0]));
                 }
-            } catch (AlgorithmBreakException e) {
-                return null;
-            } catch (AlgorithmContinueException e) {
             }
-            AlgorithmExecuter.executeBlock(currentMemory, this.loopAssignment);
-            AlgorithmExecuter.executeBlock(currentMemory, this.endLoopCommands);
-            // Identifierwerte aktualisieren.
+            AlgorithmExecuter.executeBlock(scopeMemory, this.endLoopCommands);
+            while (this.endLoopCondition.evaluate(scopeMemory)) {
+                scopeMemory.countLoopIteration();
+                result = AlgorithmExecuter.executeBlock(scopeMemory, this.commandBlocks[0]);
+                if (AlgorithmExecuter.isLoopTerminated(result)) {
+                    return AlgorithmExecuter.getLoopResult(result);
+                }
+                AlgorithmExecuter.executeBlock(scopeMemory, this.loopAssignment);
+                AlgorithmExecuter.executeBlock(scopeMemory, this.endLoopCommands);
+                // Identifierwerte aktualisieren.
+            }
+        } finally {
+            scopeMemory.closeScope(scopeMark);
         }
 
-        // Speicher vor der Ausführung des Blocks aktualisieren.
-        ExecutionUtils.updateMemoryBeforeBlockExecution(scopeMemory, currentMemory);
-
-        return result;
+        return null;
     }
 
     @Override
     public String toString() {
-        String forCommandString = "for (" + this.initialization + "; " + this.endLoopCommands + ", " + this.endLoopCondition + "; " + this.loopAssignment + "){";
+        String forCommandString = (this.parallel ? Keyword.PARALLELFOR.getValue() : Keyword.FOR.getValue()) + " (" + this.initialization + "; " + this.endLoopCommands + ", " + this.endLoopCondition + "; " + this.loopAssignment + "){";
         forCommandString = this.commandBlocks[0].stream().map((c) -> c.toString() + "; \n").reduce(forCommandString, String::concat);
         return forCommandString + "}";
     }
@@ -92,7 +175,7 @@ public class ForControlStructure extends ControlStructure {
     @Override
     public String toCommandString() {
 
-        String commandString = Keyword.FOR.getValue() + ReservedChars.OPEN_BRACKET.getStringValue();
+        String commandString = (this.parallel ? Keyword.PARALLELFOR.getValue() : Keyword.FOR.getValue()) + ReservedChars.OPEN_BRACKET.getStringValue();
 
         for (AlgorithmCommand command : this.initialization) {
             commandString += command.toCommandString();
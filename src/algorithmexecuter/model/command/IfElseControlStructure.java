@@ -43,6 +43,13 @@ public class IfElseControlStructure extends ControlStructure {
         this.commandBlocks[1] = commandsElsePart;
     }
 
+    @Override
+    public IfElseControlStructure copy() {
+        IfElseControlStructure copy = new IfElseControlStructure(this.condition, copy(this.commandsIfPart));
+        copy.setCommandsElsePart(copy(this.commandsElsePart));
+        return copy;
+    }
+
     @Override
     public Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException {
         if (this.condition.evaluate(scopeMemory)) {
@@ -2,19 +2,30 @@ package algorithmexecuter.model.command;
 
 import algorithmexecuter.enums.Keyword;
 import algorithmexecuter.enums.ReservedChars;
-import algorithmexecuter.exceptions.AlgorithmBreakException;
-import algorithmexecuter.exceptions.AlgorithmContinueException;
-import algorithmexecuter.exceptions.AlgorithmExecutionException;
 import algorithmexecuter.model.AlgorithmMemory;
 import algorithmexecuter.model.identifier.Identifier;
-import exceptions.EvaluationException;
 
 public class KeywordCommand extends AlgorithmCommand {
 
     private final Keyword keyword;
+    private final Identifier signal;
 
     public KeywordCommand(Keyword keyword) {
         this.keyword = keyword;
+        this.signal = keyword.equals(Keyword.BREAK) ? Identifier.BREAK_SIGNAL : Identifier.CONTINUE_SIGNAL;
+    }
+
+    public Keyword getKeyword() {
+        return this.keyword;
+    }
+
+    public Identifier getSignal() {
+        return this.signal;
+    }
+
+    @Override
+    public KeywordCommand copy() {
+        return new KeywordCommand(this.keyword);
     }
 
     @Override
@@ -22,12 +33,13 @@ public class KeywordCommand extends AlgorithmCommand {
         return "KeyWordCommand[keyword = " + this.keyword + "]";
     }
 
+    /**
+     * Gibt das zum Schlüsselwort gehörende Signal zurück. Dieses beendet die
+     * Ausführung aller Blöcke bis zur innersten umgebenden Schleife.
+     */
     @Override
-    public Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException {
-        if (this.keyword.equals(Keyword.BREAK)) {
-            throw new AlgorithmBreakException();
-        }
-        throw new AlgorithmContinueException();
+    public Identifier execute(AlgorithmMemory scopeMemory) {
+        return this.signal;
     }
 
     @Override
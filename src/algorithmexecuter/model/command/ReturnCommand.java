@@ -17,6 +17,11 @@ public class ReturnCommand extends AlgorithmCommand {
         return this.identifier;
     }
 
+    @Override
+    public ReturnCommand copy() {
+        return new ReturnCommand(this.identifier);
+    }
+
     @Override
     public String toString() {
         return "ReturnCommand[identifier = " + this.identifier + "]";
@@ -27,7 +32,7 @@ public class ReturnCommand extends AlgorithmCommand {
         if (this.identifier == Identifier.NULL_IDENTIFIER) {
             return Identifier.NULL_IDENTIFIER;
         }
-        return scopeMemory.get(this.identifier.getName());
+        return scopeMemory.get(this.identifier);
     }
     
     @Override
@@ -1,8 +1,10 @@
 package algorithmexecuter.model.command;
 
 import abstractexpressions.expression.classes.Expression;
-import algorithmexecuter.AlgorithmBuilder;
+import algorithmexecuter.CompilerUtils;
+import algorithmexecuter.ExecutionUtils;
 import algorithmexecuter.annotations.Execute;
+import algorithmexecuter.enums.ExecutionMode;
 import algorithmexecuter.enums.FixedAlgorithmNames;
 import algorithmexecuter.enums.IdentifierType;
 import algorithmexecuter.enums.ReservedChars;
@@ -14,19 +16,38 @@ import algorithmexecuter.model.AlgorithmMemory;
 import algorithmexecuter.model.Signature;
 import algorithmexecuter.model.utilclasses.MalString;
 import algorithmexecuter.model.utilclasses.malstring.MalStringCharSequence;
-import algorithmexecuter.output.AlgorithmOutputPrinter;
 import exceptions.EvaluationException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
 
 public class VoidCommand extends AlgorithmCommand {
 
+    /**
+     * Implementierungen der Standard-Void-Befehle, indiziert nach deren Namen.
+     */
+    private static final Map<String, MethodHandle> EXECUTE_METHODS = ExecutionUtils.getExecuteMethodHandles(VoidCommand.class, MethodHandles.lookup(),
+            MethodType.methodType(void.class, VoidCommand.class, AlgorithmMemory.class));
+
     private final String name;
     private final Identifier[] identifiers;
+    /**
+     * Aufgerufener, vom Benutzer definierter Algorithmus. Dieser wird nach dem
+     * Kompilieren aller Algorithmen gesetzt (null, falls ein Standardbefehl
+     * aufgerufen wird).
+     */
+    private Algorithm targetAlgorithm;
+    /**
+     * Implementierung des gleichnamigen Standardbefehls (null, falls kein
+     * solcher existiert).
+     */
+    private final MethodHandle executeMethod;
 
     public VoidCommand(String name, Identifier... identifiers) {
         this.name = name;
         this.identifiers = identifiers;
+        this.executeMethod = EXECUTE_METHODS.get(name);
     }
 
     public String getName() {
@@ -37,6 +58,30 @@ public class VoidCommand extends AlgorithmCommand {
         return identifiers;
     }
 
+    public Algorithm getTargetAlgorithm() {
+        return targetAlgorithm;
+    }
+
+    public void setTargetAlgorithm(Algorithm targetAlgorithm) {
+        this.targetAlgorithm = targetAlgorithm;
+    }
+
+    /**
+     * Gibt zurück, ob der Befehl die Werte seiner Parameter direkt verändert.
+     * Dies ist bei allen Standardbefehlen außer print() und entry() der Fall.
+     * Vom Benutzer definierte Algorithmen erhalten dagegen Kopien ihrer
+     * Parameter.
+     */
+    public boolean changesIdentifierValues() {
+        return this.executeMethod != null && !this.name.equals(FixedAlgorithmNames.PRINT.getValue())
+                && !this.name.equals(FixedAlgorithmNames.ENTRY.getValue());
+    }
+
+    @Override
+    public VoidCommand copy() {
+        return new VoidCommand(this.name, this.identifiers);
+    }
+
     @Override
     public String toString() {
         return "VoidCommand[name = " + this.name + ", identifiers = " + identifierArrayToString(this.identifiers) + "]";
@@ -63,32 +108,45 @@ public class VoidCommand extends AlgorithmCommand {
 
     @Override
     public Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException {
-        // Zunächst über alle definierten Algorithmen iterieren.
-        for (Algorithm alg : AlgorithmBuilder.ALGORITHMS.getAlgorithms()) {
-            if (alg.getSignature().equals(getSignature()) && alg.getReturnType() == null) {
-                alg.initInputParameter(this.identifiers);
-                alg.execute();
-                return null;
-            }
+        return execute(scopeMemory, ExecutionMode.INTERPRETER);
+    }
+
+    /**
+     * Führt den Befehl aus. Ein aufgerufener Algorithmus wird dabei im
+     * Ausführungsmodus mode ausgeführt.
+     */
+    public Identifier execute(AlgorithmMemory scopeMemory, ExecutionMode mode) throws AlgorithmExecutionException, EvaluationException {
+        // Zunächst den (beim Kompilieren verlinkten) vom Benutzer definierten Algorithmus ausführen.
+        if (this.targetAlgorithm != null) {
+            this.targetAlgorithm.executeCall(getRuntimeIdentifiers(scopeMemory), mode, scopeMemory);
+            return null;
         }
-        // Nun alle standardmäßig implementierten Void-Methoden ausprobieren.
+        // Ansonsten den standardmäßig implementierten Void-Befehl ausführen.
         return executeFixedVoidCommand(scopeMemory);
     }
 
+    /**
+     * Gibt die Laufzeitinstanzen der Parameter dieses Befehls im Speicher
+     * scopeMemory zurück.
+     */
+    private Identifier[] getRuntimeIdentifiers(AlgorithmMemory scopeMemory) {
+        Identifier[] runtimeIdentifiers = new Identifier[this.identifiers.length];
+        for (int i = 0; i < this.identifiers.length; i++) {
+            runtimeIdentifiers[i] = scopeMemory.get(this.identifiers[i]);
+        }
+        return runtimeIdentifiers;
+    }
+
     private Identifier executeFixedVoidCommand(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException {
-        Method[] methods = VoidCommand.class.getDeclaredMethods();
-        Execute annotation;
-        for (Method method : methods) {
-            annotation = method.getAnnotation(Execute.class);
-            if (annotation != null && annotation.algorithmName().getValue().equals(this.name)) {
-                try {
-                    method.invoke(this, scopeMemory);
-                    return null;
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                    if (e.getCause() instanceof AlgorithmExecutionException) {
-                        throw (AlgorithmExecutionException) e.getCause();
-                    }
-                }
+        if (this.executeMethod != null) {
+            try {
+                this.executeMethod.invokeExact(this, scopeMemory);
+                return null;
+            } catch (AlgorithmExecutionException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // Nur wegen invokeExact() nötig, die Implementierungen werfen keine weiteren geprüften Ausnahmen.
+                throw new IllegalStateException(e);
             }
         }
         throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_NO_SUCH_COMMAND, this.getSignature());
@@ -96,20 +154,25 @@ public class VoidCommand extends AlgorithmCommand {
 
     @Execute(algorithmName = FixedAlgorithmNames.INC)
     private void executeInc(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException {
-        inc(this.identifiers[0]);
+        Identifier identifier = scopeMemory.get(this.identifiers[0]);
+        inc(identifier);
+        scopeMemory.checkValueSize(identifier);
     }
 
     @Execute(algorithmName = FixedAlgorithmNames.DEC)
     private void executeDec(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException {
-        dec(this.identifiers[0]);
+        Identifier identifier = scopeMemory.get(this.identifiers[0]);
+        dec(identifier);
+        scopeMemory.checkValueSize(identifier);
     }
 
     @Execute(algorithmName = FixedAlgorithmNames.PRINT)
     private void executePrint(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException {
-        if (this.identifiers[0].getType() != IdentifierType.STRING) {
-            AlgorithmOutputPrinter.getInstance().printLine(this.identifiers[0].getRuntimeValue().toString());
+        Identifier identifier = scopeMemory.get(this.identifiers[0]);
+        if (identifier.getType() != IdentifierType.STRING) {
+            CompilerUtils.getSession(scopeMemory).getPrinter().printLine(identifier.getRuntimeValue().toString());
         } else {
-            AlgorithmOutputPrinter.getInstance().printLine(((MalStringCharSequence) ((MalString) this.identifiers[0].getRuntimeValue()).getMalStringSummands()[0]).getStringValue());
+            CompilerUtils.getSession(scopeMemory).getPrinter().printLine(((MalStringCharSequence) ((MalString) identifier.getRuntimeValue()).getMalStringSummands()[0]).getStringValue());
         }
     }
 
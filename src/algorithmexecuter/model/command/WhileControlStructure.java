@@ -5,8 +5,6 @@ import algorithmexecuter.CompilerUtils;
 import algorithmexecuter.booleanexpression.BooleanExpression;
 import algorithmexecuter.enums.Keyword;
 import algorithmexecuter.enums.ReservedChars;
-import algorithmexecuter.exceptions.AlgorithmBreakException;
-import algorithmexecuter.exceptions.AlgorithmContinueException;
 import algorithmexecuter.exceptions.AlgorithmExecutionException;
 import algorithmexecuter.model.AlgorithmMemory;
 import algorithmexecuter.model.identifier.Identifier;
@@ -36,21 +34,22 @@ public class WhileControlStructure extends ControlStructure {
         return commands;
     }
 
+    @Override
+    public WhileControlStructure copy() {
+        return new WhileControlStructure(this.condition, copy(this.commands));
+    }
+
     @Override
     public Identifier execute(AlgorithmMemory scopeMemory) throws AlgorithmExecutionException, EvaluationException {
         Identifier result = null;
         while (this.condition.evaluate(scopeMemory)) {
-            try {
-                result = AlgorithmExecuter.executeConnectedBlock(scopeMemory, this.commands);
-                if (result != null) {
-                    return result;
-                }
-            } catch (AlgorithmBreakException e) {
-                return null;
-            } catch (AlgorithmContinueException e) {
+            scopeMemory.countLoopIteration();
+            result = AlgorithmExecuter.executeConnectedBlock(scopeMemory, this.commands);
+            if (AlgorithmExecuter.isLoopTerminated(result)) {
+                return AlgorithmExecuter.getLoopResult(result);
             }
         }
-        return result;
+        return null;
     }
 
     @Override
@@ -17,9 +17,24 @@ public class Identifier {
      */
     public static final Identifier NULL_IDENTIFIER = new Identifier();
 
+    /**
+     * Signale, welche von break- bzw. continue-Befehlen anstelle eines
+     * Ergebnisbezeichners zurückgegeben werden. Sie werden von der innersten
+     * umgebenden Schleife ausgewertet und dürfen nur per Referenz (==)
+     * verglichen werden.
+     */
+    public static final Identifier BREAK_SIGNAL = new Identifier();
+    public static final Identifier CONTINUE_SIGNAL = new Identifier();
+
     private IdentifierType type;
     private final String name;
     private Object runtimeValue;
+    /**
+     * Index des Bezeichners im Speicher des zugehörigen Algorithmus. Dieser
+     * wird beim Kompilieren festgelegt (-1, falls (noch) kein Slot vergeben
+     * wurde).
+     */
+    private int slot = -1;
 
     private Identifier() {
         this.type = null;
@@ -39,6 +54,26 @@ public class Identifier {
         return name;
     }
 
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Erzeugt eine neue (wertlose) Laufzeitinstanz dieses Bezeichners mit
+     * demselben Namen, Typ und Slot. Die Bezeichner im kompilierten Algorithmus
+     * dienen nur als Beschreibung, Werte werden ausschließlich in den
+     * Laufzeitinstanzen im Speicher eines Aufrufs abgelegt.
+     */
+    public Identifier createRuntimeInstance() {
+        Identifier identifier = new Identifier(this.type, this.name);
+        identifier.slot = this.slot;
+        return identifier;
+    }
+
     public Object getRuntimeValue() {
         return runtimeValue;
     }
@@ -107,7 +142,9 @@ public class Identifier {
             }
             return identifier;
         }
-        return new Identifier(type, identifierName);
+        Identifier identifier = new Identifier(type, identifierName);
+        identifier.slot = scopeMemory.getSlotTable().getOrCreateSlot(identifierName);
+        return identifier;
     }
 
 }
@@ -0,0 +1,417 @@
+package algorithmexecuter.model.utilclasses;
+
+import abstractexpressions.expression.classes.BinaryOperation;
+import abstractexpressions.expression.classes.Constant;
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Variable;
+import algorithmexecuter.AlgorithmClosureCompiler.CompiledCommand;
+import algorithmexecuter.AlgorithmExecuter;
+import algorithmexecuter.ExecutionControl;
+import algorithmexecuter.ExecutionUtils;
+import algorithmexecuter.booleanexpression.BooleanComparisonBlock;
+import algorithmexecuter.booleanexpression.BooleanExpression;
+import algorithmexecuter.enums.ComparingOperators;
+import algorithmexecuter.enums.IdentifierType;
+import algorithmexecuter.exceptions.AlgorithmExecutionException;
+import algorithmexecuter.exceptions.constants.AlgorithmExecutionExceptionIds;
+import algorithmexecuter.model.AlgorithmMemory;
+import algorithmexecuter.model.IdentifierSlotTable;
+import algorithmexecuter.model.command.AlgorithmCommand;
+import algorithmexecuter.model.command.AssignValueCommand;
+import algorithmexecuter.model.command.ControlStructure;
+import algorithmexecuter.model.command.ForControlStructure;
+import algorithmexecuter.model.command.VoidCommand;
+import algorithmexecuter.model.identifier.Identifier;
+import exceptions.EvaluationException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Zählschleife der Form for(expression i = a, i < b, i = i + c){...} mit
+ * ganzzahligen Konstanten a und c und einer innerhalb der Schleife nicht
+ * veränderten Schranke b (statt &lt; sind auch &lt;=, &gt; und &gt;= zulässig).
+ * Solche Schleifen werden mit einem primitiven Zähler ausgeführt, sodass die
+ * Schleifenbedingung und das Hochzählen ohne Vereinfachen von Ausdrücken
+ * auskommen. Die Laufvariable wird vor jedem Durchlauf als Konstante im
+ * Speicher abgelegt.
+ */
+public class CountedLoop {
+
+    /**
+     * Höchstanzahl der Teilbereiche, in welche die Durchläufe einer parallelen
+     * for-Schleife zerlegt werden. Die Zerlegung hängt bewusst nicht von der
+     * Anzahl der Prozessoren ab, damit die Teilsummen stets in derselben Weise
+     * zusammengefasst werden.
+     */
+    private static final int MAX_NUMBER_OF_CHUNKS = 64;
+
+    private final Identifier loopVariable;
+    private final long start;
+    private final long step;
+    private final ComparingOperators comparingOperator;
+    private final Expression bound;
+    private final IdentifierSubstitution boundSubstitution;
+
+    private CountedLoop(Identifier loopVariable, long start, long step, ComparingOperators comparingOperator, Expression bound) {
+        this.loopVariable = loopVariable;
+        this.start = start;
+        this.step = step;
+        this.comparingOperator = comparingOperator;
+        this.bound = bound;
+        this.boundSubstitution = new IdentifierSubstitution(bound);
+    }
+
+    /**
+     * Gibt die Zählschleife zur For-Struktur mit den angegebenen Bestandteilen
+     * zurück oder null, falls diese keine Zählschleife ist.
+     */
+    public static CountedLoop createCountedLoop(List<AlgorithmCommand> initialization, List<AlgorithmCommand> endLoopCommands,
+            BooleanExpression endLoopCondition, List<AlgorithmCommand> loopAssignment, List<AlgorithmCommand> commands) {
+        // Initialisierung: i = a mit ganzzahliger Konstante a.
+        if (initialization.size() != 1 || !initialization.get(0).isAssignValueCommand()
+                || !endLoopCommands.isEmpty() || !(endLoopCondition instanceof BooleanComparisonBlock)) {
+            return null;
+        }
+        AssignValueCommand initCommand = (AssignValueCommand) initialization.get(0);
+        Identifier loopVariable = initCommand.getIdentifierSrc();
+        String loopVariableName = loopVariable.getName();
+        if (loopVariable.getType() != IdentifierType.EXPRESSION || !isLongConstant(initCommand.getTargetValue())) {
+            return null;
+        }
+        long start = ((Constant) initCommand.getTargetValue()).getBigIntValue().longValue();
+
+        // Bedingung: i < b (bzw. b > i) mit einem Ausdruck b, welcher i nicht enthält.
+        BooleanComparisonBlock comparison = (BooleanComparisonBlock) endLoopCondition;
+        ComparingOperators comparingOperator = comparison.getComparingOperator();
+        Object bound;
+        if (isVariable(comparison.getLeft(), loopVariableName)) {
+            bound = comparison.getRight();
+        } else if (isVariable(comparison.getRight(), loopVariableName)) {
+            bound = comparison.getLeft();
+            comparingOperator = getMirroredOperator(comparingOperator);
+        } else {
+            return null;
+        }
+        if (comparingOperator == ComparingOperators.EQUALS || comparingOperator == ComparingOperators.NOT_EQUALS
+                || !(bound instanceof Expression) || ((Expression) bound).contains(loopVariableName)) {
+            return null;
+        }
+
+        // Schrittweite: i = i + c, i = c + i oder i = i - c mit ganzzahliger Konstante c.
+        if (loopAssignment.size() != 1 || !loopAssignment.get(0).isAssignValueCommand()) {
+            return null;
+        }
+        AssignValueCommand stepCommand = (AssignValueCommand) loopAssignment.get(0);
+        if (!stepCommand.getIdentifierSrc().getName().equals(loopVariableName) || !(stepCommand.getTargetValue() instanceof Expression)) {
+            return null;
+        }
+        Expression stepExpr = (Expression) stepCommand.getTargetValue();
+        Object stepSummand;
+        if (stepExpr.isSum() && isVariable(((BinaryOperation) stepExpr).getLeft(), loopVariableName)) {
+            stepSummand = ((BinaryOperation) stepExpr).getRight();
+        } else if (stepExpr.isSum() && isVariable(((BinaryOperation) stepExpr).getRight(), loopVariableName)) {
+            stepSummand = ((BinaryOperation) stepExpr).getLeft();
+        } else if (stepExpr.isDifference() && isVariable(((BinaryOperation) stepExpr).getLeft(), loopVariableName)) {
+            stepSummand = ((BinaryOperation) stepExpr).getRight();
+        } else {
+            return null;
+        }
+        if (!isLongConstant(stepSummand)) {
+            return null;
+        }
+        long step = ((Constant) stepSummand).getBigIntValue().longValue();
+        if (stepExpr.isDifference()) {
+            step = -step;
+        }
+
+        // Weder die Laufvariable noch die in der Schranke vorkommenden Bezeichner dürfen im Schleifenrumpf verändert werden.
+        Set<String> assignedIdentifierNames = new HashSet<>();
+        collectAssignedIdentifierNames(commands, assignedIdentifierNames);
+        if (assignedIdentifierNames.contains(loopVariableName)) {
+            return null;
+        }
+        for (String var : ((Expression) bound).getContainedVars()) {
+            if (assignedIdentifierNames.contains(var)) {
+                return null;
+            }
+        }
+
+        return new CountedLoop(loopVariable, start, step, comparingOperator, (Expression) bound);
+    }
+
+    /**
+     * Gibt zurück, ob value eine ganzzahlige Konstante ist, deren Betrag klein
+     * genug ist, damit beim Hochzählen kein Überlauf auftreten kann.
+     */
+    private static boolean isLongConstant(Object value) {
+        return value instanceof Expression && ((Expression) value).isIntegerConstant()
+                && ((Constant) value).getBigIntValue().bitLength() < 32;
+    }
+
+    private static boolean isVariable(Object value, String name) {
+        return value instanceof Variable && ((Variable) value).getName().equals(name);
+    }
+
+    private static ComparingOperators getMirroredOperator(ComparingOperators comparingOperator) {
+        switch (comparingOperator) {
+            case GREATER:
+                return ComparingOperators.SMALLER;
+            case GREATER_OR_EQUALS:
+                return ComparingOperators.SMALLER_OR_EQUALS;
+            case SMALLER:
+                return ComparingOperators.GREATER;
+            case SMALLER_OR_EQUALS:
+                return ComparingOperators.GREATER_OR_EQUALS;
+            default:
+                return comparingOperator;
+        }
+    }
+
+    private static void collectAssignedIdentifierNames(List<AlgorithmCommand> commands, Set<String> assignedIdentifierNames) {
+        for (AlgorithmCommand command : commands) {
+            if (command.isAssignValueCommand()) {
+                assignedIdentifierNames.add(((AssignValueCommand) command).getIdentifierSrc().getName());
+            } else if (command.isVoidCommand() && ((VoidCommand) command).changesIdentifierValues()) {
+                // Standardbefehle wie inc() und dec() verändern ihre Parameter direkt.
+                for (Identifier identifier : ((VoidCommand) command).getIdentifiers()) {
+                    assignedIdentifierNames.add(identifier.getName());
+                }
+            } else if (command.isControlStructure()) {
+                for (List<AlgorithmCommand> commandBlock : ((ControlStructure) command).getCommandBlocks()) {
+                    collectAssignedIdentifierNames(commandBlock, assignedIdentifierNames);
+                }
+                if (command.isForControlStructure()) {
+                    collectAssignedIdentifierNames(((ForControlStructure) command).getInitialization(), assignedIdentifierNames);
+                    collectAssignedIdentifierNames(((ForControlStructure) command).getEndLoopCommands(), assignedIdentifierNames);
+                    collectAssignedIdentifierNames(((ForControlStructure) command).getLoopAssignment(), assignedIdentifierNames);
+                }
+            }
+        }
+    }
+
+    public void resolveIdentifierSlots(IdentifierSlotTable slotTable) {
+        this.boundSubstitution.resolveIdentifierSlots(slotTable);
+    }
+
+    /**
+     * Gibt den aktuellen Wert der Schranke zurück oder null, falls dieser keine
+     * (hinreichend kleine) ganze Zahl ist. In diesem Fall muss die Schleife
+     * allgemein ausgeführt werden.
+     */
+    public Long evaluateBound(AlgorithmMemory scopeMemory) {
+        Expression boundValue = this.boundSubstitution.substitute(this.bound, scopeMemory);
+        if (!boundValue.isIntegerConstant()) {
+            try {
+                boundValue = ExecutionUtils.simplify(boundValue, scopeMemory);
+            } catch (EvaluationException e) {
+                return null;
+            }
+        }
+        if (!boundValue.isIntegerConstant() || ((Constant) boundValue).getBigIntValue().bitLength() >= 62) {
+            return null;
+        }
+        return ((Constant) boundValue).getBigIntValue().longValue();
+    }
+
+    private boolean isConditionSatisfied(long value, long boundValue) {
+        switch (this.comparingOperator) {
+            case GREATER:
+                return value > boundValue;
+            case GREATER_OR_EQUALS:
+                return value >= boundValue;
+            case SMALLER:
+                return value < boundValue;
+            default:
+                return value <= boundValue;
+        }
+    }
+
+    /**
+     * Führt die Zählschleife mit dem Schleifenrumpf body aus. Die
+     * Initialisierung der Laufvariable muss bereits erfolgt sein.
+     */
+    public Identifier execute(AlgorithmMemory scopeMemory, long boundValue, CompiledCommand body) throws AlgorithmExecutionException, EvaluationException {
+        Identifier loopVariableInstance = scopeMemory.getOrCreateRuntimeIdentifier(this.loopVariable);
+        Identifier result;
+        long value = this.start;
+        while (isConditionSatisfied(value, boundValue)) {
+            scopeMemory.countLoopIteration();
+            result = body.execute(scopeMemory);
+            if (AlgorithmExecuter.isLoopTerminated(result)) {
+                return AlgorithmExecuter.getLoopResult(result);
+            }
+            value += this.step;
+            loopVariableInstance.setRuntimeValue(new Constant(BigInteger.valueOf(value)));
+        }
+        return null;
+    }
+
+    /**
+     * Gibt die Anzahl der Durchläufe bei der Schranke boundValue zurück oder
+     * -1, falls die Schleife nicht terminiert.
+     */
+    private long getNumberOfIterations(long boundValue) {
+        // Abstand zwischen Startwert und dem ersten Wert, für welchen die Bedingung nicht mehr erfüllt ist.
+        long distance;
+        long stepTowardsBound;
+        switch (this.comparingOperator) {
+            case SMALLER:
+                distance = boundValue - this.start;
+                stepTowardsBound = this.step;
+                break;
+            case SMALLER_OR_EQUALS:
+                distance = boundValue + 1 - this.start;
+                stepTowardsBound = this.step;
+                break;
+            case GREATER:
+                distance = this.start - boundValue;
+                stepTowardsBound = -this.step;
+                break;
+            default:
+                distance = this.start + 1 - boundValue;
+                stepTowardsBound = -this.step;
+        }
+        if (distance <= 0) {
+            return 0;
+        }
+        if (stepTowardsBound <= 0) {
+            return -1;
+        }
+        return (distance + stepTowardsBound - 1) / stepTowardsBound;
+    }
+
+    /**
+     * Führt die Zählschleife als parallele for-Schleife auf dem Pool pool aus.
+     * Die Durchläufe werden in Teilbereiche zerlegt, von denen jeder in einer
+     * eigenen Kopie von scopeMemory ausgeführt wird. Die Bezeichner in
+     * reductionIdentifiers beginnen dabei in jedem Teilbereich bei 0, am Ende
+     * werden die Teilsummen in der Reihenfolge der Teilbereiche addiert.
+     */
+    public Identifier executeInParallel(AlgorithmMemory scopeMemory, long boundValue, CompiledCommand body, Identifier[] reductionIdentifiers, ForkJoinPool pool)
+            throws AlgorithmExecutionException, EvaluationException {
+        long numberOfIterations = getNumberOfIterations(boundValue);
+        if (numberOfIterations < 0) {
+            // Die Schleife terminiert nicht, verhält sich also wie im sequentiellen Fall.
+            return execute(scopeMemory, boundValue, body);
+        }
+
+        int numberOfChunks = (int) Math.min(numberOfIterations, MAX_NUMBER_OF_CHUNKS);
+        /*
+        Jeder Teilbereich erhält eine eigene Steuerung. Schlägt ein Teilbereich
+        fehl, so werden alle nachfolgenden abgebrochen. Die vorangehenden laufen
+        weiter, damit stets der Fehler des ersten fehlerhaften Teilbereichs
+        gemeldet wird.
+         */
+        ExecutionControl control = scopeMemory.getExecutionControl();
+        List<ExecutionControl> chunkControls = new ArrayList<>(numberOfChunks);
+        for (int i = 0; i < numberOfChunks; i++) {
+            chunkControls.add(control != null ? control.createChild() : new ExecutionControl());
+        }
+        List<ForkJoinTask<Expression[]>> tasks = new ArrayList<>(numberOfChunks);
+        long firstIteration = 0;
+        for (int i = 0; i < numberOfChunks; i++) {
+            long chunkSize = numberOfIterations / numberOfChunks + (i < numberOfIterations % numberOfChunks ? 1 : 0);
+            AlgorithmMemory chunkMemory = scopeMemory.copyMemory();
+            chunkMemory.setExecutionControl(chunkControls.get(i));
+            long chunkStart = this.start + firstIteration * this.step;
+            int chunkIndex = i;
+            tasks.add(pool.submit(() -> executeChunk(chunkMemory, chunkStart, chunkSize, body, reductionIdentifiers, chunkControls, chunkIndex)));
+            firstIteration += chunkSize;
+        }
+
+        Expression[] sums = new Expression[reductionIdentifiers.length];
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = (Expression) scopeMemory.get(reductionIdentifiers[i]).getRuntimeValue();
+        }
+        try {
+            for (ForkJoinTask<Expression[]> task : tasks) {
+                Expression[] partialSums = getChunkResult(task);
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i] = sums[i].add(partialSums[i]);
+                }
+            }
+        } finally {
+            for (int i = 0; i < numberOfChunks; i++) {
+                // Bereits laufende Teilbereiche werden nur über ihre Steuerung beendet.
+                chunkControls.get(i).cancel();
+                tasks.get(i).cancel(true);
+            }
+        }
+        for (int i = 0; i < sums.length; i++) {
+            scopeMemory.get(reductionIdentifiers[i]).setRuntimeValue(ExecutionUtils.simplify(sums[i], scopeMemory));
+        }
+        // Die Laufvariable erhält wie im sequentiellen Fall den ersten Wert, welcher die Bedingung nicht erfüllt.
+        scopeMemory.getOrCreateRuntimeIdentifier(this.loopVariable).setRuntimeValue(new Constant(BigInteger.valueOf(this.start + numberOfIterations * this.step)));
+        return null;
+    }
+
+    private Expression[] executeChunk(AlgorithmMemory chunkMemory, long chunkStart, long chunkSize, CompiledCommand body, Identifier[] reductionIdentifiers,
+            List<ExecutionControl> chunkControls, int chunkIndex) throws AlgorithmExecutionException, EvaluationException {
+        boolean completed = false;
+        try {
+            Expression[] partialSums = executeChunk(chunkMemory, chunkStart, chunkSize, body, reductionIdentifiers);
+            completed = true;
+            return partialSums;
+        } finally {
+            if (!completed) {
+                for (int i = chunkIndex + 1; i < chunkControls.size(); i++) {
+                    chunkControls.get(i).cancel();
+                }
+            }
+        }
+    }
+
+    private Expression[] executeChunk(AlgorithmMemory chunkMemory, long chunkStart, long chunkSize, CompiledCommand body, Identifier[] reductionIdentifiers)
+            throws AlgorithmExecutionException, EvaluationException {
+        // Laufvariable und Summationsbezeichner erhalten eigene Laufzeitinstanzen, alle übrigen äußeren Bezeichner werden nur gelesen.
+        Identifier loopVariableInstance = this.loopVariable.createRuntimeInstance();
+        chunkMemory.put(this.loopVariable.getSlot(), loopVariableInstance);
+        Identifier[] reductionInstances = new Identifier[reductionIdentifiers.length];
+        for (int i = 0; i < reductionIdentifiers.length; i++) {
+            reductionInstances[i] = reductionIdentifiers[i].createRuntimeInstance();
+            reductionInstances[i].setRuntimeValue(Expression.ZERO);
+            chunkMemory.put(reductionIdentifiers[i].getSlot(), reductionInstances[i]);
+        }
+        long value = chunkStart;
+        for (long i = 0; i < chunkSize; i++) {
+            chunkMemory.countLoopIteration();
+            loopVariableInstance.setRuntimeValue(new Constant(BigInteger.valueOf(value)));
+            // Rückgabewert kann nur null oder continue sein (break und return sind nicht erlaubt).
+            body.execute(chunkMemory);
+            value += this.step;
+        }
+        Expression[] partialSums = new Expression[reductionInstances.length];
+        for (int i = 0; i < reductionInstances.length; i++) {
+            partialSums[i] = (Expression) reductionInstances[i].getRuntimeValue();
+        }
+        return partialSums;
+    }
+
+    private static Expression[] getChunkResult(ForkJoinTask<Expression[]> task) throws AlgorithmExecutionException, EvaluationException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AlgorithmExecutionException(AlgorithmExecutionExceptionIds.AE_EXECUTION_INTERRUPTED);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AlgorithmExecutionException) {
+                throw (AlgorithmExecutionException) cause;
+            }
+            if (cause instanceof EvaluationException) {
+                throw (EvaluationException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+}
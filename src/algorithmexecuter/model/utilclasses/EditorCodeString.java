@@ -1,177 +1,313 @@
 package algorithmexecuter.model.utilclasses;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Unveränderlicher Ausschnitt [begin, end) eines (von allen Teilstrings
+ * gemeinsam genutzten) Quellpuffers ohne Zeilenumbrüche. Die Zeilennummern der
+ * einzelnen Zeichen sind monoton steigend und werden daher nur über die
+ * Anfangsoffsets der Zeilen im Puffer gespeichert.
+ */
 public class EditorCodeString {
 
-    private String value;
+    private final String source;
+    /**
+     * lineStarts[k] ist der Offset im Puffer, ab welchem die Zeichen die
+     * Zeilennummer firstLine + k besitzen. Aufeinanderfolgende leere Zeilen
+     * besitzen denselben Offset.
+     */
+    private final int[] lineStarts;
+    private final int firstLine;
+    private final int begin;
+    private final int end;
+    /**
+     * Klammerstruktur des Quellpuffers, wird erst bei Bedarf erzeugt und von
+     * allen Teilstrings gemeinsam genutzt.
+     */
+    private final AtomicReference<BracketTable> bracketTable;
 
-    private final Integer[] lineNumbers;
+    /**
+     * Stringwert dieses Ausschnitts, wird erst bei Bedarf erzeugt.
+     */
+    private String value;
 
     public EditorCodeString(String value) {
-        this.value = "";
-        List<Integer> lineNumberList = new ArrayList<>();
+        Builder builder = new Builder(value.length());
         int line = 0;
         for (int i = 0; i < value.length(); i++) {
-            if (value.substring(i, i + 1).equals("\n")) {
+            if (value.charAt(i) == '\n') {
                 line++;
             } else {
-                this.value += value.charAt(i);
-                lineNumberList.add(line);
+                builder.append(value.charAt(i), line);
             }
         }
-        this.lineNumbers = lineNumberList.toArray(new Integer[lineNumberList.size()]);
+        EditorCodeString code = builder.build();
+        this.source = code.source;
+        this.lineStarts = code.lineStarts;
+        this.firstLine = code.firstLine;
+        this.begin = code.begin;
+        this.end = code.end;
+        this.bracketTable = code.bracketTable;
+        this.value = code.value;
     }
 
-    private EditorCodeString(String value, Integer[] lineNumbers) {
-        this.value = value;
-        this.lineNumbers = lineNumbers;
+    private EditorCodeString(String source, int[] lineStarts, int firstLine, int begin, int end, AtomicReference<BracketTable> bracketTable) {
+        this.source = source;
+        this.lineStarts = lineStarts;
+        this.firstLine = firstLine;
+        this.begin = begin;
+        this.end = end;
+        this.bracketTable = bracketTable;
     }
 
     public  EditorCodeString(EditorCodeString code) {
+        this.source = code.source;
+        this.lineStarts = code.lineStarts;
+        this.firstLine = code.firstLine;
+        this.begin = code.begin;
+        this.end = code.end;
+        this.bracketTable = code.bracketTable;
         this.value = code.value;
-        this.lineNumbers = code.lineNumbers;
     }
-    
+
     /**
      * Gibt einen EditorCodeString zurück, dessen Stringwert der gegebene String
      * value ist und dessen Zeilennummern lineNumbers den konstanten Wert
      * lineNumber besitzen.
      */
     public static EditorCodeString createEditorCodeStringWithGivenLineNumber(String value, int lineNumber) {
-        Integer[] constantLineNumbers = new Integer[value.length()];
-        for (int i = 0; i < constantLineNumbers.length; i++) {
-            constantLineNumbers[i] = lineNumber;
-        }
-        return new EditorCodeString(value, constantLineNumbers);
+        return new EditorCodeString(value, new int[]{0}, lineNumber, 0, value.length(), new AtomicReference<>());
     }
 
     public String getValue() {
-        return value;
+        String stringValue = this.value;
+        if (stringValue == null) {
+            stringValue = this.source.substring(this.begin, this.end);
+            this.value = stringValue;
+        }
+        return stringValue;
     }
 
+    /**
+     * Gibt die Zeilennummern aller Zeichen zurück. Das Array wird bei jedem
+     * Aufruf neu erzeugt.
+     */
     public Integer[] getLineNumbers() {
+        Integer[] lineNumbers = new Integer[length()];
+        int i = 0;
+        while (i < lineNumbers.length) {
+            int k = getLineIndex(this.begin + i);
+            int lineEnd = Math.min(getLineEnd(k), this.end) - this.begin;
+            Integer lineNumber = this.firstLine + k;
+            for (; i < lineEnd; i++) {
+                lineNumbers[i] = lineNumber;
+            }
+        }
         return lineNumbers;
     }
 
     public EditorCodeString substring(int i) {
-        return substring(i, this.value.length());
+        return substring(i, length());
     }
 
     public EditorCodeString substring(int i, int j) {
-        String substring = this.value.substring(i, j);
-        Integer[] lineNumbersOfSubstring = new Integer[substring.length()];
-        for (int k = i; k < j; k++) {
-            lineNumbersOfSubstring[k - i] = this.lineNumbers[k];
+        if (i < 0 || j > length() || i > j) {
+            throw new StringIndexOutOfBoundsException("begin " + i + ", end " + j + ", length " + length());
         }
-        return new EditorCodeString(substring, lineNumbersOfSubstring);
+        return new EditorCodeString(this.source, this.lineStarts, this.firstLine, this.begin + i, this.begin + j, this.bracketTable);
     }
 
     public char charAt(int i) {
-        return this.value.charAt(i);
+        if (i < 0 || i >= length()) {
+            throw new StringIndexOutOfBoundsException(i);
+        }
+        return this.source.charAt(this.begin + i);
     }
 
     public EditorCodeString firstChar() {
         if (this.isEmpty()) {
-            return new EditorCodeString("", new Integer[0]);
+            return this.substring(0, 0);
         }
         return this.substring(0, 1);
     }
-    
+
     public EditorCodeString lastChar() {
         if (this.isEmpty()) {
-            return new EditorCodeString("", new Integer[0]);
+            return this.substring(0, 0);
         }
         return this.substring(this.length() -1);
     }
 
     public int lineNumberAt(int i) {
-        return this.lineNumbers[i];
+        if (i < 0 || i >= length()) {
+            throw new ArrayIndexOutOfBoundsException(i);
+        }
+        return this.firstLine + getLineIndex(this.begin + i);
+    }
+
+    /**
+     * Gibt den größten Index k mit lineStarts[k] &le; offset zurück (binäre
+     * Suche).
+     */
+    private int getLineIndex(int offset) {
+        int low = 0;
+        int high = this.lineStarts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.lineStarts[mid] <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * Gibt den Offset hinter dem letzten Zeichen der Zeile mit dem Index k
+     * zurück.
+     */
+    private int getLineEnd(int k) {
+        return k + 1 < this.lineStarts.length ? this.lineStarts[k + 1] : this.source.length();
     }
 
     public boolean isEmpty() {
-        return this.value.isEmpty();
+        return this.begin == this.end;
     }
 
     public boolean startsWith(String startString) {
-        return this.value.startsWith(startString);
+        return startsWith(startString, 0);
+    }
+
+    /**
+     * Gibt zurück, ob startString an der Stelle i beginnt (vgl.
+     * String.startsWith(String, int)), ohne einen Teilstring zu erzeugen.
+     */
+    public boolean startsWith(String startString, int i) {
+        return i >= 0 && i + startString.length() <= length() && this.source.startsWith(startString, this.begin + i);
     }
 
     public boolean endsWith(String startString) {
-        return this.value.endsWith(startString);
+        return startString.length() <= length() && this.source.startsWith(startString, this.end - startString.length());
     }
 
     public int length() {
-        return this.value.length();
+        return this.end - this.begin;
     }
 
     public int indexOf(char c) {
-        return this.value.indexOf(c);
+        return indexOf(c, 0);
     }
 
     public int indexOf(char c, int i) {
-        return this.value.indexOf(c, i);
+        for (int k = this.begin + Math.max(i, 0); k < this.end; k++) {
+            if (this.source.charAt(k) == c) {
+                return k - this.begin;
+            }
+        }
+        return -1;
     }
 
     public int indexOf(String substring) {
-        return this.value.indexOf(substring);
+        return getValue().indexOf(substring);
     }
 
     public int indexOf(String substring, int i) {
-        return this.value.indexOf(substring, i);
+        return getValue().indexOf(substring, i);
     }
 
     public boolean contains(CharSequence substring) {
-        return this.value.contains(substring);
+        return getValue().contains(substring);
     }
 
-    public EditorCodeString replaceAll(String substring, String replacement) {
-        EditorCodeString resultString = this;
-        int indexOfOccurance = this.value.indexOf(substring);
-        while (indexOfOccurance >= 0 && resultString.indexOf(substring, indexOfOccurance) >= 0) {
-            resultString = resultString.replaceFirst(substring, replacement, indexOfOccurance);
-            indexOfOccurance =  resultString.indexOf(substring, indexOfOccurance + replacement.length());
+    /**
+     * Gibt zur öffnenden Klammer ('(', '[' oder '{') an der Stelle i die Stelle
+     * der zugehörigen schließenden Klammer derselben Art zurück. Klammern
+     * anderer Art werden dabei nicht berücksichtigt. Liegt die schließende
+     * Klammer nicht innerhalb dieses Strings (oder steht an der Stelle i keine
+     * öffnende Klammer), so wird -1 zurückgegeben.
+     */
+    public int indexOfMatchingBracket(int i) {
+        int k = this.begin + i;
+        if (i < 0 || k >= this.end || BracketTable.OPEN_BRACKETS.indexOf(this.source.charAt(k)) < 0) {
+            return -1;
+        }
+        int match = getBracketTable().matchingBrackets[k];
+        return match >= 0 && match < this.end ? match - this.begin : -1;
+    }
+
+    /**
+     * Gibt die Anzahl der öffnenden abzüglich der Anzahl der schließenden
+     * Klammern der Art openBracket ('(', '[' oder '{') zwischen den Stellen i
+     * (einschließlich) und j (ausschließlich) zurück.
+     */
+    public int getBracketBalance(char openBracket, int i, int j) {
+        int[] balance = getBracketTable().balances[BracketTable.OPEN_BRACKETS.indexOf(openBracket)];
+        return balance[this.begin + j] - balance[this.begin + i];
+    }
+
+    private BracketTable getBracketTable() {
+        BracketTable table = this.bracketTable.get();
+        if (table == null) {
+            table = new BracketTable(this.source);
+            this.bracketTable.set(table);
         }
-        return resultString;
+        return table;
+    }
+
+    /**
+     * Ersetzt alle (nicht überlappenden) Vorkommen von substring von links nach
+     * rechts durch replacement. Die Zeichen einer Ersetzung erhalten die
+     * Zeilennummer des davor stehenden Zeichens (bzw. 0 am Anfang).
+     */
+    public EditorCodeString replaceAll(String substring, String replacement) {
+        return replace(substring, replacement, 0, false);
     }
 
     public EditorCodeString replaceFirst(String substring, String replacement) {
-        return EditorCodeString.this.replaceFirst(substring, replacement, 0);
+        return replace(substring, replacement, 0, true);
     }
 
     public EditorCodeString replaceFirst(String substring, String replacement, int indexOfFirstOccurance) {
-        if (!this.value.contains(substring)) {
+        return replace(substring, replacement, indexOfFirstOccurance, true);
+    }
+
+    private EditorCodeString replace(String substring, String replacement, int fromIndex, boolean onlyFirst) {
+        String stringValue = getValue();
+        int indexOfOccurance = substring.isEmpty() ? -1 : stringValue.indexOf(substring, fromIndex);
+        if (indexOfOccurance < 0) {
             return this;
         }
-        int firstIndex = this.value.indexOf(substring, indexOfFirstOccurance);
-        String newValue = this.value.substring(0, firstIndex) + replacement + this.value.substring(firstIndex + substring.length());
-        Integer[] newLineNumbers = new Integer[newValue.length()];
-        int lineNumberOfReplacement;
-        if (firstIndex == 0) {
-            lineNumberOfReplacement = 0;
-        } else {
-            lineNumberOfReplacement = this.lineNumbers[firstIndex - 1];
-        }
-        for (int i = 0; i < firstIndex; i++) {
-            newLineNumbers[i] = this.lineNumbers[i];
-        }
-        for (int i = firstIndex; i < firstIndex + replacement.length(); i++) {
-            newLineNumbers[i] = lineNumberOfReplacement;
-        }
-        for (int i = firstIndex + replacement.length(); i < newValue.length(); i++) {
-            newLineNumbers[i] = this.lineNumbers[i - replacement.length() + substring.length()];
+        Builder builder = new Builder(stringValue.length() + replacement.length() - substring.length());
+        int lastEnd = 0;
+        while (indexOfOccurance >= 0) {
+            builder.append(this, lastEnd, indexOfOccurance);
+            builder.append(replacement, builder.isEmpty() ? 0 : builder.getCurrentLine());
+            lastEnd = indexOfOccurance + substring.length();
+            indexOfOccurance = onlyFirst ? -1 : stringValue.indexOf(substring, lastEnd);
         }
-        return new EditorCodeString(newValue, newLineNumbers);
+        builder.append(this, lastEnd, stringValue.length());
+        return builder.build();
     }
 
+    /**
+     * Der Hashwert setzt sich aus dem Stringwert sowie der Zeilennummer und
+     * Länge jedes (im Ausschnitt liegenden) Zeilenabschnitts zusammen.
+     */
     @Override
     public int hashCode() {
         int hash = 7;
-        hash = 47 * hash + Objects.hashCode(this.value);
-        hash = 47 * hash + Arrays.deepHashCode(this.lineNumbers);
+        hash = 47 * hash + Objects.hashCode(getValue());
+        int offset = this.begin;
+        while (offset < this.end) {
+            int k = getLineIndex(offset);
+            int lineEnd = Math.min(getLineEnd(k), this.end);
+            hash = 47 * hash + this.firstLine + k;
+            hash = 47 * hash + lineEnd - offset;
+            offset = lineEnd;
+        }
         return hash;
     }
 
@@ -187,29 +323,159 @@ public class EditorCodeString {
             return false;
         }
         final EditorCodeString other = (EditorCodeString) obj;
-        if (!Objects.equals(this.value, other.value)) {
+        if (!Objects.equals(getValue(), other.getValue())) {
             return false;
         }
-        if (!Arrays.deepEquals(this.lineNumbers, other.lineNumbers)) {
-            return false;
+        for (int i = 0; i < length(); i++) {
+            if (lineNumberAt(i) != other.lineNumberAt(i)) {
+                return false;
+            }
         }
         return true;
     }
 
     public boolean equalsInStringValue(EditorCodeString string) {
-        return Objects.equals(this.value, string.value);
+        return Objects.equals(getValue(), string.getValue());
     }
 
     @Override
     public String toString() {
-        String stringRepresentation = "(" + this.value + ";[";
-        for (int i = 0; i < this.lineNumbers.length; i++) {
-            stringRepresentation += this.lineNumbers[i];
-            if (i < this.lineNumbers.length - 1) {
-                stringRepresentation += ", ";
+        Integer[] lineNumbers = getLineNumbers();
+        StringBuilder stringRepresentation = new StringBuilder("(").append(getValue()).append(";[");
+        for (int i = 0; i < lineNumbers.length; i++) {
+            stringRepresentation.append(lineNumbers[i]);
+            if (i < lineNumbers.length - 1) {
+                stringRepresentation.append(", ");
             }
         }
-        return stringRepresentation + "])";
+        return stringRepresentation.append("])").toString();
+    }
+
+    /**
+     * Baut einen neuen Quellpuffer samt Zeilentabelle auf. Die Zeichen müssen
+     * mit monoton steigenden Zeilennummern angehängt werden.
+     */
+    public static final class Builder {
+
+        private final StringBuilder value;
+        private int[] lineStarts = new int[8];
+        private int numberOfLines = 0;
+        private int firstLine = 0;
+        private int currentLine = 0;
+
+        public Builder(int capacity) {
+            this.value = new StringBuilder(Math.max(capacity, 0));
+        }
+
+        public boolean isEmpty() {
+            return this.value.length() == 0;
+        }
+
+        /**
+         * Gibt die Zeilennummer des zuletzt angehängten Zeichens zurück.
+         */
+        public int getCurrentLine() {
+            return this.currentLine;
+        }
+
+        private void startLine(int line) {
+            if (this.numberOfLines == 0) {
+                this.firstLine = line;
+                this.currentLine = line;
+                this.lineStarts[this.numberOfLines++] = 0;
+                return;
+            }
+            while (this.currentLine < line) {
+                if (this.numberOfLines == this.lineStarts.length) {
+                    this.lineStarts = Arrays.copyOf(this.lineStarts, 2 * this.numberOfLines);
+                }
+                this.lineStarts[this.numberOfLines++] = this.value.length();
+                this.currentLine++;
+            }
+        }
+
+        public void append(char c, int line) {
+            startLine(line);
+            this.value.append(c);
+        }
+
+        public void append(String s, int line) {
+            if (!s.isEmpty()) {
+                startLine(line);
+                this.value.append(s);
+            }
+        }
+
+        /**
+         * Hängt die Zeichen [from, to) von code samt Zeilennummern an.
+         */
+        public void append(EditorCodeString code, int from, int to) {
+            int offset = code.begin + from;
+            int endOffset = code.begin + to;
+            while (offset < endOffset) {
+                int k = code.getLineIndex(offset);
+                int lineEnd = Math.min(code.getLineEnd(k), endOffset);
+                startLine(code.firstLine + k);
+                this.value.append(code.source, offset, lineEnd);
+                offset = lineEnd;
+            }
+        }
+
+        public EditorCodeString build() {
+            if (this.numberOfLines == 0) {
+                startLine(0);
+            }
+            String source = this.value.toString();
+            EditorCodeString code = new EditorCodeString(source, Arrays.copyOf(this.lineStarts, this.numberOfLines), this.firstLine, 0, source.length(), new AtomicReference<>());
+            code.value = source;
+            return code;
+        }
+
+    }
+
+    /**
+     * Zuordnung der öffnenden zu den schließenden Klammern eines Quellpuffers
+     * (getrennt nach Klammerart) sowie die Präfixsummen der Klammerbilanzen.
+     * Die zu einer öffnenden Klammer gehörende schließende Klammer hängt nur
+     * vom Puffer hinter ihr ab, die Tabelle gilt daher für alle Teilstrings.
+     */
+    private static final class BracketTable {
+
+        private static final String OPEN_BRACKETS = "([{";
+        private static final String CLOSE_BRACKETS = ")]}";
+
+        private final int[] matchingBrackets;
+        private final int[][] balances;
+
+        private BracketTable(String source) {
+            this.matchingBrackets = new int[source.length()];
+            this.balances = new int[OPEN_BRACKETS.length()][source.length() + 1];
+            // Offene Klammern jeder Art als verkettete Stapel: previousOpenBracket[i] ist die vor i geöffnete, noch offene Klammer derselben Art.
+            int[] previousOpenBracket = new int[source.length()];
+            int[] lastOpenBracket = {-1, -1, -1};
+            Arrays.fill(this.matchingBrackets, -1);
+            for (int i = 0; i < source.length(); i++) {
+                for (int[] balance : this.balances) {
+                    balance[i + 1] = balance[i];
+                }
+                int type = OPEN_BRACKETS.indexOf(source.charAt(i));
+                if (type >= 0) {
+                    previousOpenBracket[i] = lastOpenBracket[type];
+                    lastOpenBracket[type] = i;
+                    this.balances[type][i + 1]++;
+                    continue;
+                }
+                type = CLOSE_BRACKETS.indexOf(source.charAt(i));
+                if (type >= 0) {
+                    if (lastOpenBracket[type] >= 0) {
+                        this.matchingBrackets[lastOpenBracket[type]] = i;
+                        lastOpenBracket[type] = previousOpenBracket[lastOpenBracket[type]];
+                    }
+                    this.balances[type][i + 1]--;
+                }
+            }
+        }
+
     }
 
 }
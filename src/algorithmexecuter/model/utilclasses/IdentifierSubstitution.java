@@ -0,0 +1,101 @@
+package algorithmexecuter.model.utilclasses;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.interfaces.AbstractExpression;
+import abstractexpressions.logicalexpression.classes.LogicalExpression;
+import abstractexpressions.matrixexpression.classes.MatrixExpression;
+import algorithmexecuter.model.AlgorithmMemory;
+import algorithmexecuter.model.IdentifierSlotTable;
+import algorithmexecuter.model.identifier.Identifier;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Ersetzung der in einem (kompilierten) Ausdruck vorkommenden Variablen durch
+ * die Werte der gleichnamigen Bezeichner zur Laufzeit. Die vorkommenden
+ * Variablen werden einmalig beim Kompilieren ermittelt, sodass zur Laufzeit
+ * nur diese (und nicht alle Bezeichner im Speicher) betrachtet werden müssen.
+ */
+public class IdentifierSubstitution {
+
+    private String[] names;
+    private int[] slots;
+
+    public IdentifierSubstitution(AbstractExpression abstrExpr) {
+        Set<String> vars = abstrExpr.getContainedVars();
+        this.names = vars.toArray(new String[vars.size()]);
+        this.slots = new int[this.names.length];
+        Arrays.fill(this.slots, -1);
+    }
+
+    public String[] getNames() {
+        return this.names;
+    }
+
+    /**
+     * Ordnet allen Variablen den Slot-Index aus slotTable zu. Die Variablen
+     * werden dabei nach Slots sortiert, damit die Ersetzung in derselben
+     * Reihenfolge wie im Speicher erfolgt.
+     */
+    public void resolveIdentifierSlots(IdentifierSlotTable slotTable) {
+        Integer[] order = new Integer[this.names.length];
+        int[] unsortedSlots = new int[this.names.length];
+        for (int i = 0; i < this.names.length; i++) {
+            order[i] = i;
+            unsortedSlots[i] = slotTable.getSlot(this.names[i]);
+        }
+        Arrays.sort(order, (i, j) -> Integer.compare(unsortedSlots[i], unsortedSlots[j]));
+        String[] sortedNames = new String[this.names.length];
+        int[] sortedSlots = new int[this.names.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedNames[i] = this.names[order[i]];
+            sortedSlots[i] = unsortedSlots[order[i]];
+        }
+        this.names = sortedNames;
+        this.slots = sortedSlots;
+    }
+
+    private Object getRuntimeValue(int i, AlgorithmMemory scopeMemory) {
+        Identifier identifier = this.slots[i] >= 0 ? scopeMemory.get(this.slots[i]) : scopeMemory.get(this.names[i]);
+        if (identifier == null) {
+            return null;
+        }
+        return identifier.getRuntimeValue();
+    }
+
+    public Expression substitute(Expression expr, AlgorithmMemory scopeMemory) {
+        Object value;
+        for (int i = 0; i < this.names.length; i++) {
+            value = getRuntimeValue(i, scopeMemory);
+            if (value instanceof Expression) {
+                expr = expr.replaceVariable(this.names[i], (Expression) value);
+            }
+        }
+        return expr;
+    }
+
+    public LogicalExpression substitute(LogicalExpression logExpr, AlgorithmMemory scopeMemory) {
+        Object value;
+        for (int i = 0; i < this.names.length; i++) {
+            value = getRuntimeValue(i, scopeMemory);
+            if (value instanceof LogicalExpression) {
+                logExpr = logExpr.replaceVariable(this.names[i], (LogicalExpression) value);
+            }
+        }
+        return logExpr;
+    }
+
+    public MatrixExpression substitute(MatrixExpression matExpr, AlgorithmMemory scopeMemory) {
+        Object value;
+        for (int i = 0; i < this.names.length; i++) {
+            value = getRuntimeValue(i, scopeMemory);
+            if (value instanceof Expression) {
+                matExpr = matExpr.replaceVariable(this.names[i], (Expression) value);
+            } else if (value instanceof MatrixExpression) {
+                matExpr = matExpr.replaceMatrixVariable(this.names[i], (MatrixExpression) value);
+            }
+        }
+        return matExpr;
+    }
+
+}
@@ -3,6 +3,7 @@ package test.algorithms;
 import abstractexpressions.expression.classes.Expression;
 import abstractexpressions.expression.classes.Variable;
 import algorithmexecuter.AlgorithmBuilder;
+import algorithmexecuter.AlgorithmSession;
 import algorithmexecuter.CompilerUtils;
 import algorithmexecuter.enums.IdentifierType;
 import algorithmexecuter.enums.Keyword;
@@ -12,6 +13,7 @@ import algorithmexecuter.exceptions.constants.AlgorithmCompileExceptionIds;
 import algorithmexecuter.lang.translator.Translator;
 import algorithmexecuter.model.Algorithm;
 import algorithmexecuter.model.Signature;
+import algorithmexecuter.model.command.AlgorithmCommand;
 import algorithmexecuter.model.command.AssignValueCommand;
 import algorithmexecuter.model.command.ControlStructure;
 import algorithmexecuter.model.command.DoWhileControlStructure;
@@ -25,7 +27,10 @@ import algorithmexecuter.model.utilclasses.MalString;
 import algorithmexecuter.model.utilclasses.malstring.MalStringAbstractExpression;
 import algorithmexecuter.model.utilclasses.malstring.MalStringCharSequence;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.junit.Test;
@@ -87,6 +92,31 @@ public class AlgorithmCompileTests {
         assertTrue(outputFormatted.equals(outputFormattedExpected));
     }
 
+    @Test
+    public void preprocessAlgorithmWithEditorCodeStringKeepsLineNumbersTest() {
+        /*
+        Jedes übernommene Zeichen behält seine Zeilennummer, ein zusammengefasstes 
+        Leerzeichen erhält die des ersten Zeichens der Folge. Die erwarteten 
+        Zeilennummern werden über die Zeilenumbrüche in den erwarteten Strings angegeben.
+         */
+        String[] inputs = {
+            "expression main(){\n\texpression   a = 5 ;\n\n\n\tif (a==5)  {\n\t\ta=a+1;\n\t}\n\treturn  a;\n}",
+            "  expression\tmain ( )\n{\n  expression a=f( 1 ,  2 );\n    return a ;  }  ",
+            "expression main(){\n\t\n\t  \n\tboolean b = a >= 3 ;\n\tif( b ){return a;}else{return 2 ;}\n}\n\n",
+            "expression main(){\n\texpression a=1;\n\twhile (a<3)\n\t{\n\t\ta = a + 1 ;\n\t}\n\treturn a;\n}"};
+        String[] outputsExpected = {
+            "expression main(){\nexpression a=5;\n\n\nif(a==5){\na=a+1;\n}\nreturn a;\n}",
+            "expression main()\n{\nexpression a=f(1,2);\nreturn a;}",
+            "expression main(){\n\n\nboolean b=a >=3;\nif(b){return a;}else{return 2;}\n}",
+            "expression main(){\nexpression a=1;\nwhile(a<3)\n{\na=a + 1;\n}\nreturn a;\n}"};
+        for (int i = 0; i < inputs.length; i++) {
+            EditorCodeString outputFormatted = CompilerUtils.preprocessAlgorithm(new EditorCodeString(inputs[i]));
+            EditorCodeString outputFormattedExpected = new EditorCodeString(outputsExpected[i]);
+            assertEquals(outputsExpected[i].replace("\n", ""), outputFormatted.getValue());
+            assertEquals(outputFormattedExpected, outputFormatted);
+        }
+    }
+
     @Test
     public void parseSimpleAlgorithmWithReturnTest() {
         String input = "expression main(){\n"
@@ -1287,6 +1317,229 @@ public class AlgorithmCompileTests {
                     "f"));
         }
     }
+
+    @Test
+    public void parseAlgorithmWithDependentParallelForLoopTest() {
+        String input = "expression main(){\n"
+                + "	expression a=1;\n"
+                + "	parallelfor(expression i=1,i<=5,i=i+1){\n"
+                + "		a=a*i;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}";
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            fail(input + " konnte geparst werden, obwohl es Compilerfehler enthielt.");
+        } catch (AlgorithmCompileException e) {
+            assertEquals(e.getMessage(), Translator.translateOutputMessage(AlgorithmCompileExceptionIds.AC_CONTROL_STRUCTURE_PARALLEL_FOR_DEPENDENCY, "a"));
+        }
+    }
+
+    @Test
+    public void parseAlgorithmWithNestedControlStructuresTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	for(expression i=0,i<3,i=i+1){\n"
+                + "		if(i==1){\n"
+                + "			while(a<10){\n"
+                + "				a=a+i;\n"
+                + "			}\n"
+                + "		}else{\n"
+                + "			a=a+1;\n"
+                + "		}\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}";
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            Algorithm mainAlg = CompilerUtils.getMainAlgorithm(AlgorithmBuilder.ALGORITHMS);
+            assertEquals(mainAlg.getCommands().size(), 3);
+            assertTrue(mainAlg.getCommands().get(1).isForControlStructure());
+            List<AlgorithmCommand> commandsForPart = ((ForControlStructure) mainAlg.getCommands().get(1)).getCommands();
+            assertEquals(commandsForPart.size(), 1);
+            assertTrue(commandsForPart.get(0).isIfElseControlStructure());
+            IfElseControlStructure ifElseControlStructure = (IfElseControlStructure) commandsForPart.get(0);
+            assertEquals(ifElseControlStructure.getCommandsIfPart().size(), 1);
+            assertTrue(ifElseControlStructure.getCommandsIfPart().get(0).isWhileControlStructure());
+            assertEquals(ifElseControlStructure.getCommandsElsePart().size(), 1);
+            assertTrue(ifElseControlStructure.getCommandsElsePart().get(0).isAssignValueCommand());
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        }
+    }
+
+    @Test
+    public void recompileOnlyChangedAlgorithmsTest() {
+        String input = "expression main(){\n"
+                + "	expression a=f(2);\n"
+                + "	return g(a);\n"
+                + "}\n"
+                + "expression f(expression x){\n"
+                + "	return 2*x;\n"
+                + "}\n"
+                + "expression g(expression x){\n"
+                + "	return x+1;\n"
+                + "}";
+        String changedInput = input.replace("x+1", "x+2");
+        AlgorithmSession session = new AlgorithmSession();
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input, session);
+            Algorithm mainAlg = session.getAlgorithms().getAlgorithmByName("main");
+            AlgorithmBuilder.parseAlgorithmFile(changedInput, session);
+            // main und f werden wiederverwendet, g wird neu kompiliert.
+            assertEquals(2, session.getCompiledAlgorithmCache().getHits());
+            assertEquals(4, session.getCompiledAlgorithmCache().getMisses());
+            Algorithm changedMainAlg = session.getAlgorithms().getAlgorithmByName("main");
+            assertNotSame(mainAlg, changedMainAlg);
+            // Der alte Algorithmus wurde durch das erneute Verlinken nicht verändert.
+            assertTrue(((Expression) mainAlg.execute().getRuntimeValue()).equals(Expression.build("5")));
+            assertTrue(((Expression) changedMainAlg.execute().getRuntimeValue()).equals(Expression.build("6")));
+            // Verschobene Algorithmen werden ebenfalls wiederverwendet.
+            AlgorithmBuilder.parseAlgorithmFile("\n\n" + changedInput, session);
+            assertEquals(5, session.getCompiledAlgorithmCache().getHits());
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void recompileAlgorithmAfterSignatureOfCalledAlgorithmChangedTest() {
+        String input = "expression main(){\n"
+                + "	expression a=f(2);\n"
+                + "	return a;\n"
+                + "}\n"
+                + "expression f(expression x){\n"
+                + "	return 2*x;\n"
+                + "}";
+        String changedInput = input + "\nexpression f(matrixexpression x){\n"
+                + "	return 3;\n"
+                + "}";
+        AlgorithmSession session = new AlgorithmSession();
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input, session);
+            AlgorithmBuilder.parseAlgorithmFile(changedInput, session);
+            // Eine neue Überladung von f erfordert das erneute Kompilieren von main.
+            assertEquals(1, session.getCompiledAlgorithmCache().getHits());
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        }
+    }
+
+    @Test
+    public void parseAlgorithmFileReportsErrorOfFirstFaultyAlgorithmTest() {
+        String input = "expression main(){\n"
+                + "	expression a=f();\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(){\n"
+                + "	expression b=h();\n"
+                + "	return b;\n"
+                + "}\n"
+                + "\n"
+                + "expression g(){\n"
+                + "	expression c=k();\n"
+                + "	return c;\n"
+                + "}";
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            fail("Der Algorithmus " + input + " wurde trotz unbekannter Symbole 'h()' und 'k()' kompiliert.");
+        } catch (AlgorithmCompileException e) {
+            assertEquals(e.getMessage(), Translator.translateOutputMessage(AlgorithmCompileExceptionIds.AC_CANNOT_FIND_SYMBOL, "h()"));
+            assertEquals(1, AlgorithmBuilder.DEFAULT_SESSION.getAlgorithmCodes().size());
+        }
+    }
+
+    @Test
+    public void parseAlgorithmFileUsesCompilePoolTest() {
+        String input = "expression main(){\n"
+                + "	expression a=f(1);\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(expression x){\n"
+                + "	return x+1;\n"
+                + "}";
+        AtomicInteger numberOfCompileThreads = new AtomicInteger();
+        ForkJoinPool compilePool = new ForkJoinPool(2, pool -> {
+            numberOfCompileThreads.incrementAndGet();
+            return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        }, null, false);
+        ForkJoinPool parallelForPool = new ForkJoinPool(1);
+        // Der Pool für parallele for-Schleifen darf beim Kompilieren nicht verwendet werden.
+        parallelForPool.shutdownNow();
+        AlgorithmSession session = new AlgorithmSession();
+        session.setCompilePool(compilePool);
+        session.setParallelForPool(parallelForPool);
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input, session);
+            assertEquals(2, session.getAlgorithms().getAlgorithms().size());
+            assertTrue(numberOfCompileThreads.get() > 0);
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } finally {
+            compilePool.shutdown();
+        }
+    }
+
+    @Test
+    public void parseDeeplyNestedBlockTest() {
+        int depth = 40;
+        String input = getDeeplyNestedAlgorithm(depth, "a=a+1;");
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            Algorithm mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            assertEquals(3, mainAlg.getCommands().size());
+            List<AlgorithmCommand> commands = mainAlg.getCommands();
+            // Jede Ebene enthält genau die eigene Zuweisung und die nächste Ebene.
+            for (int i = 0; i < depth; i++) {
+                assertTrue(commands.get(1).isIfElseControlStructure());
+                commands = ((IfElseControlStructure) commands.get(1)).getCommandsIfPart();
+                assertEquals(i < depth - 1 ? 2 : 1, commands.size());
+                assertTrue(commands.get(0).isAssignValueCommand());
+            }
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        }
+    }
+
+    @Test
+    public void parseDeeplyNestedBlockWithErrorInInnermostBlockTest() {
+        int depth = 40;
+        String input = getDeeplyNestedAlgorithm(depth, "a=a+y;");
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            fail(input + " wurde trotz unbekanntem Bezeichner geparst.");
+        } catch (AlgorithmCompileException e) {
+            // Die innerste Zuweisung steht in Zeile 2 * depth + 1.
+            assertTrue(e.getErrorLines().length > 0);
+            for (Integer errorLine : e.getErrorLines()) {
+                assertEquals(2 * depth + 1, (int) errorLine);
+            }
+        }
+    }
+
+    /**
+     * Gibt einen Algorithmus zurück, dessen Rumpf depth ineinander
+     * geschachtelte if-Blöcke enthält. Jeder Block beginnt mit einer
+     * Zuweisung, der innerste besteht nur aus innermostLine.
+     */
+    private static String getDeeplyNestedAlgorithm(int depth, String innermostLine) {
+        StringBuilder code = new StringBuilder("expression main(){\n"
+                + "	expression a=1;\n");
+        for (int i = 0; i < depth; i++) {
+            code.append("	if(a>0){\n"
+                    + "		").append(i < depth - 1 ? "a=a+1;" : innermostLine).append("\n");
+        }
+        for (int i = 0; i < depth; i++) {
+            code.append("	}\n");
+        }
+        code.append("	return a;\n"
+                + "}");
+        return code.toString();
+    }
     
 
     
@@ -6,20 +6,43 @@ import abstractexpressions.matrixexpression.classes.Matrix;
 import abstractexpressions.matrixexpression.classes.MatrixExpression;
 import algorithmexecuter.AlgorithmBuilder;
 import algorithmexecuter.AlgorithmExecuter;
+import algorithmexecuter.AlgorithmSession;
+import algorithmexecuter.BatchExecution;
+import algorithmexecuter.ExecutionBudget;
+import algorithmexecuter.ExecutionControl;
+import algorithmexecuter.PreparedProgram;
+import algorithmexecuter.SimplifyCache;
 import algorithmexecuter.booleanexpression.BooleanConstant;
+import algorithmexecuter.enums.ExecutionMode;
 import algorithmexecuter.enums.IdentifierType;
 import algorithmexecuter.exceptions.AlgorithmCompileException;
 import algorithmexecuter.exceptions.AlgorithmExecutionException;
+import algorithmexecuter.exceptions.constants.AlgorithmExecutionExceptionIds;
+import algorithmexecuter.lang.translator.Translator;
+import algorithmexecuter.model.command.ForControlStructure;
 import algorithmexecuter.model.identifier.Identifier;
 import algorithmexecuter.model.Algorithm;
+import algorithmexecuter.model.AlgorithmMemoTable;
 import algorithmexecuter.model.utilclasses.MalString;
 import algorithmexecuter.model.utilclasses.malstring.MalStringCharSequence;
 import algorithmexecuter.output.AlgorithmOutputPrinter;
 import exceptions.EvaluationException;
 import java.awt.Dimension;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import javax.swing.JTextPane;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -63,6 +86,89 @@ public class AlgorithmExecutionTests {
         }
     }
 
+    @Test
+    public void executeAlgorithmsOfDifferentSessionsTest() {
+        String inputOne = "expression main(){\n"
+                + "	expression a=f(3);\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(expression x){\n"
+                + "	expression y=2*x;\n"
+                + "	return y;\n"
+                + "}";
+        String inputTwo = "expression main(){\n"
+                + "	expression a=f(3);\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(expression x){\n"
+                + "	expression y=x^2;\n"
+                + "	return y;\n"
+                + "}";
+        AlgorithmSession sessionOne = new AlgorithmSession();
+        AlgorithmSession sessionTwo = new AlgorithmSession();
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(inputOne, sessionOne);
+            AlgorithmBuilder.parseAlgorithmFile(inputTwo, sessionTwo);
+            Identifier resultOne = AlgorithmExecuter.executeAlgorithm(sessionOne.getAlgorithms().getAlgorithms());
+            Identifier resultTwo = AlgorithmExecuter.executeAlgorithm(sessionTwo.getAlgorithms().getAlgorithms());
+            assertTrue(((Expression) resultOne.getRuntimeValue()).equals(Expression.build("6")));
+            assertTrue(((Expression) resultTwo.getRuntimeValue()).equals(Expression.build("9")));
+        } catch (AlgorithmCompileException e) {
+            fail("Die Algorithmen konnten nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Die Algorithmen konnten nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeAlgorithmWithSimplifyCacheTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	for(expression i=0,i<5,i=i+1){\n"
+                + "		a=a+2;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}";
+        AlgorithmSession session = new AlgorithmSession();
+        SimplifyCache cache = new SimplifyCache(16);
+        session.setSimplifyCache(cache);
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input, session);
+            Identifier result = AlgorithmExecuter.executeAlgorithm(session.getAlgorithms().getAlgorithms());
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("10")));
+            assertTrue(cache.getHits() > 0);
+            assertTrue(cache.getMisses() > 0);
+            assertTrue(cache.getSize() <= 16);
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void simplifyCacheWithApproximateConstantsOfSameRepresentationTest() {
+        Expression a = new Constant(0.1);
+        Expression b = new Constant(Math.nextUp(0.1));
+        SimplifyCache cache = new SimplifyCache(16);
+        try {
+            // Beide Konstanten werden gleich dargestellt, sind aber verschieden.
+            assertEquals(a.toString(), b.toString());
+            Expression aSimplified = cache.simplify(a);
+            Expression bSimplified = cache.simplify(b);
+            assertEquals(0, cache.getHits());
+            assertEquals(2, cache.getSize());
+            assertTrue(aSimplified.equals(a.simplify()));
+            assertTrue(bSimplified.equals(b.simplify()));
+            assertTrue(cache.simplify(b) == bSimplified);
+            assertEquals(1, cache.getHits());
+        } catch (EvaluationException e) {
+            fail("Die Konstanten konnten nicht vereinfacht werden.");
+        }
+    }
+
     ////////////////////////// Tests: Zuweisungen //////////////////////////
     
     @Test
@@ -217,6 +323,51 @@ public class AlgorithmExecutionTests {
     
     ////////////////////////// Tests: Kontrollstrukturen //////////////////////////
     
+    @Test
+    public void executeAlgorithmsWithComparisonOfConstantsTest() {
+        /*
+        Jeder Eintrag: Deklarationen, linke Seite, rechte Seite, erwartetes Vorzeichen 
+        von links - rechts. Das Ergebnis r codiert, welche der sechs Vergleiche 
+        ==, !=, >, >=, <, <= erfüllt sind.
+         */
+        String[][] comparisons = {
+            {"", "3", "5", "-1"}, {"", "5", "5", "0"}, {"", "7", "-5", "1"},
+            {"", "1/3", "1/2", "-1"}, {"", "2/4", "1/2", "0"}, {"", "2/3", "1/2", "1"},
+            {"", "1/(-3)", "1/3", "-1"}, {"", "(-1)/(-2)", "1/2", "0"}, {"", "1/(-3)", "(-1)/2", "1"},
+            {"", "0.25", "0.3", "-1"}, {"", "0.5", "0.50", "0"}, {"", "0.10000000000000000001", "0.1", "1"},
+            {"", "0.5", "1/2", "0"}, {"", "0.3", "1/3", "-1"},
+            {"	expression a=approx(1/4);\n	expression b=approx(1/3);\n", "a", "b", "-1"},
+            {"	expression a=approx(1/2);\n	expression b=approx(1/2);\n", "a", "b", "0"},
+            {"	expression a=approx(2/3);\n	expression b=approx(1/3);\n", "a", "b", "1"},
+            {"	expression a=approx(1/4);\n", "a", "0.3", "-1"}};
+        for (String[] comparison : comparisons) {
+            String input = "expression main(){\n"
+                    + comparison[0]
+                    + "	expression r=0;\n";
+            String[] operators = {"==", "!=", ">", ">=", "<", "<="};
+            for (int i = 0; i < operators.length; i++) {
+                input += "	if(" + comparison[1] + operators[i] + comparison[2] + "){\n"
+                        + "		r=r+" + (1 << i) + ";\n"
+                        + "	}\n";
+            }
+            input += "	return r;\n"
+                    + "}";
+            int sign = Integer.parseInt(comparison[3]);
+            int expectedResult = sign < 0 ? 2 + 16 + 32 : sign == 0 ? 1 + 8 + 32 : 2 + 4 + 8;
+            Algorithm mainAlg = null;
+            try {
+                AlgorithmBuilder.parseAlgorithmFile(input);
+                mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+                Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+                assertEquals(new Constant(expectedResult), result.getRuntimeValue());
+            } catch (AlgorithmCompileException e) {
+                fail("Der Algorithmus " + input + " konnte nicht kompiliert werden.");
+            } catch (Exception e) {
+                fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+            }
+        }
+    }
+
     @Test
     public void executeAlgorithmsWithIfElseControlStructureTest() {
         String input = "expression main(){\n"
@@ -356,6 +507,115 @@ public class AlgorithmExecutionTests {
         }
     }
 
+    @Test
+    public void executeAssignmentWithIdentifiersFromOuterScopeTest() {
+        String input = "expression main(){\n"
+                + "	expression a=2;\n"
+                + "	expression b=3;\n"
+                + "	expression c=0;\n"
+                + "	for(expression i=0,i<3,i=i+1){\n"
+                + "		if(i>0){\n"
+                + "			c=c+a*i+b;\n"
+                + "		}\n"
+                + "		a=a+1;\n"
+                + "	}\n"
+                + "	return c;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            // c = (3*1+3)+(4*2+3).
+            assertTrue(((Expression) result.getRuntimeValue()).equals(new Constant(17)));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeMatrixAssignmentWithIdentifiersFromOuterScopeTest() {
+        String input = "matrixexpression main(){\n"
+                + "	expression x=2;\n"
+                + "	matrixexpression m=[1,0;0,1];\n"
+                + "	matrixexpression r=[0,0;0,0];\n"
+                + "	if(x>1){\n"
+                + "		r=x*m+[x,1;0,x];\n"
+                + "	}\n"
+                + "	return r;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            assertTrue(result.getType() == IdentifierType.MATRIX_EXPRESSION);
+            assertTrue(((MatrixExpression) result.getRuntimeValue()).isMatrix());
+            Matrix r = (Matrix) result.getRuntimeValue();
+            assertTrue(r.getEntry(0, 0).equals(new Constant(4)));
+            assertTrue(r.getEntry(0, 1).equals(Expression.ONE));
+            assertTrue(r.getEntry(1, 0).equals(Expression.ZERO));
+            assertTrue(r.getEntry(1, 1).equals(new Constant(4)));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeBooleanAssignmentWithIdentifiersFromOuterScopeTest() {
+        String input = "booleanexpression main(){\n"
+                + "	expression a=1;\n"
+                + "	expression x=1/2;\n"
+                + "	booleanexpression p=true;\n"
+                + "	booleanexpression q=false;\n"
+                + "	booleanexpression r=false;\n"
+                + "	if(a==1){\n"
+                + "		r=p&!q&a>=x;\n"
+                + "	}\n"
+                + "	return r;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            assertTrue(result.getType() == IdentifierType.BOOLEAN_EXPRESSION);
+            assertTrue(((BooleanConstant) result.getRuntimeValue()).getValue());
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+
+        input = "booleanexpression main(){\n"
+                + "	expression a=1;\n"
+                + "	expression x=2;\n"
+                + "	booleanexpression p=true;\n"
+                + "	booleanexpression r=true;\n"
+                + "	while(a<3){\n"
+                + "		r=p&a>=x;\n"
+                + "		a=a+1;\n"
+                + "	}\n"
+                + "	return r;\n"
+                + "}";
+        mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            // Im letzten Durchlauf ist a=2, also a>=x.
+            assertTrue(((BooleanConstant) result.getRuntimeValue()).getValue());
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
     @Test
     public void executeAlgorithmWithIdentifierDeclarationAndIfElseTest() {
         String input = "expression main(){\n"
@@ -521,6 +781,460 @@ public class AlgorithmExecutionTests {
         }
     }
 
+    @Test
+    public void executeAlgorithmWithCountedForLoopTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	expression n=1;\n"
+                + "	for(expression i=9,n<i,i=i-2){\n"
+                + "		a=a+i;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            ForControlStructure forCommand = (ForControlStructure) mainAlg.getCommands().get(2);
+            assertTrue(forCommand.getCountedLoop() != null);
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            assertTrue(result.getType() == IdentifierType.EXPRESSION);
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("24")));
+            result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg), ExecutionMode.COMPILED);
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("24")));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeAlgorithmWithForLoopChangingLoopVariableByIncTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	expression n=6;\n"
+                + "	for(expression i=0,i<n,i=i+1){\n"
+                + "		a=a+1;\n"
+                + "		inc(i);\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            ForControlStructure forCommand = (ForControlStructure) mainAlg.getCommands().get(2);
+            assertTrue(forCommand.getCountedLoop() == null);
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("3")));
+            result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg), ExecutionMode.COMPILED);
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("3")));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeAlgorithmWithForLoopChangingBoundByIncTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	expression n=6;\n"
+                + "	for(expression i=0,i<n,i=i+1){\n"
+                + "		a=a+1;\n"
+                + "		inc(n);\n"
+                + "		if(a==10){\n"
+                + "			break;\n"
+                + "		}\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            ForControlStructure forCommand = (ForControlStructure) mainAlg.getCommands().get(2);
+            assertTrue(forCommand.getCountedLoop() == null);
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("10")));
+            result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg), ExecutionMode.COMPILED);
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("10")));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeAlgorithmWithParallelForLoopTest() {
+        String input = "expression main(){\n"
+                + "	expression a=1;\n"
+                + "	expression n=40;\n"
+                + "	parallelfor(expression i=0,i<n,i=i+1){\n"
+                + "		expression b=sq(i);\n"
+                + "		a=a+b;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression sq(expression k){\n"
+                + "	return k^2;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            ForControlStructure forCommand = (ForControlStructure) mainAlg.getCommands().get(2);
+            assertTrue(forCommand.isExecutedInParallel());
+            assertEquals(1, forCommand.getReductionIdentifiers().length);
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("20541")));
+            result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg), ExecutionMode.COMPILED);
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("20541")));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeAlgorithmWithParallelForLoopCallingApproxTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	expression n=10;\n"
+                + "	parallelfor(expression i=0,i<n,i=i+1){\n"
+                + "		expression b=approxRoot(i);\n"
+                + "		a=a+b;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression approxRoot(expression k){\n"
+                + "	return approx(k^(1/2));\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            PreparedProgram program = PreparedProgram.prepare(input);
+            assertTrue(!program.isThreadSafe());
+            mainAlg = program.getSession().getAlgorithms().getMainAlgorithm();
+            ForControlStructure forCommand = (ForControlStructure) mainAlg.getCommands().get(2);
+            // approx() verändert globale Zustände und wird daher nicht parallel ausgeführt.
+            assertTrue(!forCommand.isExecutedInParallel());
+            Identifier result = program.execute("main");
+            assertTrue(result.getType() == IdentifierType.EXPRESSION);
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void executeAlgorithmWithFailingParallelForLoopTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	expression n=8;\n"
+                + "	parallelfor(expression i=0,i<n,i=i+1){\n"
+                + "		expression b=f(i);\n"
+                + "		a=a+b;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(expression k){\n"
+                + "	expression c=1/k;\n"
+                + "	expression j=0;\n"
+                + "	while(j<10^9){\n"
+                + "		j=j+1;\n"
+                + "	}\n"
+                + "	return j;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            ForControlStructure forCommand = (ForControlStructure) mainAlg.getCommands().get(2);
+            assertTrue(forCommand.isExecutedInParallel());
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        }
+        // Der fehlerhafte erste Durchlauf muss die übrigen (langen) Durchläufe abbrechen.
+        try {
+            AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            fail("Der Algorithmus " + mainAlg + " wurde trotz Division durch 0 ausgeführt.");
+        } catch (AlgorithmExecutionException | EvaluationException e) {
+            assertTrue(!Translator.translateOutputMessage(AlgorithmExecutionExceptionIds.AE_EXECUTION_CANCELLED).equals(e.getMessage()));
+        }
+    }
+
+    @Test
+    public void executeAlgorithmAsyncWithDeadlineAndCancellationTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	while(a>=0){\n"
+                + "		a=a+1;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            CompletableFuture<Identifier> future = AlgorithmExecuter.executeAlgorithmAsync(Collections.singletonList(mainAlg),
+                    ExecutionMode.INTERPRETER, new ExecutionControl(Duration.ofMillis(200)));
+            try {
+                future.get(30, TimeUnit.SECONDS);
+                fail("Der Algorithmus " + mainAlg + " wurde trotz abgelaufener Frist nicht beendet.");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof AlgorithmExecutionException);
+            }
+
+            ExecutionControl control = new ExecutionControl();
+            future = AlgorithmExecuter.executeAlgorithmAsync(Collections.singletonList(mainAlg), ExecutionMode.COMPILED, control);
+            future.cancel(true);
+            assertTrue(control.isCancelled());
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeAlgorithmWithExecutionBudgetTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	while(a>=0){\n"
+                + "		a=a+1;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            ExecutionControl control = new ExecutionControl(new ExecutionBudget(ExecutionBudget.UNLIMITED, 100, ExecutionBudget.UNLIMITED, ExecutionBudget.UNLIMITED));
+            try {
+                mainAlg.execute(new Identifier[0], ExecutionMode.INTERPRETER, control);
+                fail("Der Algorithmus " + mainAlg + " wurde trotz überschrittener Anzahl an Schleifendurchläufen nicht beendet.");
+            } catch (AlgorithmExecutionException e) {
+                assertEquals(101, control.getNumberOfLoopIterations());
+            }
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+
+        input = "expression main(){\n"
+                + "	expression a=f(0);\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(expression i){\n"
+                + "	expression b=f(i+1);\n"
+                + "	return b;\n"
+                + "}";
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            ExecutionControl control = new ExecutionControl(new ExecutionBudget(ExecutionBudget.UNLIMITED, ExecutionBudget.UNLIMITED, 50, ExecutionBudget.UNLIMITED));
+            try {
+                mainAlg.execute(new Identifier[0], ExecutionMode.COMPILED, control);
+                fail("Der Algorithmus " + mainAlg + " wurde trotz überschrittener Aufruftiefe nicht beendet.");
+            } catch (AlgorithmExecutionException e) {
+                assertEquals(Translator.translateOutputMessage(AlgorithmExecutionExceptionIds.AE_MAX_CALL_DEPTH_EXCEEDED, 50), e.getMessage());
+            }
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+
+        // 63 hat zwei, 64 nach inc() drei geschätzte Stellen.
+        input = "expression main(){\n"
+                + "	expression a=63;\n"
+                + "	inc(a);\n"
+                + "	return a;\n"
+                + "}";
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            ExecutionControl control = new ExecutionControl(new ExecutionBudget(ExecutionBudget.UNLIMITED, ExecutionBudget.UNLIMITED, ExecutionBudget.UNLIMITED, 2));
+            try {
+                mainAlg.execute(new Identifier[0], ExecutionMode.INTERPRETER, control);
+                fail("Der Algorithmus " + mainAlg + " wurde trotz überschrittener Wertgröße nicht beendet.");
+            } catch (AlgorithmExecutionException e) {
+                assertEquals(Translator.translateOutputMessage(AlgorithmExecutionExceptionIds.AE_MAX_VALUE_SIZE_EXCEEDED, 2), e.getMessage());
+            }
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executePreparedProgramTest() {
+        String input = "expression main(){\n"
+                + "	expression a=f(2,3);\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(expression x, expression y){\n"
+                + "	expression b=x^2+y;\n"
+                + "	return b;\n"
+                + "}\n"
+                + "\n"
+                + "matrixexpression f(matrixexpression m){\n"
+                + "	return 2*m;\n"
+                + "}";
+        try {
+            PreparedProgram program = PreparedProgram.prepare(input);
+            assertEquals(3, program.getAlgorithms().size());
+            Identifier result = program.execute("main");
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("7")));
+            for (int i = 0; i < 5; i++) {
+                result = program.execute("f", new Constant(i), Expression.ONE);
+                assertTrue(((Expression) result.getRuntimeValue()).equals(new Constant(i * i + 1)));
+            }
+            result = program.execute("f", new Matrix(BigDecimal.valueOf(3)));
+            assertTrue(result.getType() == IdentifierType.MATRIX_EXPRESSION);
+            assertTrue(new Matrix(BigDecimal.valueOf(6)).equals((Matrix) result.getRuntimeValue()));
+            try {
+                program.execute("g", Expression.ONE);
+                fail("Der nicht vorhandene Algorithmus g konnte ausgeführt werden.");
+            } catch (AlgorithmExecutionException e) {
+            }
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Das Programm " + input + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executePreparedProgramWithArgumentOfUnknownTypeTest() {
+        String input = "expression main(){\n"
+                + "	return 0;\n"
+                + "}\n"
+                + "\n"
+                + "string f(string s){\n"
+                + "	string t=s+\"!\";\n"
+                + "	return t;\n"
+                + "}";
+        try {
+            PreparedProgram program = PreparedProgram.prepare(input);
+            Identifier result = program.execute("f", "a");
+            assertTrue(result.getType() == IdentifierType.STRING);
+            try {
+                // Werte ohne Bezeichnertyp dürfen nicht als Zeichenkette gelten.
+                program.execute("f", Integer.valueOf(1));
+                fail("Der Algorithmus f wurde mit einem Argument ohne Bezeichnertyp ausgeführt.");
+            } catch (AlgorithmExecutionException e) {
+                assertEquals(Translator.translateOutputMessage(AlgorithmExecutionExceptionIds.AE_ALGORITHM_NOT_FOUND, "f(Integer)"), e.getMessage());
+            }
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Das Programm " + input + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executePreparedProgramInBatchTest() {
+        String input = "expression main(){\n"
+                + "	return 0;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(expression x, expression y){\n"
+                + "	expression b=x^2+y;\n"
+                + "	return b;\n"
+                + "}";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            PreparedProgram program = PreparedProgram.prepare(input);
+            Iterator<Identifier> results = program.executeBatch("f", IntStream.range(0, 100).mapToObj(i -> new Object[]{new Constant(i), Expression.ONE}).iterator(),
+                    executor, 8);
+            for (int i = 0; i < 100; i++) {
+                assertTrue(((Expression) results.next().getRuntimeValue()).equals(new Constant(i * i + 1)));
+            }
+            assertTrue(!results.hasNext());
+
+            results = program.executeBatch("f", Collections.singletonList(new Object[]{Expression.ONE}).iterator());
+            try {
+                results.next();
+                fail("Der Algorithmus f wurde mit einem falschen Argumenttupel ausgeführt.");
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof AlgorithmExecutionException);
+            }
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void closePreparedProgramBatchTest() {
+        String input = "expression main(){\n"
+                + "	return 0;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(expression x){\n"
+                + "	expression a=0;\n"
+                + "	while(x>0){\n"
+                + "		a=a+1;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}";
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            PreparedProgram program = PreparedProgram.prepare(input);
+            // Das erste Tupel terminiert, alle weiteren nicht.
+            BatchExecution results = program.executeBatch("f", IntStream.iterate(0, i -> i + 1).mapToObj(i -> new Object[]{new Constant(Math.min(i, 1))}).iterator(),
+                    executor, 2);
+            assertTrue(((Expression) results.next().getRuntimeValue()).equals(Expression.ZERO));
+            results.close();
+            assertTrue(!results.hasNext());
+            // Die laufenden Ausführungen werden beim Schließen abgebrochen.
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (InterruptedException e) {
+            fail("Das Warten auf die Ausführungen wurde unterbrochen.");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ForkJoinPool batchPool = new ForkJoinPool(2);
+        AtomicBoolean argumentTuplesClosed = new AtomicBoolean();
+        try {
+            AlgorithmSession session = new AlgorithmSession();
+            session.setBatchPool(batchPool);
+            PreparedProgram program = PreparedProgram.prepare(input, session, ExecutionMode.COMPILED);
+            Stream<Object[]> argumentTuples = IntStream.iterate(0, i -> i + 1).mapToObj(i -> new Object[]{new Constant(Math.min(i, 1))})
+                    .onClose(() -> argumentTuplesClosed.set(true));
+            try (Stream<Identifier> results = program.executeBatch("f", argumentTuples)) {
+                assertTrue(((Expression) results.findFirst().get().getRuntimeValue()).equals(Expression.ZERO));
+            }
+            assertTrue(argumentTuplesClosed.get());
+            batchPool.shutdown();
+            assertTrue(batchPool.awaitTermination(30, TimeUnit.SECONDS));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (InterruptedException e) {
+            fail("Das Warten auf die Ausführungen wurde unterbrochen.");
+        } finally {
+            batchPool.shutdownNow();
+        }
+    }
+
     @Test
     public void executeAlgorithmWithAlgorithmCallsInForLoopTest() {
         String input = "expression main(){\n"
@@ -737,6 +1451,170 @@ public class AlgorithmExecutionTests {
         }
     }
 
+    @Test
+    public void executeRecursiveAlgorithmTest() {
+        String input = "expression main(){\n"
+                + "	expression a=fac(5);\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression fac(expression n){\n"
+                + "	if(n==0){\n"
+                + "		return 1;\n"
+                + "	}\n"
+                + "	expression m=fac(n-1);\n"
+                + "	expression result=n*m;\n"
+                + "	return result;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg));
+            assertTrue(result.getType() == IdentifierType.EXPRESSION);
+            assertTrue(result.getName().equals("a"));
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("120")));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeAlgorithmInCompiledModeTest() {
+        String input = "expression main(){\n"
+                + "	expression a=0;\n"
+                + "	for(expression i=0,i<10,i=i+1){\n"
+                + "		if(i==2){\n"
+                + "			continue;\n"
+                + "		}\n"
+                + "		if(i==6){\n"
+                + "			break;\n"
+                + "		}\n"
+                + "		a=a+i;\n"
+                + "	}\n"
+                + "	expression b=fac(3);\n"
+                + "	a=a+b;\n"
+                + "	while(a<25){\n"
+                + "		a=a+2;\n"
+                + "	}\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression fac(expression n){\n"
+                + "	if(n==0){\n"
+                + "		return 1;\n"
+                + "	}\n"
+                + "	expression m=fac(n-1);\n"
+                + "	expression result=n*m;\n"
+                + "	return result;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            Identifier result = AlgorithmExecuter.executeAlgorithm(Collections.singletonList(mainAlg), ExecutionMode.COMPILED);
+            assertTrue(result.getType() == IdentifierType.EXPRESSION);
+            assertTrue(result.getName().equals("a"));
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("25")));
+            // Interpretierte und kompilierte Ausführung müssen übereinstimmen.
+            assertTrue(result.equals(mainAlg.execute(ExecutionMode.INTERPRETER)));
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void executeRecursiveAlgorithmWithMemoTableTest() {
+        String input = "expression main(){\n"
+                + "	expression a=fib(15);\n"
+                + "	print(a);\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression fib(expression n){\n"
+                + "	if(n<2){\n"
+                + "		return n;\n"
+                + "	}\n"
+                + "	expression a=fib(n-1);\n"
+                + "	expression b=fib(n-2);\n"
+                + "	expression result=a+b;\n"
+                + "	return result;\n"
+                + "}";
+        AlgorithmSession session = new AlgorithmSession(Mockito.mock(AlgorithmOutputPrinter.class));
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input, session);
+            Algorithm mainAlg = session.getAlgorithms().getMainAlgorithm();
+            Algorithm fibAlg = session.getAlgorithms().getAlgorithmByName("fib");
+            // main enthält einen print-Befehl, fib ist seiteneffektfrei.
+            assertTrue(!mainAlg.isPure());
+            assertTrue(mainAlg.getMemoTable() == null);
+            assertTrue(fibAlg.isPure());
+            Identifier result = AlgorithmExecuter.executeAlgorithm(session.getAlgorithms().getAlgorithms());
+            assertTrue(((Expression) result.getRuntimeValue()).equals(Expression.build("610")));
+            // Jeder Wert fib(k), k = 0, ..., 15, wird genau einmal berechnet.
+            assertEquals(16, fibAlg.getMemoTable().getMisses());
+            assertTrue(fibAlg.getMemoTable().getHits() > 0);
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus konnte nicht ausgeführt werden.");
+        }
+    }
+
+    @Test
+    public void memoTableKeyTest() {
+        Identifier a = Identifier.createIdentifier("a", IdentifierType.EXPRESSION);
+        Identifier b = Identifier.createIdentifier("b", IdentifierType.EXPRESSION);
+        a.setRuntimeValue(new Constant(0.1));
+        b.setRuntimeValue(new Constant(Math.nextUp(0.1)));
+        // Gleich dargestellte, aber verschiedene Dezimalzahlen.
+        assertTrue(!AlgorithmMemoTable.createKey(new Identifier[]{a}, ExecutionMode.COMPILED).equals(
+                AlgorithmMemoTable.createKey(new Identifier[]{b}, ExecutionMode.COMPILED)));
+        // Verschiedene Ausführungsmodi.
+        assertTrue(!AlgorithmMemoTable.createKey(new Identifier[]{a}, ExecutionMode.COMPILED).equals(
+                AlgorithmMemoTable.createKey(new Identifier[]{a}, ExecutionMode.INTERPRETER)));
+        assertEquals(AlgorithmMemoTable.createKey(new Identifier[]{a}, ExecutionMode.COMPILED),
+                AlgorithmMemoTable.createKey(new Identifier[]{a}, ExecutionMode.COMPILED));
+    }
+
+    @Test
+    public void executeAlgorithmWithMemoTableHitAndExecutionBudgetTest() {
+        String input = "expression main(){\n"
+                + "	expression a=f(2);\n"
+                + "	return a;\n"
+                + "}\n"
+                + "\n"
+                + "expression f(expression n){\n"
+                + "	expression result=n^2;\n"
+                + "	return result;\n"
+                + "}";
+        Algorithm mainAlg = null;
+        try {
+            AlgorithmBuilder.parseAlgorithmFile(input);
+            mainAlg = AlgorithmBuilder.ALGORITHMS.getMainAlgorithm();
+            Algorithm f = AlgorithmBuilder.ALGORITHMS.getAlgorithmByName("f");
+            mainAlg.execute(ExecutionMode.COMPILED);
+            assertEquals(1, f.getMemoTable().getMisses());
+            // Auch bei einem Treffer in der Ergebnistabelle wird die Aufruftiefe geprüft.
+            ExecutionControl control = new ExecutionControl(new ExecutionBudget(ExecutionBudget.UNLIMITED, ExecutionBudget.UNLIMITED, 0, ExecutionBudget.UNLIMITED));
+            try {
+                mainAlg.execute(new Identifier[0], ExecutionMode.COMPILED, control);
+                fail("Der Algorithmus " + mainAlg + " wurde trotz überschrittener Aufruftiefe nicht beendet.");
+            } catch (AlgorithmExecutionException e) {
+                assertEquals(Translator.translateOutputMessage(AlgorithmExecutionExceptionIds.AE_MAX_CALL_DEPTH_EXCEEDED, 0), e.getMessage());
+                assertEquals(1, f.getMemoTable().getHits());
+            }
+        } catch (AlgorithmCompileException e) {
+            fail(input + " konnte nicht geparst werden.");
+        } catch (Exception e) {
+            fail("Der Algorithmus " + mainAlg + " konnte nicht ausgeführt werden.");
+        }
+    }
+
     ////////////////////////// Tests: Standardfunktionen //////////////////////////
     
     @Test
@@ -1,7 +1,10 @@
 package test.algorithms;
 
 import algorithmexecuter.model.utilclasses.EditorCodeString;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import org.junit.Test;
 
 public class EditorCodeStringTests {
@@ -22,5 +25,117 @@ public class EditorCodeStringTests {
         resultString = new EditorCodeString("T\neststr\ning");
         assertTrue(resultString.equals(editorCodeStringReplaced));
     }
-    
+
+    @Test
+    public void replaceInSubstringTest() {
+        EditorCodeString editorCodeString = new EditorCodeString("ab\ncdcd").substring(2);
+
+        // Eingefügte Zeichen erhalten die Zeilennummer des davor stehenden Zeichens.
+        EditorCodeString editorCodeStringReplaced = editorCodeString.replaceAll("d", "XY");
+        assertTrue(new EditorCodeString("\ncXYcXY").equals(editorCodeStringReplaced));
+
+        editorCodeStringReplaced = editorCodeString.replaceFirst("cd", "Z", 1);
+        assertTrue(new EditorCodeString("\ncdZ").equals(editorCodeStringReplaced));
+
+        // Am Anfang eingefügte Zeichen erhalten die Zeilennummer 0.
+        editorCodeStringReplaced = new EditorCodeString("\nab").replaceAll("a", "Q");
+        assertTrue(new EditorCodeString("Q\nb").equals(editorCodeStringReplaced));
+
+        editorCodeStringReplaced = new EditorCodeString("a\nbc").replaceAll("b", "");
+        assertTrue(new EditorCodeString("a\nc").equals(editorCodeStringReplaced));
+    }
+
+    @Test
+    public void substringTest() {
+        EditorCodeString editorCodeString = new EditorCodeString("ab\ncd\n\nef");
+        assertEquals("abcdef", editorCodeString.getValue());
+
+        assertTrue(new EditorCodeString("b\ncd").equals(editorCodeString.substring(1, 4)));
+        assertTrue(new EditorCodeString("\ncd\n\nef").equals(editorCodeString.substring(2)));
+        assertTrue(new EditorCodeString("\ncd").equals(editorCodeString.substring(1).substring(1, 3)));
+        assertEquals(3, editorCodeString.substring(2).lineNumberAt(2));
+        assertEquals('e', editorCodeString.substring(2).charAt(2));
+
+        try {
+            editorCodeString.substring(1, 4).substring(0, 4);
+            fail("Ein Teilstring über das Ende hinaus konnte erzeugt werden.");
+        } catch (StringIndexOutOfBoundsException e) {
+        }
+        try {
+            editorCodeString.substring(1, 4).charAt(3);
+            fail("Ein Zeichen hinter dem Ende konnte gelesen werden.");
+        } catch (StringIndexOutOfBoundsException e) {
+        }
+    }
+
+    @Test
+    public void getLineNumbersTest() {
+        EditorCodeString editorCodeString = new EditorCodeString("a\n\n\nbc\nd");
+        assertTrue(Arrays.equals(new Integer[]{0, 3, 3, 4}, editorCodeString.getLineNumbers()));
+        assertTrue(Arrays.equals(new Integer[]{3, 3}, editorCodeString.substring(1, 3).getLineNumbers()));
+        assertTrue(Arrays.equals(new Integer[]{5, 5, 5}, EditorCodeString.createEditorCodeStringWithGivenLineNumber("abc", 5).getLineNumbers()));
+        assertEquals(0, editorCodeString.substring(2, 2).getLineNumbers().length);
+    }
+
+    @Test
+    public void builderTest() {
+        EditorCodeString.Builder builder = new EditorCodeString.Builder(0);
+        assertTrue(builder.isEmpty());
+        builder.append('a', 2);
+        builder.append("bc", 2);
+        builder.append("", 7);
+        assertEquals(2, builder.getCurrentLine());
+        builder.append(new EditorCodeString("x\n\n\n\nyz\nw"), 1, 4);
+        assertEquals(5, builder.getCurrentLine());
+        assertTrue(new EditorCodeString("\n\nabc\n\nyz\nw").equals(builder.build()));
+
+        assertTrue(new EditorCodeString("").equals(new EditorCodeString.Builder(4).build()));
+    }
+
+    @Test
+    public void equalsForSubstringsWithDifferentOffsetsTest() {
+        EditorCodeString first = new EditorCodeString("xx\nab").substring(2);
+        EditorCodeString second = new EditorCodeString("y\nabz").substring(1, 3);
+        EditorCodeString third = new EditorCodeString("\nxab").substring(1);
+        assertTrue(first.equals(second));
+        assertTrue(first.equals(third));
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(first.hashCode(), third.hashCode());
+
+        // Gleicher Stringwert, aber andere Zeilennummern.
+        EditorCodeString fourth = new EditorCodeString("ab");
+        assertTrue(!first.equals(fourth));
+        assertTrue(first.equalsInStringValue(fourth));
+    }
+
+    @Test
+    public void equalsForEmptySubstringsTest() {
+        EditorCodeString editorCodeString = new EditorCodeString("ab\ncd");
+        EditorCodeString first = editorCodeString.substring(1, 1);
+        EditorCodeString second = editorCodeString.substring(3, 3);
+        EditorCodeString third = new EditorCodeString("");
+        assertTrue(first.isEmpty());
+        assertTrue(first.equals(second));
+        assertTrue(first.equals(third));
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(first.hashCode(), third.hashCode());
+        assertTrue(first.firstChar().isEmpty());
+        assertTrue(first.lastChar().isEmpty());
+    }
+
+    @Test
+    public void equalsForSubstringsEndingAtLineBreakTest() {
+        EditorCodeString editorCodeString = new EditorCodeString("ab\ncd\n");
+        EditorCodeString first = editorCodeString.substring(0, 2);
+        assertTrue(new EditorCodeString("ab").equals(first));
+        assertTrue(new EditorCodeString("ab\n").equals(first));
+        assertEquals(new EditorCodeString("ab\n").hashCode(), first.hashCode());
+
+        // Ein Teilstring bis zum Ende enthält die abschließende leere Zeile nicht.
+        EditorCodeString second = editorCodeString.substring(2);
+        assertTrue(new EditorCodeString("\ncd").equals(second));
+        assertEquals(new EditorCodeString("\ncd").hashCode(), second.hashCode());
+        assertEquals(1, second.lastChar().lineNumberAt(0));
+    }
+
 }